@@ -0,0 +1,411 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : Benchmarks
+ * @createDate      : 18 Oct 2026
+ * @description     : Micro-benchmarks for board construction, ship placement, shot resolution, rendering, command parsing<br>
+ *                    and full game simulation. Each benchmark is warmed up, then timed, and reports the<br>
+ *                    average time and the bytes allocated per operation by the benchmark thread.<br>
+ *                    Compile and run with: javac -d out src/*.java bench/*.java && java -cp out Benchmarks [filter]
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class Benchmarks {
+
+	// The time each benchmark is warmed up for before it is measured.
+	private static final long WARMUP_NANOS = 1_000_000_000L;
+
+	// The time each benchmark is measured for.
+	private static final long MEASURE_NANOS = 2_000_000_000L;
+
+	// The number of operations run between clock reads.
+	private static final int BATCH = 64;
+
+	// Receives benchmark results so that the JIT cannot remove the measured work.
+	private static volatile long sink;
+
+	/**
+	* A benchmarked operation.
+	*/
+	private interface Operation {
+
+		/**
+		* Runs the operation once.
+		*
+		* @return A value derived from the work done, consumed by the benchmark.
+		*/
+		long run();
+	}
+
+	/**
+	* Runs every benchmark whose name contains the filter given as the first argument.
+	*
+	* @param args An optional filter on the benchmark names.
+	* @throws IOException If the placement library cannot be written.
+	*/
+	public static void main(String[] args) throws IOException {
+		String filter = args.length > 0 ? args[0] : "";
+
+		System.out.printf("%-40s %14s %14s %12s%n", "benchmark", "ns/op", "ops/s", "B/op");
+
+		for (int size : new int[] {10, 100, 1000}) {
+			int boardSize = size;
+			run(filter, "construct " + size + "x" + size, () -> new Board(boardSize, boardSize).getRows());
+		}
+
+		Board standard = new Board(10, 10);
+		run(filter, "reset 10x10", () -> {
+			standard.reset();
+			return standard.getRemainingShips();
+		});
+		run(filter, "placeDefaultFleet 10x10", () -> {
+			standard.reset();
+			return standard.randomlyPlaceBattleshipsOfType() ? 1 : 0;
+		});
+		FleetSpec shaped = FleetSpec.parse("1xL3, 1xT3, 1x3, 2x2, 2x[XX/XX]");
+		run(filter, "placeFleet 10x10 shaped", () -> {
+			standard.reset();
+			return standard.placeFleet(shaped) ? 1 : 0;
+		});
+
+		Path libraryFile = Files.createTempFile("placements", ".bin");
+		PlacementLibrary.generate(libraryFile, 10, 10, FleetSpec.STANDARD, 1_000_000, 42, ForkJoinPool.commonPool());
+		PlacementLibrary library = PlacementLibrary.open(libraryFile, FleetSpec.STANDARD);
+		Files.delete(libraryFile);
+		run(filter, "placeRandom from 1M-layout library 10x10", () -> {
+			standard.reset();
+			library.placeRandom(standard);
+			return standard.getRemainingShips();
+		});
+
+		for (int size : new int[] {100, 1000}) {
+			for (int density : new int[] {10, 50}) {
+				Board board = new Board(size, size);
+				int ships = Math.min(size * size * density / 100 / 3, Board.MAX_SHIPS);
+				run(filter, "placeSize3 " + size + "x" + size + " " + ships + " ships", () -> {
+					board.reset();
+					return board.randomlyPlaceBattleships(3, ships) ? 1 : 0;
+				});
+			}
+		}
+
+		run(filter, "fireAt hit/miss/sink 10x10", new ShotOperation(new Board(10, 10)));
+		run(filter, "fireAt hit/miss/sink 1000x1000", new ShotOperation(new Board(1000, 1000)));
+		run(filter, "fireAt hit/miss/sink concurrent 1000x1000", new ShotOperation(new ConcurrentBoard(1000, 1000)));
+
+		run(filter, "fireSalvo 1024 shots 1000x1000", new SalvoOperation(1000, 1000, 1024));
+
+		for (int window : new int[] {1024, 8192}) {
+			SparseBoard ocean = new SparseBoard(100_000, 100_000, SparseBoard.DEFAULT_RESIDENT_CHUNKS);
+			ocean.randomlyPlaceBattleships(3, Board.MAX_SHIPS);
+			Random random = new Random(42);
+			int span = window;
+			run(filter, "fireShot sparse 100000x100000 in " + window + "x" + window, () -> {
+				if (ocean.getChunkCount() > 100_000) {
+					ocean.reset();
+					ocean.randomlyPlaceBattleships(3, Board.MAX_SHIPS);
+				}
+				return ocean.fireShot(50_000 + random.nextInt(span), 50_000 + random.nextInt(span));
+			});
+		}
+
+		Board arena = Arena.createBoard(Arena.MAX_SIDE, Arena.MAX_SIDE);
+		arena.placeFleet(Arena.fleetFor(arena));
+		Random arenaRandom = new Random(42);
+		BoardRenderer viewportRenderer = new BoardRenderer();
+		StringBuilder viewportText = new StringBuilder();
+		run(filter, "shot and render viewport arena 10000x10000", () -> {
+			arena.fireShot(5_000 + arenaRandom.nextInt(64), 5_000 + arenaRandom.nextInt(64));
+			viewportText.setLength(0);
+			viewportRenderer.render(arena, viewportText);
+			return viewportText.length();
+		});
+
+		for (int size : new int[] {10, 100}) {
+			Board board = new Board(size, size);
+			board.randomlyPlaceBattleshipsOfType();
+			Random random = new Random(42);
+			for (int i = 0; i < size * size / 2; i++) {
+				board.fireShot(random.nextInt(size), random.nextInt(size));
+			}
+			run(filter, "toString " + size + "x" + size, () -> board.toString().length());
+
+			BoardRenderer renderer = new BoardRenderer();
+			StringBuilder frame = new StringBuilder();
+			run(filter, "render " + size + "x" + size, () -> {
+				frame.setLength(0);
+				renderer.render(board, frame);
+				return frame.length();
+			});
+
+			BoardRenderer diffRenderer = new BoardRenderer();
+			Writer discard = Writer.nullWriter();
+			int[] next = new int[1];
+			run(filter, "renderChanges one shot " + size + "x" + size, () -> {
+				int cell = next[0]++ % (board.getRows() * board.getColumns());
+				board.markShotAt(cell / board.getColumns(), cell % board.getColumns());
+				try {
+					return diffRenderer.renderChanges(board, discard);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+
+		for (int size : new int[] {10, 1000}) {
+			Board board = new Board(size, size);
+			board.randomlyPlaceBattleships(3, Math.min(size * size / 20, Board.MAX_SHIPS));
+			Player player = new Player("bench", board);
+			Random random = new Random(42);
+			for (int i = 0; i < size * size / 2; i++) {
+				player.fireAt(random.nextInt(size), random.nextInt(size));
+			}
+			ByteBuffer snapshot = ByteBuffer.allocateDirect(BoardSnapshot.sizeOf(board));
+			BoardSnapshot.save(board, player, player, snapshot);
+			run(filter, "snapshot save " + size + "x" + size, () -> {
+				snapshot.clear();
+				BoardSnapshot.save(board, player, player, snapshot);
+				return snapshot.position();
+			});
+
+			Board restored = new Board(size, size);
+			Player restoredPlayer = new Player("bench", restored);
+			run(filter, "snapshot load " + size + "x" + size, () -> {
+				snapshot.rewind();
+				BoardSnapshot.load(snapshot, restored, restoredPlayer, restoredPlayer);
+				return restored.getRemainingShips();
+			});
+		}
+
+		StringBuilder script = new StringBuilder();
+		Random moves = new Random(42);
+		for (int i = 0; i < 1_000_000; i++) {
+			script.append(moves.nextInt(1000)).append(' ').append(moves.nextInt(1000)).append('\n');
+		}
+		byte[] scriptBytes = script.toString().getBytes(StandardCharsets.US_ASCII);
+		CommandReader[] reader = {new CommandReader(new ByteArrayInputStream(scriptBytes))};
+		run(filter, "CommandReader next 1M-move script", () -> {
+			try {
+				int status = reader[0].next(1000, 1000);
+				if (status == CommandReader.END_OF_INPUT) {
+					reader[0] = new CommandReader(new ByteArrayInputStream(scriptBytes));
+					status = reader[0].next(1000, 1000);
+				}
+				return status + reader[0].getRow();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+
+		Board gameBoard = new Board(10, 10);
+		ShotStrategy first = new RandomShotStrategy();
+		ShotStrategy second = new RandomShotStrategy();
+		run(filter, "playGame 10x10 random vs random", () -> {
+			gameBoard.reset();
+			gameBoard.randomlyPlaceBattleshipsOfType();
+			return GameEngine.play(gameBoard, first, second).getTurns();
+		});
+
+		run(filter, "match churn 10x10 new board", () -> {
+			Board board = new Board(10, 10);
+			board.randomlyPlaceBattleshipsOfType();
+			return GameEngine.play(board, first, second).getTurns();
+		});
+
+		BoardPool pool = new BoardPool(4);
+		run(filter, "match churn 10x10 pooled board", () -> {
+			Board board = pool.acquire(10, 10, FleetSpec.STANDARD);
+			try {
+				return GameEngine.play(board, first, second).getTurns();
+			} finally {
+				pool.release(board);
+			}
+		});
+
+		ShotStrategy probability = new ProbabilityShotStrategy();
+		run(filter, "playGame 10x10 probability vs random", () -> {
+			gameBoard.reset();
+			gameBoard.randomlyPlaceBattleshipsOfType();
+			return GameEngine.play(gameBoard, probability, second).getTurns();
+		});
+
+		FleetSolver solver = new FleetSolver();
+		Board unshot = new Board(10, 10);
+		run(filter, "FleetSolver solve empty 10x10", () -> solver.solve(unshot, ForkJoinPool.commonPool()).getBestShot());
+		Board midGame = new Board(10, 10);
+		midGame.setRandom(new Random(7));
+		midGame.randomlyPlaceBattleshipsOfType();
+		RandomShotStrategy shooter = new RandomShotStrategy(new Random(7));
+		shooter.reset(midGame);
+		for (int i = 0; i < 30; i++) {
+			int cell = shooter.nextShot(midGame);
+			midGame.fireShot(cell / 10, cell % 10);
+		}
+		run(filter, "FleetSolver solve 30 shots 10x10", () -> solver.solve(midGame, ForkJoinPool.commonPool()).getBestShot());
+	}
+
+	/**
+	* Fires at every square of a board in turn through Player.fireAt, replacing the fleet whenever the board is exhausted,
+	* so that shots mix hits, misses and sinks on a board with 5% of its squares covered by size 3 ships.
+	*/
+	private static final class ShotOperation implements Operation {
+
+		// The board being fired at.
+		private final Board board;
+
+		// The player firing the shots.
+		private final Player player;
+
+		// The number of squares on the board.
+		private final int cells;
+
+		// The next square to fire at.
+		private int next;
+
+		/**
+		* Constructs a shot benchmark for an empty board.
+		*
+		* @param board The board to fire at.
+		*/
+		private ShotOperation(Board board) {
+			this.board = board;
+			this.player = new Player("bench", board);
+			this.cells = board.getRows() * board.getColumns();
+			board.randomlyPlaceBattleships(3, cells / 20);
+		}
+
+		@Override
+		public long run() {
+			if (next == cells) {
+				board.reset();
+				board.randomlyPlaceBattleships(3, cells / 20);
+				next = 0;
+			}
+			int cell = next++;
+			return player.fireAt(cell / board.getColumns(), cell % board.getColumns());
+		}
+	}
+
+	/**
+	* Fires at every square of a board in turn in salvos through Board.fireSalvo, replacing the fleet whenever the board
+	* is exhausted, so that it compares directly with the single shots of ShotOperation.
+	*/
+	private static final class SalvoOperation implements Operation {
+
+		// The board being fired at.
+		private final Board board;
+
+		// The row of every square of the board, in order.
+		private final int[] allRows;
+
+		// The column of every square of the board, in order.
+		private final int[] allColumns;
+
+		// The rows of the current salvo.
+		private final int[] rows;
+
+		// The columns of the current salvo.
+		private final int[] columns;
+
+		// The outcomes of the current salvo.
+		private final int[] outcomes;
+
+		// The index of the first shot of the next salvo.
+		private int next;
+
+		/**
+		* Constructs a salvo benchmark for a board of the given size.
+		*
+		* @param rows      The number of rows on the board.
+		* @param columns   The number of columns on the board.
+		* @param salvoSize The number of shots per salvo.
+		*/
+		private SalvoOperation(int rows, int columns, int salvoSize) {
+			this.board = new Board(rows, columns);
+			board.randomlyPlaceBattleships(3, rows * columns / 20);
+			int shots = rows * columns / salvoSize * salvoSize;
+			this.allRows = new int[shots];
+			this.allColumns = new int[shots];
+			for (int i = 0; i < shots; i++) {
+				allRows[i] = i / columns;
+				allColumns[i] = i % columns;
+			}
+			this.rows = new int[salvoSize];
+			this.columns = new int[salvoSize];
+			this.outcomes = new int[salvoSize];
+		}
+
+		@Override
+		public long run() {
+			if (next == allRows.length) {
+				board.reset();
+				board.randomlyPlaceBattleships(3, board.getRows() * board.getColumns() / 20);
+				next = 0;
+			}
+			System.arraycopy(allRows, next, rows, 0, rows.length);
+			System.arraycopy(allColumns, next, columns, 0, columns.length);
+			next += rows.length;
+			return board.fireSalvo(rows, columns, outcomes);
+		}
+	}
+
+	/**
+	* Warms up and measures one benchmark if its name matches the filter, then prints its results.
+	*
+	* @param filter    The filter on the benchmark names.
+	* @param name      The name of the benchmark.
+	* @param operation The benchmarked operation.
+	*/
+	private static void run(String filter, String name, Operation operation) {
+		if (!name.contains(filter)) {
+			return;
+		}
+
+		measure(operation, WARMUP_NANOS);
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		long operations = measure(operation, MEASURE_NANOS);
+		long elapsed = System.nanoTime() - start;
+		long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+		System.out.printf("%-40s %14.1f %14.0f %12.1f%n", name, (double) elapsed / operations,
+				operations * 1e9 / elapsed, (double) allocated / operations);
+	}
+
+	/**
+	* Runs an operation in batches until the given time has passed.
+	*
+	* @param operation The operation to run.
+	* @param nanos     The time to run for.
+	* @return The number of operations run.
+	*/
+	private static long measure(Operation operation, long nanos) {
+		long deadline = System.nanoTime() + nanos;
+		long operations = 0;
+		long result = 0;
+		do {
+			for (int i = 0; i < BATCH; i++) {
+				result += operation.run();
+			}
+			operations += BATCH;
+		} while (System.nanoTime() < deadline);
+		sink = result;
+		return operations;
+	}
+
+}
@@ -0,0 +1,77 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : Arena
+ * @createDate      : 18 Oct 2026
+ * @description     : Sizes boards and fleets for arena games, on boards from the classic 10x10 up to MAX_SIDE x MAX_SIDE.<br>
+ *                    Boards of up to MAX_DENSE_SQUARES squares keep the dense bit-planes of Board, and bigger boards are<br>
+ *                    SparseBoards, which only store the chunks touched by ships and shots. The fleet is the standard fleet<br>
+ *                    scaled to the board area by FleetSpec.scaledTo, a tenth of the squares holding ships as on the classic<br>
+ *                    board, up to the ships the board can hold. Dense boards hold Board.MAX_SHIPS ships, which the standard<br>
+ *                    fleet reaches at 1045x1045, so bigger dense arenas thin out, down to 2.6% at 2048x2048. Sparse boards<br>
+ *                    hold SparseBoard.MAX_SPARSE_SHIPS ships, enough for the 6 million ships of a 10000x10000 arena; that cap<br>
+ *                    is set by the heap and placement time of the fleet, about 350 MB and 80 seconds at that size.<br>
+ *                    Placement draws each ship from the spec's placement counts, shots are resolved square by square and the<br>
+ *                    game ends when the count of ships afloat reaches zero, so no step of a game scans the board, and renderers<br>
+ *                    show large boards through a viewport.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.IOException;
+
+public class Arena {
+
+	// The largest number of rows or columns of an arena board.
+	public static final int MAX_SIDE = 10_000;
+
+	// The largest number of squares of an arena board kept in dense bit-planes.
+	public static final long MAX_DENSE_SQUARES = 1L << 22;
+
+	/**
+	* Arena only has static members.
+	*/
+	private Arena() {
+	}
+
+	/**
+	* Creates an empty arena board of the given size, dense or sparse depending on its area.
+	*
+	* @param rows    The number of rows on the board.
+	* @param columns The number of columns on the board.
+	* @return The board, to be given to close once the game is over.
+	* @throws IllegalArgumentException If a side is not between 1 and MAX_SIDE.
+	*/
+	public static Board createBoard(int rows, int columns) {
+		if (rows < 1 || rows > MAX_SIDE || columns < 1 || columns > MAX_SIDE) {
+			throw new IllegalArgumentException("Arena boards are 1x1 to " + MAX_SIDE + "x" + MAX_SIDE + ", not " + rows + "x" + columns);
+		}
+		if ((long) rows * columns <= MAX_DENSE_SQUARES) {
+			return new Board(rows, columns);
+		}
+		return new SparseBoard(rows, columns);
+	}
+
+	/**
+	* Gets the fleet of an arena board: the standard fleet scaled to the board area, up to the ships the board can hold.
+	*
+	* @param board The arena board, from createBoard.
+	* @return The fleet spec.
+	*/
+	public static FleetSpec fleetFor(Board board) {
+		return FleetSpec.STANDARD.scaledTo(board.getRows(), board.getColumns(), board.getMaxShips());
+	}
+
+	/**
+	* Releases the resources of an arena board, deleting the spill file of a sparse board.
+	*
+	* @param board A board created by createBoard.
+	* @throws IOException If the spill file cannot be closed.
+	*/
+	public static void close(Board board) throws IOException {
+		if (board instanceof SparseBoard) {
+			((SparseBoard) board).close();
+		}
+	}
+
+}
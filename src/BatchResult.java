@@ -0,0 +1,118 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : BatchResult
+ * @createDate      : 18 Oct 2026
+ * @description     : Aggregated results of a batch of games played by the BatchRunner.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+public class BatchResult {
+
+	// The number of games played.
+	private long games;
+
+	// The number of games won by the first player.
+	private long firstWins;
+
+	// The number of games won by the second player.
+	private long secondWins;
+
+	// The number of drawn games.
+	private long draws;
+
+	// The number of turns taken across all games.
+	private long totalTurns;
+
+	/**
+	* Records the result of one game.
+	*
+	* @param result The result of the game.
+	*/
+	public void add(GameResult result) {
+		games++;
+		totalTurns += result.getTurns();
+		switch (result.getWinner()) {
+			case GameResult.FIRST_PLAYER:
+				firstWins++;
+				break;
+			case GameResult.SECOND_PLAYER:
+				secondWins++;
+				break;
+			default:
+				draws++;
+		}
+	}
+
+	/**
+	* Adds the results of another batch to this one.
+	*
+	* @param other The batch to merge into this one.
+	* @return This batch result.
+	*/
+	public BatchResult merge(BatchResult other) {
+		games += other.games;
+		firstWins += other.firstWins;
+		secondWins += other.secondWins;
+		draws += other.draws;
+		totalTurns += other.totalTurns;
+		return this;
+	}
+
+	/**
+	* Gets the number of games played.
+	*
+	* @return The number of games.
+	*/
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	* Gets the number of games won by the first player.
+	*
+	* @return The number of first player wins.
+	*/
+	public long getFirstWins() {
+		return firstWins;
+	}
+
+	/**
+	* Gets the number of games won by the second player.
+	*
+	* @return The number of second player wins.
+	*/
+	public long getSecondWins() {
+		return secondWins;
+	}
+
+	/**
+	* Gets the number of drawn games.
+	*
+	* @return The number of draws.
+	*/
+	public long getDraws() {
+		return draws;
+	}
+
+	/**
+	* Gets the number of turns taken across all games.
+	*
+	* @return The total number of turns.
+	*/
+	public long getTotalTurns() {
+		return totalTurns;
+	}
+
+	/**
+	* Generates a string representation of the batch result.
+	*
+	* @return The string representation of the batch result.
+	*/
+	public String toString() {
+		return "games=" + games + " firstWins=" + firstWins + " secondWins=" + secondWins
+				+ " draws=" + draws + " avgTurns=" + (games == 0 ? 0 : (double) totalTurns / games);
+	}
+
+}
@@ -0,0 +1,225 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : BatchRunner
+ * @createDate      : 18 Oct 2026
+ * @description     : Plays large batches of headless games across a fork-join pool.<br>
+ *                    Each worker thread reuses its own board and strategies, and results are merged<br>
+ *                    up the task tree so that no state is shared between threads while games are played.<br>
+ *                    A seeded run is reproducible bit for bit: the games are split into the same tasks whatever the number of<br>
+ *                    threads, and each task plays its games with its own generator, seeded from the master seed and its first game.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+public class BatchRunner {
+
+	// The number of games a task plays itself instead of splitting further.
+	private static final long GAMES_PER_TASK = 1024;
+
+	// Creates the generator of each task in a seeded run; LXM generators with different seeds give independent streams.
+	static final RandomGeneratorFactory<RandomGenerator> GENERATORS = RandomGeneratorFactory.of("L64X128MixRandom");
+
+	// The number of rows on each board.
+	private final int rows;
+
+	// The number of columns on each board.
+	private final int columns;
+
+	// Creates the shot strategy of the first player for each worker thread.
+	private final Supplier<ShotStrategy> firstStrategy;
+
+	// Creates the shot strategy of the second player for each worker thread.
+	private final Supplier<ShotStrategy> secondStrategy;
+
+	// The board and strategies reused by each worker thread.
+	private final ThreadLocal<Worker> workers;
+
+	/**
+	* Constructs a BatchRunner for boards of the given size and the given shot strategies.
+	*
+	* @param rows           The number of rows on each board.
+	* @param columns        The number of columns on each board.
+	* @param firstStrategy  Creates the shot strategy of the first player, called once per worker thread.
+	* @param secondStrategy Creates the shot strategy of the second player, called once per worker thread.
+	*/
+	public BatchRunner(int rows, int columns, Supplier<ShotStrategy> firstStrategy, Supplier<ShotStrategy> secondStrategy) {
+		this.rows = rows;
+		this.columns = columns;
+		this.firstStrategy = firstStrategy;
+		this.secondStrategy = secondStrategy;
+		this.workers = ThreadLocal.withInitial(Worker::new);
+	}
+
+	/**
+	* Plays a number of games on the common fork-join pool.
+	*
+	* @param games The number of games to play.
+	* @return The aggregated results.
+	*/
+	public BatchResult run(long games) {
+		return run(games, ForkJoinPool.commonPool());
+	}
+
+	/**
+	* Plays a number of games on the given fork-join pool.
+	*
+	* @param games The number of games to play.
+	* @param pool  The pool to play the games on.
+	* @return The aggregated results.
+	*/
+	public BatchResult run(long games, ForkJoinPool pool) {
+		return pool.invoke(new BatchTask(0, games, false, 0));
+	}
+
+	/**
+	* Plays a reproducible number of games on the common fork-join pool.
+	*
+	* @param games The number of games to play.
+	* @param seed  The master seed from which every game's placements and shots are drawn.
+	* @return The aggregated results, the same for every run with the same seed.
+	*/
+	public BatchResult run(long games, long seed) {
+		return run(games, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	* Plays a reproducible number of games on the given fork-join pool.
+	* The results do not depend on the pool, as long as the strategies only draw from the board's generator.
+	*
+	* @param games The number of games to play.
+	* @param seed  The master seed from which every game's placements and shots are drawn.
+	* @param pool  The pool to play the games on.
+	* @return The aggregated results, the same for every run with the same seed.
+	*/
+	public BatchResult run(long games, long seed, ForkJoinPool pool) {
+		return pool.invoke(new BatchTask(0, games, true, seed));
+	}
+
+	/**
+	* Derives the seed of the task starting at a game from the master seed, scrambling it so that
+	* neighbouring tasks get unrelated seeds. Also used by the other batch tools of this package.
+	*
+	* @param seed  The master seed.
+	* @param first The index of the first game of the task.
+	* @return The seed of the task's generator.
+	*/
+	static long taskSeed(long seed, long first) {
+		long z = seed ^ (first * 0x9E3779B97F4A7C15L);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	* The board and strategies owned by one worker thread.
+	*/
+	private final class Worker {
+
+		// The board reused for every game played by the worker.
+		private final Board board = new Board(rows, columns);
+
+		// The shot strategy of the first player.
+		private final ShotStrategy first = firstStrategy.get();
+
+		// The shot strategy of the second player.
+		private final ShotStrategy second = secondStrategy.get();
+
+		/**
+		* Plays a number of games on the worker's board.
+		*
+		* @param games  The number of games to play.
+		* @param random The random number generator to draw the games from, or null to use the worker thread's generator.
+		* @return The aggregated results.
+		*/
+		private BatchResult play(long games, RandomGenerator random) {
+			board.setRandom(random);
+			BatchResult result = new BatchResult();
+			for (long i = 0; i < games; i++) {
+				board.reset();
+				board.randomlyPlaceBattleshipsOfType();
+				result.add(GameEngine.play(board, first, second));
+			}
+			return result;
+		}
+	}
+
+	/**
+	* Splits a batch of games in half until it is small enough to play on one worker.
+	*/
+	private final class BatchTask extends RecursiveTask<BatchResult> {
+
+		private static final long serialVersionUID = 1L;
+
+		// The index of the first game of this task within the batch.
+		private final long first;
+
+		// The number of games in this task.
+		private final long games;
+
+		// Whether the games are drawn from generators seeded from the master seed.
+		private final boolean isSeeded;
+
+		// The master seed of the batch, if it is seeded.
+		private final long seed;
+
+		/**
+		* Constructs a task for the given range of games.
+		*
+		* @param first    The index of the first game of the task.
+		* @param games    The number of games to play.
+		* @param isSeeded Whether the games are drawn from generators seeded from the master seed.
+		* @param seed     The master seed of the batch, if it is seeded.
+		*/
+		private BatchTask(long first, long games, boolean isSeeded, long seed) {
+			this.first = first;
+			this.games = games;
+			this.isSeeded = isSeeded;
+			this.seed = seed;
+		}
+
+		@Override
+		protected BatchResult compute() {
+			if (games <= GAMES_PER_TASK) {
+				return workers.get().play(games, isSeeded ? GENERATORS.create(taskSeed(seed, first)) : null);
+			}
+			BatchTask left = new BatchTask(first, games / 2, isSeeded, seed);
+			BatchTask right = new BatchTask(first + games / 2, games - games / 2, isSeeded, seed);
+			left.fork();
+			BatchResult result = right.compute();
+			return result.merge(left.join());
+		}
+	}
+
+	/**
+	* Plays a batch of games between two random shot strategies and prints the results and throughput.
+	*
+	* @param args The number of games, optionally followed by the number of rows and columns and by a master seed.
+	*/
+	public static void main(String[] args) {
+		long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+		int rows = args.length > 2 ? Integer.parseInt(args[1]) : 10;
+		int columns = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+		BatchRunner runner = new BatchRunner(rows, columns, RandomShotStrategy::new, RandomShotStrategy::new);
+
+		long start = System.nanoTime();
+		BatchResult result = runner.run(games, seed);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println(result);
+		System.out.println("seed " + seed);
+		if (Metrics.ENABLED) {
+			System.out.println(Metrics.snapshot());
+		}
+		System.out.printf("%.2f s, %.0f games/s on %d threads%n", seconds, games / seconds, ForkJoinPool.getCommonPoolParallelism());
+	}
+
+}
@@ -4,14 +4,30 @@
 * @createDate 	   : 05 Nov 2023
 * @description 	   : Represents a battleship with attributes for whether it is sunk,<br>
 				     the remaining health of the battleship,<br>
- 				     and the size of the battleship.
+ 				     and the size of the battleship.<br>
+				     Hits can also be taken atomically on boards shared between threads.<br>
+				     Battleships are straight lines unless given a ShipShape.
 * @version 		   : 1.0
-* @lastModifiedBy  :
-* @lastModifiedDate:
+* @lastModifiedBy  : Giri Liyangi
+* @lastModifiedDate: 18 Oct 2026
 */
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public class Battleship {
 	
+	// Atomic access to the remaining health, for battleships on boards shared between threads.
+	private static final VarHandle REMAINING_HEALTH;
+	
+	static {
+		try {
+			REMAINING_HEALTH = MethodHandles.lookup().findVarHandle(Battleship.class, "remainingHealth", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
 	// Indicates whether the battleship is sunk.
 	private boolean isSunk;
 	
@@ -21,6 +37,12 @@ public class Battleship {
 	// The size of the battleship.
 	private int size;
 	
+	// The shape of the battleship, or null for a straight line.
+	private ShipShape shape;
+	
+	// The orientation of the shape as placed on the board.
+	private int orientation;
+	
 	/**
 	* Constructs a Battleship object with the specified size. The battleship is initially not sunk, 
 	* and its remaining health is set to the given size.
@@ -33,6 +55,31 @@ public class Battleship {
 		this.size = size;
 	}
 	
+	/**
+	* Constructs a Battleship object of the specified shape, placed in one of the shape's orientations.
+	*
+	* @param shape: the shape of the battleship.
+	* @param orientation: the orientation of the shape on the board.
+	*/
+	public Battleship(ShipShape shape, int orientation) {
+		this(shape.getSize());
+		this.shape = shape;
+		this.orientation = orientation;
+	}
+	
+	/**
+	* Constructs a Battleship object with the specified size which has already taken some hits,
+	* used when restoring a saved game. The battleship is sunk if its remaining health is zero.
+	*
+	* @param size: the size of the battleship.
+	* @param remainingHealth: the remaining health of the battleship.
+	*/
+	public Battleship(int size, int remainingHealth) {
+		this.isSunk = remainingHealth <= 0;
+		this.remainingHealth = remainingHealth;
+		this.size = size;
+	}
+	
 	/**
 	* Checks if the battleship is sunk. 
     * 
@@ -60,6 +107,33 @@ public class Battleship {
 		return size;
 	}
 	
+	/**
+    * Gets the shape of the battleship.
+    * 
+    * @return the shape of the battleship, a line of its size unless it was given a shape.
+    */
+	public ShipShape getShape() {
+		return shape != null ? shape : ShipShape.line(size);
+	}
+	
+	/**
+    * Gets the orientation of the battleship's shape as placed on the board.
+    * 
+    * @return the orientation, an index into the orientations of the shape; 0 for lines, whose direction the board keeps.
+    */
+	public int getOrientation() {
+		return orientation;
+	}
+	
+	/**
+    * Checks if the battleship is a straight line.
+    * 
+    * @return true if the battleship is a line, false if it has another shape.
+    */
+	public boolean isLine() {
+		return shape == null || shape.isLine();
+	}
+	
 	/**
     * Simulates the battleship taking a hit, reducing its remaining health by 1, 
     * and marking it as sunk if its health reaches zero.
@@ -72,4 +146,34 @@ public class Battleship {
         }
     }
 
+    /**
+    * Simulates the battleship taking a hit atomically, for boards which are fired at from several threads.
+    * Concurrent hits are never lost and exactly one of them sinks the battleship.
+    *
+    * @return true if this hit sank the battleship, false otherwise.
+    */
+    public boolean takeHitAtomically() {
+        if ((int) REMAINING_HEALTH.getAndAdd(this, -1) == 1) {
+            isSunk = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+    * Turns the battleship into a new one, for boards which reuse their battleships between games.
+    *
+    * @param size: the size of the battleship.
+    * @param remainingHealth: the remaining health of the battleship.
+    * @param shape: the shape of the battleship, or null for a straight line.
+    * @param orientation: the orientation of the shape as placed on the board.
+    */
+    void recycle(int size, int remainingHealth, ShipShape shape, int orientation) {
+        this.isSunk = remainingHealth <= 0;
+        this.remainingHealth = remainingHealth;
+        this.size = size;
+        this.shape = shape;
+        this.orientation = orientation;
+    }
+
 }
\ No newline at end of file
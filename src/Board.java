@@ -2,18 +2,60 @@
  * @author          : Giri Liyangi
  * @name            : Board
  * @createDate      : 07 Nov 2023
- * @description     : Represents the game board for the Battleship game, managing the placement of battleships and game state.
+ * @description     : Represents the game board for the Battleship game, managing the placement of battleships and game state.<br>
+ *                    Ship and shot state are stored in packed bit-planes, with ship ids in a primitive array.<br>
+ *                    The board owns the fleet registry: ships by id with their anchors, and the number of ships afloat in total<br>
+ *                    and by size, kept up to date as ships are placed and sunk.
  * @version         : 1.0
- * @lastModifiedBy  :
- * @lastModifiedDate:
+ * @lastModifiedBy  : Giri Liyangi
+ * @lastModifiedDate: 18 Oct 2026
  */
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Board {
 	
-	// Two-dimensional array representing the game board.
-	private Square[][] gameBoard;
+	// Shot outcome: the square does not contain a ship.
+	public static final int MISS = 0;
+
+	// Shot outcome: the square contains a ship which is still afloat.
+	public static final int HIT = 1;
+
+	// Shot outcome: the square contains a ship which has now been sunk.
+	public static final int SUNK = 2;
+
+	// Shot outcome: the square had already been shot at.
+	public static final int ALREADY_SHOT = 3;
+
+	// The maximum number of ships a board can hold (ship ids are stored as unsigned shorts).
+	public static final int MAX_SHIPS = 0xFFFF;
+
+	// The most anchors placeFleet keeps in the placement index of a shape (two ints each), so crowded fleets on huge boards
+	// fall back to counting the legal placements rather than holding an index of every square.
+	static final long MAX_INDEXED_ANCHORS = 1L << 21;
+
+	// Bit-plane with one bit per square (row-major), set when the square contains a ship.
+	private long[] shipPlane;
+
+	// Bit-plane with one bit per square (row-major), set when the square has been shot at.
+	private long[] shotPlane;
+
+	// Ship id per square, 0 when the square is empty, otherwise the fleet index plus one.
+	private short[] shipIds;
+
+	// A spare bit-plane the size of the others, for codecs to check a plane before overwriting the board's, allocated on first use.
+	private long[] scratchPlane;
+
+	// The battleships placed on the board, indexed by ship id minus one.
+	private Battleship[] fleet;
+
+	// The anchor of each battleship (starting square * 2, plus 1 if horizontal), indexed like the fleet.
+	private int[] shipAnchors;
+
+	// The number of battleships placed on the board.
+	private int fleetSize;
 	
 	// The number of rows on the game board.
 	private int rows;
@@ -24,21 +66,168 @@ public class Board {
 	// The number of remaining ships on the game board.
 	private int remainingShips;
 	
+	// The number of remaining ships of each size, indexed by ship size.
+	private int[] remainingShipsBySize;
+
+	// The listener told about every ship sunk on the board, or null.
+	private SinkListener sinkListener;
+	
+	// The event log recording ship placements, or null when the board is not logged.
+	private GameLog gameLog;
+	
+	// The random number generator used to place ships, or null to use the generator of the calling thread.
+	private RandomGenerator random;
+	
+	// The seat recorded with every logged placement: 0 for the first player's fleet, 1 for the second player's.
+	private int logSeat;
+	
+	// The row-major index of the square most recently shot at, or -1 if none was shot since the last reset.
+	private int lastShotCell = -1;
+	
+	// Every battleship the board created, kept across resets so that later placements reuse them.
+	private Battleship[] ownShips = new Battleship[0];
+	
+	// The number of the board's own battleships in use since the last reset.
+	private int ownShipsInUse;
+	
+	// The placement index of each ship shape placed at random so far, brought up to date from occupiedSquares when sampled.
+	private PlacementIndex[] placementIndexes = new PlacementIndex[0];
+	
+	// The row-major index of every square occupied since the last reset, in the order the ships were placed.
+	private int[] occupiedSquares = new int[0];
+	
+	// The number of squares in occupiedSquares.
+	private int occupiedCount;
+	
 	/**
     * Constructs a Board object with the specified number of rows and columns.
+    * No Square objects are allocated, the squares are views created on demand by getSquare.
     *
     * @param rows    The number of rows on the game board.
     * @param columns The number of columns on the game board.
     */
 	public Board(int rows, int columns) {
+		this(rows, columns, rows * columns);
+	}
+	
+	/**
+    * Constructs a Board object whose packed arrays cover the given number of squares.
+    * Subclasses which keep the squares in their own storage pass 0.
+    *
+    * @param rows    The number of rows on the game board.
+    * @param columns The number of columns on the game board.
+    * @param cells   The number of squares covered by the bit-planes and ship id array.
+    */
+	Board(int rows, int columns, int cells) {
 		this.rows = rows;
 		this.columns = columns;
-		gameBoard = new Square[rows][columns];
 		this.remainingShips = 0;
 		
-		// Populate the game board with Square objects.
-		populateBoard();
+		this.shipPlane = new long[(cells + 63) >>> 6];
+		this.shotPlane = new long[(cells + 63) >>> 6];
+		this.shipIds = new short[cells];
+		this.fleet = new Battleship[8];
+		this.shipAnchors = new int[8];
+		this.fleetSize = 0;
+		this.remainingShipsBySize = new int[LargeBattleship.SIZE + 1];
+	}
 		
+	/**
+	* Clears every ship and shot from the game board so that it can be reused for a new game.
+	* Only the ship id words of occupied squares are touched, so the cost is proportional to the fleet rather than the board.
+	* The battleships the board created for its placements are kept and reused by the next ones, so a reset board
+	* places a fleet without allocating; they must not be used once the board is reset.
+	*/
+	public void reset() {
+		for (int word = 0; word < shipPlane.length; word++) {
+			long bits = shipPlane[word];
+			while (bits != 0) {
+				shipIds[(word << 6) + Long.numberOfTrailingZeros(bits)] = 0;
+				bits &= bits - 1;
+			}
+		}
+		Arrays.fill(shipPlane, 0L);
+		Arrays.fill(shotPlane, 0L);
+		Arrays.fill(fleet, 0, fleetSize, null);
+		Arrays.fill(remainingShipsBySize, 0);
+		this.fleetSize = 0;
+		this.remainingShips = 0;
+		this.lastShotCell = -1;
+		this.ownShipsInUse = 0;
+		this.occupiedCount = 0;
+		for (PlacementIndex index : placementIndexes) {
+			index.restore();
+		}
+	}
+	
+	/**
+	* Sets the event log which records every ship placed on the board from now on.
+	*
+	* @param gameLog The event log, or null to stop logging.
+	*/
+	public void setGameLog(GameLog gameLog) {
+		setGameLog(gameLog, 0);
+	}
+	
+	/**
+	* Sets the event log which records every ship placed on the board from now on, as the fleet of the given seat.
+	* Two-board games log both fleets to one log, so that a replay knows which board each ship goes on.
+	*
+	* @param gameLog The event log, or null to stop logging.
+	* @param seat    0 if the board holds the first player's fleet, 1 if it holds the second player's.
+	*/
+	public void setGameLog(GameLog gameLog, int seat) {
+		if (seat != 0 && seat != 1) {
+			throw new IllegalArgumentException("Invalid seat: " + seat);
+		}
+		this.gameLog = gameLog;
+		this.logSeat = seat;
+	}
+	
+	/**
+	* Sets the random number generator used to place ships from now on. A seeded generator makes placements
+	* reproducible; it is not shared with other threads, so the board must not be placed on by several threads at once.
+	*
+	* @param random The random number generator, or null to use the generator of the calling thread.
+	*/
+	public void setRandom(RandomGenerator random) {
+		this.random = random;
+	}
+	
+	/**
+	* Gets the random number generator used to place ships, for shot strategies which should draw from the same stream.
+	*
+	* @return The random number generator set on the board, or the generator of the calling thread if none was set.
+	*/
+	public RandomGenerator getRandom() {
+		return random != null ? random : ThreadLocalRandom.current();
+	}
+	
+	/**
+	* Sets the listener which is told about every ship sunk on the board from now on.
+	*
+	* @param sinkListener The listener, or null to stop notifications.
+	*/
+	public void setSinkListener(SinkListener sinkListener) {
+		this.sinkListener = sinkListener;
+	}
+	
+	/**
+	* Retrieves the number of rows on the game board.
+	*
+	* @return The number of rows.
+	*/
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	* Retrieves the number of columns on the game board.
+	*
+	* @return The number of columns.
+	*/
+	public int getColumns() {
+		return columns;
 	}
 	
 	/**
@@ -50,24 +239,230 @@ public class Board {
 		return remainingShips;
 	}
 
+	/**
+	* Retrieves the number of remaining ships of the given size on the game board.
+	*
+	* @param shipSize The size of the ships.
+	* @return The number of ships of that size which are still afloat.
+	*/
+	public int getRemainingShips(int shipSize) {
+		return shipSize > 0 && shipSize < remainingShipsBySize.length ? remainingShipsBySize[shipSize] : 0;
+	}
+
+	/**
+	* Retrieves the number of ships placed on the game board, sunk or afloat.
+	*
+	* @return The number of ships; their ids run from 1 to this number.
+	*/
+	public int getShipCount() {
+		return fleetSize;
+	}
+
 	/**
 	* Sets the number of remaining ships on the game board.
 	*
 	* @param remainingShips The new value for the number of remaining ships.
+	* @deprecated The board counts its ships as they are placed and sunk, so the count no longer needs to be set.
 	*/
+	@Deprecated
 	public void setRemainingShips(int remainingShips) {
 		this.remainingShips = remainingShips;
 	}
 	
 	/**
-	* Retrieves the Square object located at the specified row and column on the game board.
+	* Retrieves a Square view of the specified row and column on the game board.
+	* The view reads and writes through to the board, so it is only created when asked for.
 	*
 	* @param row The row index of the desired Square.
 	* @param col The column index of the desired Square.
 	* @return The Square object at the specified position on the game board.
 	*/
 	public Square getSquare(int row, int col) {
-		return gameBoard[row][col];
+		checkBounds(row, col);
+		return new Square(this, row, col);
+	}
+
+	/**
+	* Checks if the square at the specified position contains a ship.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	* @return True if the square contains a ship, false otherwise.
+	*/
+	public boolean hasShipAt(int row, int col) {
+		int cell = cellIndex(row, col);
+		return (shipPlane[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	* Checks if the square at the specified position has been shot at.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	* @return True if the square has been shot at, false otherwise.
+	*/
+	public boolean hasShotAt(int row, int col) {
+		int cell = cellIndex(row, col);
+		return (shotPlane[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	* Gets the battleship occupying the square at the specified position.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	* @return The battleship on the square or null if there is no battleship.
+	*/
+	public Battleship getBattleshipAt(int row, int col) {
+		int id = shipIds[cellIndex(row, col)] & 0xFFFF;
+		return id == 0 ? null : fleet[id - 1];
+	}
+
+	/**
+	* Gets the id of the battleship occupying the square at the specified position.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	* @return The ship id, from 1 to getShipCount(), or 0 if there is no battleship.
+	*/
+	public int getShipIdAt(int row, int col) {
+		return shipIds[cellIndex(row, col)] & 0xFFFF;
+	}
+
+	/**
+	* Marks the square at the specified position as shot, without resolving any hit.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	*/
+	public void markShotAt(int row, int col) {
+		int cell = cellIndex(row, col);
+		long bit = 1L << cell;
+		if ((shotPlane[cell >>> 6] & bit) == 0) {
+			shotPlane[cell >>> 6] |= bit;
+			lastShotCell = cell;
+		}
+	}
+
+	/**
+	* Places a battleship on the square at the specified position, registering it with the fleet if needed.
+	*
+	* @param row        The row index of the square.
+	* @param col        The column index of the square.
+	* @param battleship The battleship to place on the square.
+	*/
+	public void placeShipAt(int row, int col, Battleship battleship) {
+		int cell = cellIndex(row, col);
+
+		// Ships are placed square by square, so the ship is almost always the most recently registered one.
+		int id = 0;
+		for (int i = fleetSize - 1; i >= 0; i--) {
+			if (fleet[i] == battleship) {
+				id = i + 1;
+				break;
+			}
+		}
+		if (id == 0) {
+			id = registerShip(battleship, cell * 2 + 1);
+		} else {
+			// The anchor is the first square of the ship, and a second row means the ship is vertical.
+			int anchorCell = shipAnchors[id - 1] >>> 1;
+			boolean isHorizontal = (shipAnchors[id - 1] & 1) != 0 && cell / columns == anchorCell / columns;
+			shipAnchors[id - 1] = Math.min(anchorCell, cell) * 2 + (isHorizontal ? 1 : 0);
+		}
+
+		shipIds[cell] = (short) id;
+		shipPlane[cell >>> 6] |= 1L << cell;
+		indexSquare(cell);
+	}
+
+	/**
+	* Fires a shot at the specified position and resolves it against the packed board state.
+	* A hit damages the battleship on the square, and a sink decreases the number of remaining ships
+	* and notifies the sink listener. No objects are allocated.
+	*
+	* @param row The row index of the target square.
+	* @param col The column index of the target square.
+	* @return One of MISS, HIT, SUNK or ALREADY_SHOT.
+	*/
+	public int fireShot(int row, int col) {
+		int cell = cellIndex(row, col);
+		int word = cell >>> 6;
+		long bit = 1L << cell;
+
+		if ((shotPlane[word] & bit) != 0) {
+			return ALREADY_SHOT;
+		}
+		shotPlane[word] |= bit;
+		lastShotCell = cell;
+
+		if ((shipPlane[word] & bit) == 0) {
+			return MISS;
+		}
+		return resolveHit(cell);
+	}
+
+	/**
+	* Fires a salvo of shots in one pass over the packed board state, as if each shot were fired in turn with fireShot.
+	* Every position is validated before any shot is fired, so an invalid salvo leaves the board untouched.
+	* A square targeted twice in the salvo is ALREADY_SHOT the second time. No objects are allocated.
+	*
+	* @param rows     The row index of each target square.
+	* @param cols     The column index of each target square, at least as many as rows.
+	* @param outcomes Receives the outcome of each shot (MISS, HIT, SUNK or ALREADY_SHOT), at least as many as rows.
+	* @return The number of battleships sunk by the salvo.
+	*/
+	public int fireSalvo(int[] rows, int[] cols, int[] outcomes) {
+		int count = rows.length;
+		if (cols.length < count || outcomes.length < count) {
+			throw new IllegalArgumentException("A salvo of " + count + " shots needs as many columns and outcomes");
+		}
+		for (int i = 0; i < count; i++) {
+			checkBounds(rows[i], cols[i]);
+		}
+
+		int sunk = 0;
+		for (int i = 0; i < count; i++) {
+			int cell = rows[i] * columns + cols[i];
+			int word = cell >>> 6;
+			long bit = 1L << cell;
+			long shots = shotPlane[word];
+			shotPlane[word] = shots | bit;
+
+			// Misses and repeated shots are resolved from the two plane words alone, only hits touch the fleet.
+			int outcome;
+			if ((shots & bit) != 0) {
+				outcome = ALREADY_SHOT;
+			} else if ((shipPlane[word] & bit) == 0) {
+				lastShotCell = cell;
+				outcome = MISS;
+			} else {
+				lastShotCell = cell;
+				outcome = resolveHit(cell);
+				if (outcome == SUNK) {
+					sunk++;
+				}
+			}
+			outcomes[i] = outcome;
+		}
+		return sunk;
+	}
+
+	/**
+	* Damages the battleship on a square which has just been hit, counting it out if it sinks.
+	*
+	* @param cell The row-major index of the square.
+	* @return HIT or SUNK.
+	*/
+	int resolveHit(int cell) {
+		int id = shipIds[cell] & 0xFFFF;
+		Battleship battleship = fleet[id - 1];
+		if (applyHit(battleship)) {
+			int anchor = shipAnchors[id - 1];
+			countSunkShip(id, (anchor >>> 1) / columns, (anchor >>> 1) % columns, battleship.getSize(), (anchor & 1) != 0);
+			return SUNK;
+		}
+		return HIT;
 	}
 	
 	/**
@@ -81,95 +476,255 @@ public class Board {
         return remainingShips == 0; 
     }
 	
-	
 	/**
-    * Populates the game board with Square objects.
-    */
-	private void populateBoard() {
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-            	gameBoard[i][j] = new Square(i, j);
-            }
-        }
-    }
+	* Randomly places battleships of different types on the game board.
+	* Places the Small, Medium, and Large battleships with their respective sizes and maximum counts.
+	*
+	* @return True if every battleship was placed, false if the board ran out of legal placements.
+	*/
+	public boolean randomlyPlaceBattleshipsOfType() {
+		return placeFleet(FleetSpec.STANDARD);
+	}
 	
 	/**
-	* Randomly places battleships of different types on the game board.
-	* Calls the helper method to randomly place Small, Medium, and Large battleships with their respective maximum counts.
+	* Randomly places every battleship of a fleet spec on the game board, biggest first.
+	* Each ship is drawn uniformly from the placements of its shape which do not overlap the ships placed so far:
+	* placements are drawn from the spec's cached table of empty-board placements and redrawn when they overlap,
+	* which almost always succeeds at once on a classic board. After 4 overlapping draws the ship is drawn in
+	* constant time from the PlacementIndex the board keeps for the shape. Boards which are not dense, whose
+	* squares are only stored where they are used, and boards whose index would hold more than MAX_INDEXED_ANCHORS
+	* anchors cannot afford an index: they redraw up to 64 times, then count the legal placements and pick one directly.
+	*
+	* @param fleetSpec The fleet to place.
+	* @return True if every battleship was placed, false if the board ran out of legal placements.
+	* @throws IllegalStateException If the fleet has shaped ships and the board is logged, as game logs only record lines.
 	*/
-	public void randomlyPlaceBattleshipsOfType() {
-		randomlyPlaceBattleships(SmallBattleship.MAX_COUNT);
-		randomlyPlaceBattleships(MediumBattleship.MAX_COUNT);
-		randomlyPlaceBattleships(LargeBattleship.MAX_COUNT);
+	public boolean placeFleet(FleetSpec fleetSpec) {
+		long start = Metrics.startSampledTimer();
+		long[][] placements = fleetSpec.getPlacementTable(rows, columns);
+		RandomGenerator r = getRandom();
+		int ships = 0;
+		int rejections = 0;
+		for (int kind = 0; kind < fleetSpec.getShapeCount(); kind++) {
+			ShipShape shape = fleetSpec.getShape(kind);
+			if (gameLog != null && !shape.isLine()) {
+				throw new IllegalStateException("Game logs only record straight ships, not " + shape);
+			}
+			for (int placed = 0; placed < fleetSpec.getCount(kind); placed++) {
+				int rejected = placeRandomly(shape, placements[kind], r);
+				if (rejected < 0) {
+					Metrics.recordPlacement(start, ships + rejections, rejections, false);
+					return false;
+				}
+				ships++;
+				rejections += rejected;
+			}
+		}
+		Metrics.recordPlacement(start, ships + rejections, rejections, true);
+		return true;
 	}
 	
 	/**
-	* Randomly places battleships of a specific type on the game board based on the provided battleship type and maximum count.
+	* Places one battleship of a shape at a uniformly drawn placement which does not overlap any ship.
 	*
-	* @param battleshipType The class representing the type of battleship to be placed.
-	* @param maxCount       The maximum count of battleships of the specified type to be placed on the board.
+	* @param shape  The shape of the battleship.
+	* @param totals The running total of empty-board placements over the orientations of the shape.
+	* @param r      The random number generator.
+	* @return The number of drawn placements rejected before the battleship was placed, or -1 if no placement is legal.
 	*/
-	private void randomlyPlaceBattleships(int maxCount) {
-		
-		// Variable to store the size of the battleship.
-		int shipSize = 0;
+	private int placeRandomly(ShipShape shape, long[] totals, RandomGenerator r) {
+		long total = totals[totals.length - 1];
+		if (total == 0) {
+			return -1;
+		}
 		
-	    // Variable to store the number of remaining battleships of the specified type.
-		this.remainingShips = 0;
+		// Every draw is uniform over the legal placements once it is accepted, so falling back to the index keeps the ship uniform.
+		boolean isIndexed = isDense() && (long) rows * columns * shape.getOrientationCount() <= MAX_INDEXED_ANCHORS;
+		int attempts = isIndexed ? 4 : 64;
+		for (int attempt = 0; attempt < attempts; attempt++) {
+			long placement = r.nextLong(total);
+			int orientation = 0;
+			while (placement >= totals[orientation]) {
+				orientation++;
+			}
+			if (orientation > 0) {
+				placement -= totals[orientation - 1];
+			}
+			int row = shape.placementRow(orientation, columns, placement);
+			int col = shape.placementColumn(orientation, columns, placement);
+			if (fits(shape, orientation, row, col)) {
+				placeShape(shape, orientation, row, col);
+				return attempt;
+			}
+		}
 		
-	    // Determine the battleship size and remaining ships based on the maximum count.
-		switch(maxCount) {
+		if (isIndexed) {
+			PlacementIndex index = placementIndex(shape);
+			int anchor = index.sample(r);
+			if (anchor < 0) {
+				return -1;
+			}
+			placeShape(shape, index.anchorOrientation(anchor), index.anchorRow(anchor), index.anchorColumn(anchor));
+			return attempts;
+		}
 		
-			case 1:
-				shipSize = 3;
-				this.remainingShips = 1;
-				break;
-			case 2:
-				shipSize = 2;
-				this.remainingShips = 2;
-				break;
-			case 3:
-				shipSize = 1;
-				this.remainingShips = 3;
-				break;
-			default:
-				System.out.println("No ships to place");
+		// The board is crowded: count the legal placements, then walk to a random one of them.
+		long legal = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			long pick = pass == 0 ? -1 : r.nextLong(legal);
+			for (int orientation = 0; orientation < totals.length; orientation++) {
+				long count = shape.countPlacements(orientation, rows, columns);
+				for (long placement = 0; placement < count; placement++) {
+					int row = shape.placementRow(orientation, columns, placement);
+					int col = shape.placementColumn(orientation, columns, placement);
+					if (!fits(shape, orientation, row, col)) {
+						continue;
+					}
+					if (pass == 0) {
+						legal++;
+					} else if (pick-- == 0) {
+						placeShape(shape, orientation, row, col);
+						return 64;
+					}
+				}
+			}
+			if (legal == 0) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	* Checks if a shape in an orientation, with its first square at the given position, covers no ship.
+	* The placement must lie on the board.
+	*/
+	private boolean fits(ShipShape shape, int orientation, int row, int col) {
+		int[] rowOffsets = shape.getRowOffsets(orientation);
+		int[] colOffsets = shape.getColOffsets(orientation);
+		for (int i = 0; i < rowOffsets.length; i++) {
+			if (hasShipAt(row + rowOffsets[i], col + colOffsets[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	* Places a new battleship of a shape in an orientation, with its first square at the given position,
+	* for codecs in this package which store placements. Lines are horizontal in orientation 0 and vertical otherwise.
+	*
+	* @param shape       The shape of the battleship.
+	* @param orientation The orientation of the shape.
+	* @param row         The row of the first square of the shape.
+	* @param col         The column of the first square of the shape.
+	* @return True if the battleship was placed, false if it would lie off the board or overlap a ship.
+	*/
+	boolean placeShapeAt(ShipShape shape, int orientation, int row, int col) {
+		int[] rowOffsets = shape.getRowOffsets(orientation);
+		int[] colOffsets = shape.getColOffsets(orientation);
+		for (int i = 0; i < rowOffsets.length; i++) {
+			int r = row + rowOffsets[i];
+			int c = col + colOffsets[i];
+			if (r < 0 || r >= rows || c < 0 || c >= columns || hasShipAt(r, c)) {
+				return false;
+			}
+		}
+		placeShape(shape, orientation, row, col);
+		return true;
+	}
+	
+	/**
+	* Places a new battleship of a shape in an orientation, with its first square at the given position.
+	* Lines go through the usual placement, so they are logged and keep their direction.
+	*/
+	private void placeShape(ShipShape shape, int orientation, int row, int col) {
+		if (shape.isLine()) {
+			placeShipOnBoard(row, col, shape.getSize(), orientation == 0);
+		} else {
+			occupy(newShip(shape.getSize(), shape.getSize(), shape, orientation), row, col, shape.getRowOffsets(orientation), shape.getColOffsets(orientation));
+		}
+	}
+	
+	/**
+	* Randomly places a number of battleships of the given size on the game board.
+	* Each ship is drawn uniformly from the legal placements of the line of that size, the way placeFleet draws
+	* every ship: a few draws over the empty-board placements, then the board's PlacementIndex for the line, or
+	* counting the legal placements when the board is not dense or too big to index under MAX_INDEXED_ANCHORS.
+	* Placement stops as soon as no legal placement is left, keeping the ships placed so far.
+	*
+	* @param shipSize The size of the battleships to be placed.
+	* @param count    The number of battleships of that size to be placed on the board.
+	* @return True if every battleship was placed, false if the board ran out of legal placements.
+	*/
+	public boolean randomlyPlaceBattleships(int shipSize, int count) {
 		
+		if(count <= 0) {
+			return true;
 		}
 		
-		Random r = new Random();
+		ShipShape line = ShipShape.line(shipSize);
+		long[] totals = new long[line.getOrientationCount()];
+		long total = 0;
+		for(int orientation = 0; orientation < totals.length; orientation++) {
+			total += line.countPlacements(orientation, rows, columns);
+			totals[orientation] = total;
+		}
+		RandomGenerator r = getRandom();
 		
 		// Continue placing ships on the board until the desired number of ships of a particular type is reached.
-		while(this.remainingShips > 0) {
-	        boolean isHorizontal = r.nextBoolean();
-	        int row, col;
-	        boolean isValid = false;
-	        boolean isInsideBound = false;
-	        
-	        	// Keep generating random positions until a valid placement is found.
-	            do {
-	            	// Generate random row and column positions.
-	                row = r.nextInt(rows);
-	                col = r.nextInt(columns);
-	                
-	                // Check if the generated position is inside the bounds of the board.
-	                isInsideBound = isInsideBounds(row, col, shipSize, isHorizontal);
+		for(int placed = 0; placed < count; placed++) {
+			if(placeRandomly(line, totals, r) < 0) {
+				return false;
+			}
+		}
 	                
-	                // If inside bounds, check if the placement is valid.
-	                if(isInsideBound) {
-	                	isValid = isValidPlacement(row, col, shipSize, isHorizontal);
-	                }
+		return true;
+	}
 	                
-	                // If both inside bounds and valid, place the ship on the board.
-	                if(isValid) {
-	                	placeShipOnBoard(row, col, shipSize, isHorizontal);
-	                }
-	            } while (!isInsideBound && !isValid); 
-	           
-	            // Decrease the number of remaining ships after placing one on the board.
-	            this.remainingShips--;
-	     }
-		
+	/**
+	* Places a battleship of the specified size at the provided position and orientation,
+	* if it fits within the board and does not overlap with existing ships.
+	*
+	* @param row          The starting row position for the battleship.
+	* @param col          The starting column position for the battleship.
+	* @param shipSize     The size of the battleship to be placed.
+	* @param isHorizontal A boolean indicating whether the battleship is to be placed horizontally.
+	* @return True if the battleship was placed, false if the placement is not legal.
+	*/
+	public boolean placeBattleship(int row, int col, int shipSize, boolean isHorizontal) {
+		if(!isLegalPlacement(row, col, shipSize, isHorizontal)) {
+			return false;
+		}
+		placeShipOnBoard(row, col, shipSize, isHorizontal);
+		return true;
+	}
+	
+	/**
+	* Places a battleship like placeBattleship, but without recording it in the board's event log,
+	* for rebuilding a board from the log itself.
+	*
+	* @param row          The starting row position for the battleship.
+	* @param col          The starting column position for the battleship.
+	* @param shipSize     The size of the battleship to be placed.
+	* @param isHorizontal A boolean indicating whether the battleship is to be placed horizontally.
+	* @return True if the battleship was placed, false if the placement is not legal.
+	*/
+	boolean replayBattleship(int row, int col, int shipSize, boolean isHorizontal) {
+		if(!isLegalPlacement(row, col, shipSize, isHorizontal)) {
+			return false;
+		}
+		occupy(newShip(shipSize, shipSize, null, 0), row, col, isHorizontal);
+		return true;
+	}
+	
+	/**
+	* Checks if a battleship of the specified size starts on the board, fits within it and does not overlap with existing ships.
+	*/
+	private boolean isLegalPlacement(int row, int col, int shipSize, boolean isHorizontal) {
+		return shipSize >= 1 && row >= 0 && col >= 0 && row < rows && col < columns
+				&& isInsideBounds(row, col, shipSize, isHorizontal)
+				&& isValidPlacement(row, col, shipSize, isHorizontal);
 	}
 	
 	/**
@@ -217,25 +772,21 @@ public class Board {
 	*/
 	private boolean isValidPlacement(int row, int col, int shipSize, boolean isHorizontal){
 		
-		boolean isValid = false;
+		boolean isValid = true;
 		
 	    // Check if placing the battleship horizontally overlaps with existing ships.
 		if(isHorizontal) {
 			
-			for(int i = 0; i < shipSize; i++) {
-				if(gameBoard[row][col+i].hasShip()) {
+			for(int i = 0; i < shipSize && isValid; i++) {
+				if(hasShipAt(row, col+i)) {
 					isValid = false;
-				}else {
-					isValid = true;
 				}
 			}
 		} else { // Check if placing the battleship vertically overlaps with existing ships.
 			
-			for(int i = 0; i < shipSize; i++) {
-				if(gameBoard[row+i][col].hasShip()) {
+			for(int i = 0; i < shipSize && isValid; i++) {
+				if(hasShipAt(row+i, col)) {
 					isValid = false;
-				}else {
-					isValid = true;
 				}
 			}
 		}
@@ -253,18 +804,325 @@ public class Board {
 	*/
 	private void placeShipOnBoard(int row, int col, int shipSize, boolean isHorizontal) {
 		
-	    // Create a new battleship instance with the specified size.
-		Battleship battleship = new Battleship(shipSize);
+	    // Create a new battleship instance with the specified size, or reuse one from an earlier game, and place it on the board.
+		occupy(newShip(shipSize, shipSize, null, 0), row, col, isHorizontal);
+		
+		if (gameLog != null) {
+			gameLog.logPlacement(logSeat, row, col, shipSize, isHorizontal);
+		}
+	}
+	
+	/**
+	* Gets a battleship for a placement, reusing one the board created before its last reset if there is one.
+	*
+	* @param size            The size of the battleship.
+	* @param remainingHealth The remaining health of the battleship.
+	* @param shape           The shape of the battleship, or null for a straight line.
+	* @param orientation     The orientation of the shape as placed on the board.
+	* @return The battleship, owned by the board.
+	*/
+	Battleship newShip(int size, int remainingHealth, ShipShape shape, int orientation) {
+		if (ownShipsInUse == ownShips.length) {
+			ownShips = Arrays.copyOf(ownShips, Math.max(8, ownShipsInUse * 2));
+		}
+		Battleship battleship = ownShips[ownShipsInUse];
+		if (battleship == null) {
+			battleship = new Battleship(size);
+			ownShips[ownShipsInUse] = battleship;
+		}
+		ownShipsInUse++;
+		battleship.recycle(size, remainingHealth, shape, orientation);
+		return battleship;
+	}
+	
+	/**
+	* Registers a battleship with the fleet and marks the squares it covers, without any validation.
+	* Subclasses with their own square storage override this to mark their squares.
+	*
+	* @param battleship   The battleship to place.
+	* @param row          The starting row position for the battleship.
+	* @param col          The starting column position for the battleship.
+	* @param isHorizontal A boolean indicating whether the battleship is to be placed horizontally.
+	*/
+	void occupy(Battleship battleship, int row, int col, boolean isHorizontal) {
+		int shipSize = battleship.getSize();
+		short id = (short) registerShip(battleship, (row * columns + col) * 2 + (isHorizontal ? 1 : 0));
 		
 	    // Loop through each square to place the battleship based on orientation.
 		for(int i = 0; i < shipSize; i++) {
 			
 			// Place the battleship horizontally
+			int cell;
 			if(isHorizontal) {
-				gameBoard[row][col+i].placeShip(battleship);
+				cell = row * columns + col + i;
 			}else { // Place the battleship vertically
-				gameBoard[row+i][col].placeShip(battleship);
+				cell = (row + i) * columns + col;
 			}
+			shipIds[cell] = id;
+			shipPlane[cell >>> 6] |= 1L << cell;
+			indexSquare(cell);
+		}
+	}
+
+	/**
+	* Registers a shaped battleship with the fleet and marks the squares it covers, without any validation.
+	* Subclasses with their own square storage override this to mark their squares.
+	*
+	* @param battleship The battleship to place.
+	* @param row        The row of the first square of the battleship.
+	* @param col        The column of the first square of the battleship.
+	* @param rowOffsets The row offset of each square from the first one.
+	* @param colOffsets The column offset of each square from the first one.
+	*/
+	void occupy(Battleship battleship, int row, int col, int[] rowOffsets, int[] colOffsets) {
+		short id = (short) registerShip(battleship, (row * columns + col) * 2);
+		for (int i = 0; i < rowOffsets.length; i++) {
+			int cell = (row + rowOffsets[i]) * columns + col + colOffsets[i];
+			shipIds[cell] = id;
+			shipPlane[cell >>> 6] |= 1L << cell;
+			indexSquare(cell);
+		}
+	}
+
+	/**
+	* Gets the placement index of a ship shape, up to date with the ships on the board, building it on first use.
+	*
+	* @param shape The shape of the ships to place.
+	* @return The index, kept by the board.
+	*/
+	private PlacementIndex placementIndex(ShipShape shape) {
+		for (PlacementIndex index : placementIndexes) {
+			if (index.places(shape)) {
+				index.catchUp(occupiedSquares, occupiedCount);
+				return index;
+			}
+		}
+		// Replay the squares occupied since the reset in order, so the index ends up exactly as if it had been kept
+		// since the reset, and a seeded placement does not depend on which shapes the board placed in earlier games.
+		PlacementIndex index = new PlacementIndex(rows, columns, shape);
+		index.catchUp(occupiedSquares, occupiedCount);
+		placementIndexes = Arrays.copyOf(placementIndexes, placementIndexes.length + 1);
+		placementIndexes[placementIndexes.length - 1] = index;
+		return index;
+	}
+	
+	/**
+	* Records a newly occupied square, for the placement indexes to catch up with when they are next sampled.
+	*
+	* @param cell The row-major index of the square.
+	*/
+	private void indexSquare(int cell) {
+		if (occupiedCount == occupiedSquares.length) {
+			occupiedSquares = Arrays.copyOf(occupiedSquares, Math.max(16, occupiedCount * 2));
+		}
+		occupiedSquares[occupiedCount++] = cell;
+	}
+
+	/**
+	* Adds a battleship to the fleet with its anchor, growing the anchor array when it is full.
+	*
+	* @param battleship The battleship to register.
+	* @param anchor     The anchor of the battleship (starting square * 2, plus 1 if horizontal).
+	* @return The id assigned to the battleship.
+	*/
+	private int registerShip(Battleship battleship, int anchor) {
+		if (fleetSize == MAX_SHIPS) {
+			throw new IllegalStateException("A board cannot hold more than " + MAX_SHIPS + " ships");
+		}
+		if (fleetSize == shipAnchors.length) {
+			shipAnchors = Arrays.copyOf(shipAnchors, shipAnchors.length * 2);
+		}
+		shipAnchors[fleetSize] = anchor;
+		return addToFleet(battleship);
+	}
+	
+	/**
+	* Adds a battleship to the fleet, growing the fleet array when it is full,
+	* and counts it towards the remaining ships unless it is already sunk.
+	*
+	* @param battleship The battleship to add.
+	* @return The id assigned to the battleship.
+	*/
+	int addToFleet(Battleship battleship) {
+		if (fleetSize == fleet.length) {
+			fleet = Arrays.copyOf(fleet, fleet.length * 2);
+		}
+		fleet[fleetSize++] = battleship;
+
+		if (!battleship.isSunk()) {
+			int shipSize = battleship.getSize();
+			if (shipSize >= remainingShipsBySize.length) {
+				remainingShipsBySize = Arrays.copyOf(remainingShipsBySize, shipSize + 1);
+			}
+			remainingShipsBySize[shipSize]++;
+			remainingShips++;
+		}
+		return fleetSize;
+	}
+	
+	/**
+	* Damages a battleship which has just been hit. Boards shared between threads override this to damage it atomically.
+	*
+	* @param battleship The battleship on the square which was hit.
+	* @return True if this hit sank the battleship.
+	*/
+	boolean applyHit(Battleship battleship) {
+		battleship.takeHit();
+		return battleship.isSunk();
+	}
+	
+	/**
+	* Counts a battleship which has just been sunk out of the remaining ships and notifies the sink listener.
+	*
+	* @param shipId       The id of the sunk battleship.
+	* @param row          The starting row position of the battleship.
+	* @param col          The starting column position of the battleship.
+	* @param shipSize     The size of the battleship.
+	* @param isHorizontal A boolean indicating whether the battleship is horizontal.
+	*/
+	void countSunkShip(int shipId, int row, int col, int shipSize, boolean isHorizontal) {
+		remainingShips--;
+		remainingShipsBySize[shipSize]--;
+		if (sinkListener != null) {
+			sinkListener.shipSunk(shipId, row, col, shipSize, isHorizontal);
+		}
+	}
+	
+	/**
+	* Gets the number of battleships placed on the board, for codecs in this package.
+	*
+	* @return The size of the fleet.
+	*/
+	int getFleetSize() {
+		return fleetSize;
+	}
+	
+	/**
+	* Gets a battleship of the fleet, for codecs in this package.
+	*
+	* @param index The fleet index (ship id minus one).
+	* @return The battleship.
+	*/
+	Battleship getShip(int index) {
+		return fleet[index];
+	}
+	
+	/**
+	* Gets the anchor of a battleship of the fleet, for codecs in this package.
+	*
+	* @param index The fleet index (ship id minus one).
+	* @return The starting square * 2, plus 1 if the battleship is horizontal.
+	*/
+	int getShipAnchor(int index) {
+		return shipAnchors[index];
+	}
+	
+	/**
+	* Puts a restored battleship back on the board at its anchor, for codecs in this package.
+	* The placement is not validated or logged.
+	*
+	* @param battleship   The restored battleship.
+	* @param row          The starting row position of the battleship.
+	* @param col          The starting column position of the battleship.
+	* @param isHorizontal A boolean indicating whether the battleship is horizontal.
+	*/
+	void restoreShip(Battleship battleship, int row, int col, boolean isHorizontal) {
+		occupy(battleship, row, col, isHorizontal);
+	}
+
+	/**
+	* Checks whether the board keeps its squares in the dense bit-planes, which renderers and codecs read directly.
+	*
+	* @return True for dense boards, false for subclasses with their own square storage.
+	*/
+	boolean isDense() {
+		return true;
+	}
+
+	/**
+	* Gets the largest number of battleships the board can hold, which caps the fleets scaled to it.
+	* A dense board stores ship ids as unsigned shorts, so it holds MAX_SHIPS.
+	*
+	* @return The largest fleet size.
+	*/
+	public int getMaxShips() {
+		return MAX_SHIPS;
+	}
+	
+	/**
+	* Gets the live ship bit-plane, one bit per square in row-major order, for renderers and codecs in this package.
+	* The array is not copied and must not be modified.
+	*
+	* @return The ship bit-plane.
+	*/
+	long[] getShipPlane() {
+		return shipPlane;
+	}
+	
+	/**
+	* Gets the live shot bit-plane, one bit per square in row-major order, for renderers and codecs in this package.
+	* The array is not copied and must only be modified when restoring a snapshot.
+	*
+	* @return The shot bit-plane.
+	*/
+	long[] getShotPlane() {
+		return shotPlane;
+	}
+	
+	/**
+	* Gets the board's spare bit-plane, cleared, for codecs in this package which build a plane to check a saved one
+	* without touching the board. It is allocated once and reused, so it only holds what the caller put in since.
+	*
+	* @return The cleared spare plane, as long as the other planes.
+	*/
+	long[] getScratchPlane() {
+		if (scratchPlane == null) {
+			scratchPlane = new long[shipPlane.length];
+		} else {
+			Arrays.fill(scratchPlane, 0L);
+		}
+		return scratchPlane;
+	}
+	
+	/**
+	* Gets the row of the square most recently shot at, for views which follow the action on boards too large to show whole.
+	*
+	* @return The row index, or -1 if no square was shot since the last reset or the board does not follow its shots.
+	*/
+	public int getLastShotRow() {
+		return lastShotCell < 0 ? -1 : lastShotCell / columns;
+	}
+	
+	/**
+	* Gets the column of the square most recently shot at, for views which follow the action on boards too large to show whole.
+	*
+	* @return The column index, or -1 if no square was shot since the last reset or the board does not follow its shots.
+	*/
+	public int getLastShotColumn() {
+		return lastShotCell < 0 ? -1 : lastShotCell % columns;
+	}
+	
+	/**
+	* Converts a row and column position into a row-major square index, validating the bounds.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	* @return The row-major index of the square.
+	*/
+	private int cellIndex(int row, int col) {
+		checkBounds(row, col);
+		return row * columns + col;
+	}
+
+	/**
+	* Validates that the specified position lies on the game board.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	*/
+	void checkBounds(int row, int col) {
+		if (row < 0 || row >= rows || col < 0 || col >= columns) {
+			throw new IndexOutOfBoundsException("Square (" + row + ", " + col + ") is outside the " + rows + "x" + columns + " board");
 		}
 	}
 	
@@ -274,17 +1132,28 @@ public class Board {
 	* @return The string representation of the game board.
 	*/
 	public String toString() {
-        String boardString = "";
+        long start = Metrics.startSampledTimer();
+        StringBuilder boardString = new StringBuilder(rows * (columns * 3 + 1));
 
         for (int i = 0; i < this.rows; i++) {
             for (int j = 0; j < this.columns; j++) {
-                boardString += gameBoard[i][j].toString();
+            	int cell = i * columns + j;
+            	long bit = 1L << cell;
+            	if ((shotPlane[cell >>> 6] & bit) == 0) {
+            		boardString.append(Square.UNSHOT);
+            	} else if ((shipPlane[cell >>> 6] & bit) != 0) {
+            		boardString.append(Square.HIT);
+            	} else {
+            		boardString.append(Square.MISS);
+            	}
             }
             // Move to the next row.
-            boardString += "\n"; 
+            boardString.append('\n');
         }
 
-        return boardString;
+        String rendered = boardString.toString();
+        Metrics.recordRender(start, rendered.length());
+        return rendered;
     }
 
 }
@@ -0,0 +1,184 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : BoardPool
+ * @createDate      : 18 Oct 2026
+ * @description     : Bounded pool of boards for servers which start and end matches constantly.<br>
+ *                    Boards are kept on one shelf per board size and fleet spec, and a board taken from a shelf is reset<br>
+ *                    when it comes back, keeping its bit-planes, fleet registry and battleships, so a match<br>
+ *                    on a pooled board allocates nothing once the pool is warm. Each shelf keeps at most a fixed number of<br>
+ *                    idle boards, and boards returned to a full shelf are left to the garbage collector.<br>
+ *                    Fleet specs are compared by value, so equal specs parsed or built separately share a shelf.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+public class BoardPool {
+
+	// The largest number of idle boards kept on each shelf.
+	private final int maxIdleBoards;
+
+	// The shelf of each board size and fleet spec acquired so far.
+	private Shelf[] shelves = new Shelf[0];
+
+	// The shelf each board out of the pool goes back to.
+	private final IdentityHashMap<Board, Shelf> leased = new IdentityHashMap<>();
+
+	// The number of boards the pool created.
+	private long createdBoards;
+
+	// The number of boards the pool handed out again.
+	private long reusedBoards;
+
+	/**
+	* Constructs an empty pool.
+	*
+	* @param maxIdleBoards The largest number of idle boards kept for each board size and fleet spec.
+	*/
+	public BoardPool(int maxIdleBoards) {
+		if (maxIdleBoards < 0) {
+			throw new IllegalArgumentException("Invalid number of idle boards: " + maxIdleBoards);
+		}
+		this.maxIdleBoards = maxIdleBoards;
+	}
+
+	/**
+	* Takes a board from the pool, or creates one if there is no idle board of the size and fleet,
+	* and randomly places the fleet on it.
+	*
+	* @param rows      The number of rows on the board.
+	* @param columns   The number of columns on the board.
+	* @param fleetSpec The fleet to place.
+	* @return A board holding the fleet, to be given back with release.
+	* @throws IllegalArgumentException If the fleet does not fit a board of the size.
+	*/
+	public synchronized Board acquire(int rows, int columns, FleetSpec fleetSpec) {
+		Shelf shelf = shelfFor(rows, columns, fleetSpec);
+		Board board;
+		if (shelf.idleCount > 0) {
+			board = shelf.idle[--shelf.idleCount];
+			shelf.idle[shelf.idleCount] = null;
+			reusedBoards++;
+		} else {
+			board = new Board(rows, columns);
+			createdBoards++;
+		}
+		if (!board.placeFleet(fleetSpec)) {
+			board.reset();
+			throw new IllegalArgumentException("The fleet does not fit a " + rows + "x" + columns + " board");
+		}
+		leased.put(board, shelf);
+		return board;
+	}
+
+	/**
+	* Gives a board back to the pool. The board is reset and its game log, sink listener and random number generator
+	* are cleared; neither it, its battleships nor its squares may be used afterwards.
+	*
+	* @param board A board taken from this pool with acquire.
+	* @throws IllegalArgumentException If the board is not out of this pool.
+	*/
+	public synchronized void release(Board board) {
+		Shelf shelf = leased.remove(board);
+		if (shelf == null) {
+			throw new IllegalArgumentException("The board is not out of this pool");
+		}
+		board.reset();
+		board.setGameLog(null);
+		board.setSinkListener(null);
+		board.setRandom(null);
+		if (shelf.idleCount < maxIdleBoards) {
+			shelf.idle[shelf.idleCount++] = board;
+		}
+	}
+
+	/**
+	* Gets the number of idle boards in the pool.
+	*
+	* @return The number of idle boards over every shelf.
+	*/
+	public synchronized int getIdleCount() {
+		int idle = 0;
+		for (Shelf shelf : shelves) {
+			idle += shelf.idleCount;
+		}
+		return idle;
+	}
+
+	/**
+	* Gets the number of boards out of the pool.
+	*
+	* @return The number of boards acquired and not released.
+	*/
+	public synchronized int getLeasedCount() {
+		return leased.size();
+	}
+
+	/**
+	* Gets the number of boards the pool created because no idle board was available.
+	*
+	* @return The number of created boards.
+	*/
+	public synchronized long getCreatedCount() {
+		return createdBoards;
+	}
+
+	/**
+	* Gets the number of boards the pool handed out again after they were released.
+	*
+	* @return The number of reused boards.
+	*/
+	public synchronized long getReusedCount() {
+		return reusedBoards;
+	}
+
+	/**
+	* Finds the shelf of a board size and fleet spec, adding one on first use.
+	*/
+	private Shelf shelfFor(int rows, int columns, FleetSpec fleetSpec) {
+		for (Shelf shelf : shelves) {
+			if (shelf.rows == rows && shelf.columns == columns && shelf.fleetSpec.equals(fleetSpec)) {
+				return shelf;
+			}
+		}
+		Shelf shelf = new Shelf(rows, columns, fleetSpec, maxIdleBoards);
+		shelves = Arrays.copyOf(shelves, shelves.length + 1);
+		shelves[shelves.length - 1] = shelf;
+		return shelf;
+	}
+
+	/**
+	* The idle boards of one board size and fleet spec.
+	*/
+	private static final class Shelf {
+
+		// The number of rows on the boards.
+		private final int rows;
+
+		// The number of columns on the boards.
+		private final int columns;
+
+		// The fleet placed on the boards.
+		private final FleetSpec fleetSpec;
+
+		// The idle boards, a stack so that the most recently used board, likely still in cache, is taken first.
+		private final Board[] idle;
+
+		// The number of idle boards.
+		private int idleCount;
+
+		/**
+		* Constructs an empty shelf.
+		*/
+		private Shelf(int rows, int columns, FleetSpec fleetSpec, int maxIdleBoards) {
+			this.rows = rows;
+			this.columns = columns;
+			this.fleetSpec = fleetSpec;
+			this.idle = new Board[maxIdleBoards];
+		}
+	}
+
+}
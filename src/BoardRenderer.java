@@ -0,0 +1,393 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : BoardRenderer
+ * @createDate      : 18 Oct 2026
+ * @description     : Renders a board into a reusable character frame, in the same format as Board.toString.<br>
+ *                    The frame keeps the last rendered shot and hit bit-planes, so each render only redraws the<br>
+ *                    squares which changed. The diff mode writes only those squares, positioned with ANSI cursor moves.<br>
+ *                    Boards of more than MAX_FRAME_SQUARES squares, and boards without dense bit-planes, are shown through a<br>
+ *                    VIEWPORT_ROWS x VIEWPORT_COLUMNS viewport instead, labelled with its position. The viewport stays put while<br>
+ *                    the shots land inside it and is centred again on the most recent shot when one lands outside, so each<br>
+ *                    render costs the viewport's squares whatever the size of the board.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class BoardRenderer {
+
+	// ANSI sequence clearing the terminal and moving the cursor to the top left corner.
+	private static final String CLEAR_SCREEN = "\u001b[2J\u001b[H";
+
+	// The number of characters used by one square, matching the Square string representations.
+	private static final int SQUARE_WIDTH = Square.UNSHOT.length();
+
+	// The largest number of squares of a board rendered whole.
+	public static final int MAX_FRAME_SQUARES = 100 * 100;
+
+	// The number of rows shown by the viewport of a larger board.
+	public static final int VIEWPORT_ROWS = 20;
+
+	// The number of columns shown by the viewport of a larger board.
+	public static final int VIEWPORT_COLUMNS = 20;
+
+	// The board the frame was last rendered from.
+	private Board board;
+
+	// The number of rows in the frame.
+	private int rows;
+
+	// The number of columns in the frame.
+	private int columns;
+
+	// The rendered board, one line of squares per row followed by a new line.
+	private char[] frame = new char[0];
+
+	// The shot bit-plane as of the last render.
+	private long[] renderedShots = new long[0];
+
+	// The hit (shot and ship) bit-plane as of the last render.
+	private long[] renderedHits = new long[0];
+
+	// The ANSI output of the last diff render.
+	private char[] changes = new char[256];
+
+	// The number of characters used in the changes buffer.
+	private int changesLength;
+
+	// The board the viewport was last placed on.
+	private Board viewportBoard;
+
+	// The first row shown by the viewport.
+	private int viewportTop;
+
+	// The first column shown by the viewport.
+	private int viewportLeft;
+
+	// The text of the last viewport render.
+	private final StringBuilder viewport = new StringBuilder();
+
+	/**
+	* Renders the whole board to a writer. Only the squares which changed since the last render are redrawn into the frame.
+	*
+	* @param board The board to render.
+	* @param out   The writer to write the frame to.
+	* @throws IOException If the writer fails.
+	*/
+	public void render(Board board, Writer out) throws IOException {
+		long start = Metrics.startSampledTimer();
+		if (needsViewport(board)) {
+			renderViewport(board);
+			out.append(viewport);
+			Metrics.recordRender(start, viewport.length());
+			return;
+		}
+		update(board, false);
+		out.write(frame, 0, frame.length);
+		Metrics.recordRender(start, frame.length);
+	}
+
+	/**
+	* Renders the whole board into a string builder. Only the squares which changed since the last render are redrawn into the frame.
+	*
+	* @param board The board to render.
+	* @param out   The string builder to append the frame to.
+	*/
+	public void render(Board board, StringBuilder out) {
+		long start = Metrics.startSampledTimer();
+		if (needsViewport(board)) {
+			renderViewport(board);
+			out.append(viewport);
+			Metrics.recordRender(start, viewport.length());
+			return;
+		}
+		update(board, false);
+		out.append(frame, 0, frame.length);
+		Metrics.recordRender(start, frame.length);
+	}
+
+	/**
+	* Writes only the squares which changed since the last render, each preceded by an ANSI cursor move,
+	* and leaves the cursor on the line below the board. The first render of a board clears the screen and writes the whole frame.
+	* A board shown through a viewport is redrawn whole on a cleared screen every time.
+	*
+	* @param board The board to render.
+	* @param out   The writer to write the changes to.
+	* @return The number of squares written.
+	* @throws IOException If the writer fails.
+	*/
+	public int renderChanges(Board board, Writer out) throws IOException {
+		long start = Metrics.startSampledTimer();
+		changesLength = 0;
+
+		if (needsViewport(board)) {
+			// The screen no longer shows the frame, so the next diff render of a framed board starts over.
+			this.board = null;
+			int squares = renderViewport(board);
+			out.write(CLEAR_SCREEN);
+			out.append(viewport);
+			Metrics.recordRender(start, CLEAR_SCREEN.length() + viewport.length());
+			return squares;
+		}
+
+		if (board != this.board || board.getRows() != rows || board.getColumns() != columns) {
+			update(board, false);
+			out.write(CLEAR_SCREEN);
+			out.write(frame, 0, frame.length);
+			Metrics.recordRender(start, CLEAR_SCREEN.length() + frame.length);
+			return rows * columns;
+		}
+
+		int changed = update(board, true);
+		if (changed > 0) {
+			appendCursorMove(rows, 0);
+			out.write(changes, 0, changesLength);
+		}
+		Metrics.recordRender(start, changesLength);
+		return changed;
+	}
+
+	/**
+	* Checks whether a board is shown through a viewport rather than whole.
+	*
+	* @param board The board to render.
+	* @return True if the board is too large for a frame or has no dense bit-planes.
+	*/
+	private static boolean needsViewport(Board board) {
+		return (long) board.getRows() * board.getColumns() > MAX_FRAME_SQUARES || !board.isDense();
+	}
+
+	/**
+	* Renders the viewport of a board into the viewport buffer: a line giving its position on the board, then one line
+	* per row, labelled with the row index. The viewport is centred on the most recent shot if it lies outside,
+	* or on the middle of the board when it is first shown.
+	*
+	* @param board The board to render.
+	* @return The number of squares rendered.
+	*/
+	private int renderViewport(Board board) {
+		int rows = Math.min(VIEWPORT_ROWS, board.getRows());
+		int columns = Math.min(VIEWPORT_COLUMNS, board.getColumns());
+		int shotRow = board.getLastShotRow();
+		int shotColumn = board.getLastShotColumn();
+		if (board != viewportBoard) {
+			viewportBoard = board;
+			viewportTop = board.getRows() / 2 - rows / 2;
+			viewportLeft = board.getColumns() / 2 - columns / 2;
+		}
+		if (shotRow >= 0 && (shotRow < viewportTop || shotRow >= viewportTop + rows
+				|| shotColumn < viewportLeft || shotColumn >= viewportLeft + columns)) {
+			viewportTop = shotRow - rows / 2;
+			viewportLeft = shotColumn - columns / 2;
+		}
+		viewportTop = Math.max(0, Math.min(viewportTop, board.getRows() - rows));
+		viewportLeft = Math.max(0, Math.min(viewportLeft, board.getColumns() - columns));
+
+		viewport.setLength(0);
+		viewport.append("Rows ").append(viewportTop).append('-').append(viewportTop + rows - 1)
+				.append(", columns ").append(viewportLeft).append('-').append(viewportLeft + columns - 1)
+				.append(" of ").append(board.getRows()).append('x').append(board.getColumns()).append('\n');
+		int labelWidth = digits(viewportTop + rows - 1);
+		for (int row = viewportTop; row < viewportTop + rows; row++) {
+			for (int pad = digits(row); pad < labelWidth; pad++) {
+				viewport.append(' ');
+			}
+			viewport.append(row).append(' ');
+			for (int col = viewportLeft; col < viewportLeft + columns; col++) {
+				if (!board.hasShotAt(row, col)) {
+					viewport.append(Square.UNSHOT);
+				} else if (board.hasShipAt(row, col)) {
+					viewport.append(Square.HIT);
+				} else {
+					viewport.append(Square.MISS);
+				}
+			}
+			viewport.append('\n');
+		}
+		return rows * columns;
+	}
+
+	/**
+	* Counts the decimal digits of a number.
+	*
+	* @param number The non-negative number.
+	* @return The number of digits.
+	*/
+	private static int digits(int number) {
+		int digits = 1;
+		for (int rest = number / 10; rest > 0; rest /= 10) {
+			digits++;
+		}
+		return digits;
+	}
+
+	/**
+	* Brings the frame up to date with the board, redrawing every square if the board or its dimensions changed
+	* and otherwise only the squares whose shot or hit state changed.
+	*
+	* @param board       The board to render.
+	* @param recordMoves Whether to append each redrawn square to the changes buffer.
+	* @return The number of squares redrawn.
+	*/
+	private int update(Board board, boolean recordMoves) {
+		long[] shots = board.getShotPlane();
+		long[] ships = board.getShipPlane();
+
+		if (board != this.board || board.getRows() != rows || board.getColumns() != columns) {
+			reallocate(board);
+			for (int cell = 0; cell < rows * columns; cell++) {
+				long bit = 1L << cell;
+				drawSquare(cell, shots[cell >>> 6] & bit, ships[cell >>> 6] & bit);
+			}
+			for (int word = 0; word < shots.length; word++) {
+				renderedShots[word] = shots[word];
+				renderedHits[word] = shots[word] & ships[word];
+			}
+			return rows * columns;
+		}
+
+		int changed = 0;
+		for (int word = 0; word < shots.length; word++) {
+			long hits = shots[word] & ships[word];
+			long diff = (shots[word] ^ renderedShots[word]) | (hits ^ renderedHits[word]);
+			while (diff != 0) {
+				int bitIndex = Long.numberOfTrailingZeros(diff);
+				int cell = (word << 6) + bitIndex;
+				drawSquare(cell, shots[word] & (1L << bitIndex), hits & (1L << bitIndex));
+				if (recordMoves) {
+					appendCursorMove(cell / columns, (cell % columns) * SQUARE_WIDTH);
+					appendChars(frame, offsetOf(cell), SQUARE_WIDTH);
+				}
+				changed++;
+				diff &= diff - 1;
+			}
+			renderedShots[word] = shots[word];
+			renderedHits[word] = hits;
+		}
+		return changed;
+	}
+
+	/**
+	* Sizes the frame and plane snapshots for a newly rendered board and writes the line breaks.
+	*
+	* @param board The board to render.
+	*/
+	private void reallocate(Board board) {
+		this.board = board;
+		this.rows = board.getRows();
+		this.columns = board.getColumns();
+
+		int lineLength = columns * SQUARE_WIDTH + 1;
+		if (frame.length != rows * lineLength) {
+			frame = new char[rows * lineLength];
+		}
+		for (int row = 0; row < rows; row++) {
+			frame[row * lineLength + lineLength - 1] = '\n';
+		}
+
+		int words = board.getShotPlane().length;
+		if (renderedShots.length != words) {
+			renderedShots = new long[words];
+			renderedHits = new long[words];
+		}
+	}
+
+	/**
+	* Draws one square into the frame.
+	*
+	* @param cell The row-major index of the square.
+	* @param shot Non-zero if the square has been shot at.
+	* @param ship Non-zero if the square contains a ship.
+	*/
+	private void drawSquare(int cell, long shot, long ship) {
+		String square;
+		if (shot == 0) {
+			square = Square.UNSHOT;
+		} else if (ship != 0) {
+			square = Square.HIT;
+		} else {
+			square = Square.MISS;
+		}
+		square.getChars(0, SQUARE_WIDTH, frame, offsetOf(cell));
+	}
+
+	/**
+	* Gets the position of a square in the frame.
+	*
+	* @param cell The row-major index of the square.
+	* @return The offset of the first character of the square.
+	*/
+	private int offsetOf(int cell) {
+		return (cell / columns) * (columns * SQUARE_WIDTH + 1) + (cell % columns) * SQUARE_WIDTH;
+	}
+
+	/**
+	* Appends an ANSI cursor move to the changes buffer.
+	*
+	* @param row    The zero-based terminal row.
+	* @param column The zero-based terminal column.
+	*/
+	private void appendCursorMove(int row, int column) {
+		appendChar('\u001b');
+		appendChar('[');
+		appendNumber(row + 1);
+		appendChar(';');
+		appendNumber(column + 1);
+		appendChar('H');
+	}
+
+	/**
+	* Appends the decimal digits of a positive number to the changes buffer without allocating.
+	*
+	* @param number The number to append.
+	*/
+	private void appendNumber(int number) {
+		int digits = digits(number);
+		ensureCapacity(digits);
+		for (int i = changesLength + digits - 1; i >= changesLength; i--) {
+			changes[i] = (char) ('0' + number % 10);
+			number /= 10;
+		}
+		changesLength += digits;
+	}
+
+	/**
+	* Appends one character to the changes buffer.
+	*
+	* @param c The character to append.
+	*/
+	private void appendChar(char c) {
+		ensureCapacity(1);
+		changes[changesLength++] = c;
+	}
+
+	/**
+	* Appends a range of characters to the changes buffer.
+	*
+	* @param source The characters to append.
+	* @param offset The position of the first character.
+	* @param length The number of characters.
+	*/
+	private void appendChars(char[] source, int offset, int length) {
+		ensureCapacity(length);
+		System.arraycopy(source, offset, changes, changesLength, length);
+		changesLength += length;
+	}
+
+	/**
+	* Grows the changes buffer so that it can hold more characters.
+	*
+	* @param extra The number of characters about to be appended.
+	*/
+	private void ensureCapacity(int extra) {
+		if (changesLength + extra > changes.length) {
+			char[] grown = new char[Math.max(changes.length * 2, changesLength + extra)];
+			System.arraycopy(changes, 0, grown, 0, changesLength);
+			changes = grown;
+		}
+	}
+
+}
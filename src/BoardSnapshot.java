@@ -0,0 +1,299 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : BoardSnapshot
+ * @createDate      : 18 Oct 2026
+ * @description     : Versioned binary snapshot of a game in progress, for checkpointing and migrating games.<br>
+ *                    Layout (big-endian): header [magic, version, rows, columns, remainingShips, firstScore, secondScore, fleetSize],<br>
+ *                    the ship and shot bit-planes as longs, then one [anchor int, size short, remainingHealth short] record per ship.<br>
+ *                    A 1000x1000 board takes 250 KB for the bit-planes plus 8 bytes per ship.<br>
+ *                    Saving and loading read and write the buffer directly, without intermediate objects.<br>
+ *                    A snapshot is checked against its own planes and header before the board is touched, so loading a corrupt<br>
+ *                    snapshot leaves the game as it was. Only dense boards, which keep their squares in bit-planes, have snapshots:<br>
+ *                    sparse boards are rejected with an IllegalArgumentException before anything is read or written. A<br>
+ *                    ConcurrentBoard holds new shots back while it is saved, so its snapshot is taken at one instant between shots.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class BoardSnapshot {
+
+	// Identifies a board snapshot ("BSNP").
+	private static final int MAGIC = 0x42534E50;
+
+	// The version of the snapshot layout.
+	private static final int VERSION = 1;
+
+	// The size of the header in bytes.
+	private static final int HEADER_BYTES = 32;
+
+	// The size of one ship record in bytes: anchor int, size short and remainingHealth short, packed into one long.
+	private static final int SHIP_BYTES = 8;
+
+	/**
+	* Calculates the size of the snapshot of a board.
+	*
+	* @param board The board to snapshot.
+	* @return The size of the snapshot in bytes.
+	* @throws IllegalArgumentException If the board is not dense.
+	*/
+	public static int sizeOf(Board board) {
+		checkDense(board);
+		return HEADER_BYTES + board.getShotPlane().length * 2 * Long.BYTES + board.getFleetSize() * SHIP_BYTES;
+	}
+
+	/**
+	* Writes a snapshot of a game at the position of a buffer, advancing the position past it.
+	*
+	* @param board  The board of the game.
+	* @param first  The first player.
+	* @param second The second player.
+	* @param out    The buffer to write to, with at least sizeOf(board) bytes remaining.
+	* @throws IllegalArgumentException If the board is not dense or holds shaped battleships.
+	*/
+	public static void save(Board board, Player first, Player second, ByteBuffer out) {
+		checkDense(board);
+		if (board instanceof ConcurrentBoard) {
+			ConcurrentBoard concurrentBoard = (ConcurrentBoard) board;
+			concurrentBoard.pauseShots();
+			try {
+				write(board, first, second, out);
+			} finally {
+				concurrentBoard.resumeShots();
+			}
+		} else {
+			write(board, first, second, out);
+		}
+	}
+
+	/**
+	* Writes a snapshot of a game which no other thread is changing.
+	*/
+	private static void write(Board board, Player first, Player second, ByteBuffer out) {
+		int fleetSize = board.getFleetSize();
+		for (int i = 0; i < fleetSize; i++) {
+			if (!board.getShip(i).isLine()) {
+				throw new IllegalArgumentException("Version " + VERSION + " snapshots only hold straight ships");
+			}
+		}
+		out.putInt(MAGIC);
+		out.putInt(VERSION);
+		out.putInt(board.getRows());
+		out.putInt(board.getColumns());
+		out.putInt(board.getRemainingShips());
+		out.putInt(first.getScore());
+		out.putInt(second.getScore());
+		out.putInt(fleetSize);
+
+		for (long word : board.getShipPlane()) {
+			out.putLong(word);
+		}
+		for (long word : board.getShotPlane()) {
+			out.putLong(word);
+		}
+
+		for (int i = 0; i < fleetSize; i++) {
+			Battleship battleship = board.getShip(i);
+			out.putLong((long) board.getShipAnchor(i) << 32 | battleship.getSize() << 16 | battleship.getRemainingHealth());
+		}
+	}
+
+	/**
+	* Writes a snapshot of a game at the current position of a file, advancing the position past it.
+	*
+	* @param board   The board of the game.
+	* @param first   The first player.
+	* @param second  The second player.
+	* @param channel The file to write to, open for reading and writing.
+	* @throws IOException              If the file cannot be written.
+	* @throws IllegalArgumentException If the board is not dense or holds shaped battleships.
+	*/
+	public static void save(Board board, Player first, Player second, FileChannel channel) throws IOException {
+		long position = channel.position();
+		int size = sizeOf(board);
+		save(board, first, second, channel.map(FileChannel.MapMode.READ_WRITE, position, size));
+		channel.position(position + size);
+	}
+
+	/**
+	* Gets the number of rows of the snapshot at the position of a buffer, without consuming it.
+	*
+	* @param in The buffer holding the snapshot.
+	* @return The number of rows.
+	*/
+	public static int getRows(ByteBuffer in) {
+		return in.getInt(in.position() + 8);
+	}
+
+	/**
+	* Gets the number of columns of the snapshot at the position of a buffer, without consuming it.
+	*
+	* @param in The buffer holding the snapshot.
+	* @return The number of columns.
+	*/
+	public static int getColumns(ByteBuffer in) {
+		return in.getInt(in.position() + 12);
+	}
+
+	/**
+	* Restores a game from the snapshot at the position of a buffer, advancing the position past it.
+	* The whole snapshot is checked before the board is touched, so a corrupt snapshot leaves the board and the players
+	* as they were. The board is then reset and must have the dimensions of the snapshot.
+	*
+	* @param in     The buffer holding the snapshot.
+	* @param board  The board to restore into.
+	* @param first  The first player of the board.
+	* @param second The second player of the board.
+	* @throws IllegalArgumentException If the board is not dense, or the snapshot is not a version 1 snapshot, has other
+	*                                  dimensions, or is corrupt.
+	*/
+	public static void load(ByteBuffer in, Board board, Player first, Player second) {
+		checkDense(board);
+		int start = in.position();
+		if (in.remaining() < HEADER_BYTES || in.getInt(start) != MAGIC || in.getInt(start + 4) != VERSION) {
+			throw new IllegalArgumentException("Not a version " + VERSION + " board snapshot");
+		}
+		int rows = in.getInt(start + 8);
+		int columns = in.getInt(start + 12);
+		if (rows != board.getRows() || columns != board.getColumns()) {
+			throw new IllegalArgumentException("The snapshot is for a " + rows + "x" + columns + " board");
+		}
+		int remainingShips = in.getInt(start + 16);
+		int firstScore = in.getInt(start + 20);
+		int secondScore = in.getInt(start + 24);
+		int fleetSize = in.getInt(start + 28);
+		if (fleetSize < 0 || fleetSize > Board.MAX_SHIPS) {
+			throw new IllegalArgumentException("The snapshot holds " + fleetSize + " ships, more than a board can hold");
+		}
+
+		long[] shipPlane = board.getShipPlane();
+		long[] shotPlane = board.getShotPlane();
+		int shipPlanePosition = start + HEADER_BYTES;
+		int shotPlanePosition = shipPlanePosition + shipPlane.length * Long.BYTES;
+		int fleetPosition = shotPlanePosition + shotPlane.length * Long.BYTES;
+		if (in.limit() - fleetPosition < (long) fleetSize * SHIP_BYTES) {
+			throw new IllegalArgumentException("The snapshot is truncated");
+		}
+		validate(in, board.getScratchPlane(), shipPlanePosition, shotPlanePosition, fleetPosition, fleetSize, remainingShips, rows, columns);
+
+		board.reset();
+		for (int word = 0; word < shotPlane.length; word++) {
+			shotPlane[word] = in.getLong(shotPlanePosition + word * Long.BYTES);
+		}
+		for (int i = 0; i < fleetSize; i++) {
+			long record = in.getLong(fleetPosition + i * SHIP_BYTES);
+			int anchor = (int) (record >>> 32);
+			int size = (int) record >>> 16 & 0xFFFF;
+			int remainingHealth = (int) record & 0xFFFF;
+			int cell = anchor >>> 1;
+			board.restoreShip(board.newShip(size, remainingHealth, null, 0), cell / columns, cell % columns, (anchor & 1) != 0);
+		}
+		first.setScore(firstScore);
+		second.setScore(secondScore);
+		in.position(fleetPosition + fleetSize * SHIP_BYTES);
+	}
+
+	/**
+	* Checks the ship records of a snapshot against its planes and header without changing the game, rebuilding the ship
+	* plane in the board's spare plane: every ship must lie on the board without overlapping another, the ships must cover
+	* exactly the saved ship plane, each ship's remaining health must be its size less the shots on its squares, and the
+	* remaining ship count must be the ships still afloat.
+	* The shot plane must not mark squares beyond the board.
+	*
+	* @throws IllegalArgumentException If the snapshot is corrupt.
+	*/
+	private static void validate(ByteBuffer in, long[] covered, int shipPlanePosition, int shotPlanePosition, int fleetPosition,
+			int fleetSize, int remainingShips, int rows, int columns) {
+		int words = (shotPlanePosition - shipPlanePosition) / Long.BYTES;
+		int squares = rows * columns;
+		if (squares % 64 != 0) {
+			long beyond = -1L << squares;
+			if ((in.getLong(shotPlanePosition + (words - 1) * Long.BYTES) & beyond) != 0) {
+				throw new IllegalArgumentException("The shot plane of the snapshot marks squares beyond the board");
+			}
+		}
+
+		// The ship plane is rebuilt from the fleet records into the board's spare plane and checked against the saved one.
+		int afloat = 0;
+		for (int i = 0; i < fleetSize; i++) {
+			long record = in.getLong(fleetPosition + i * SHIP_BYTES);
+			int anchor = (int) (record >>> 32);
+			int size = (int) record >>> 16 & 0xFFFF;
+			int remainingHealth = (int) record & 0xFFFF;
+			int cell = anchor >>> 1;
+			boolean isHorizontal = (anchor & 1) != 0;
+			int row = cell / columns;
+			int col = cell % columns;
+			if (size < 1 || row >= rows || (isHorizontal ? col + size > columns : row + size > rows)) {
+				throw new IllegalArgumentException("Ship " + i + " of the snapshot does not fit on the board");
+			}
+			if (remainingHealth > size) {
+				throw new IllegalArgumentException("Ship " + i + " of the snapshot has more health than squares");
+			}
+
+			int hits = 0;
+			for (int j = 0; j < size; j++) {
+				int square = cell + (isHorizontal ? j : j * columns);
+				long bit = 1L << square;
+				if ((covered[square >>> 6] & bit) != 0) {
+					throw new IllegalArgumentException("Ship " + i + " of the snapshot overlaps another ship");
+				}
+				covered[square >>> 6] |= bit;
+				if ((in.getLong(shotPlanePosition + (square >>> 6) * Long.BYTES) & bit) != 0) {
+					hits++;
+				}
+			}
+			if (remainingHealth != size - hits) {
+				throw new IllegalArgumentException("Ship " + i + " of the snapshot has " + remainingHealth
+						+ " health left but " + hits + " of its " + size + " squares are shot");
+			}
+			if (remainingHealth > 0) {
+				afloat++;
+			}
+		}
+
+		for (int word = 0; word < words; word++) {
+			if (in.getLong(shipPlanePosition + word * Long.BYTES) != covered[word]) {
+				throw new IllegalArgumentException("The ships of the snapshot do not match its ship plane");
+			}
+		}
+		if (afloat != remainingShips) {
+			throw new IllegalArgumentException("The ships of the snapshot do not match its remaining ship count");
+		}
+	}
+
+	/**
+	* Restores a game from the snapshot at the current position of a file, advancing the position past it.
+	*
+	* @param channel The file to read from.
+	* @param board   The board to restore into, with the dimensions of the snapshot.
+	* @param first   The first player of the board.
+	* @param second  The second player of the board.
+	* @throws IOException              If the file cannot be read.
+	* @throws IllegalArgumentException If the board is not dense, or the snapshot is not a version 1 snapshot, has other
+	*                                  dimensions, or is corrupt.
+	*/
+	public static void load(FileChannel channel, Board board, Player first, Player second) throws IOException {
+		checkDense(board);
+		long position = channel.position();
+		ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, position, channel.size() - position);
+		load(in, board, first, second);
+		channel.position(position + in.position());
+	}
+
+	/**
+	* Checks that a board keeps its squares in the dense bit-planes and ship anchors a snapshot is made of.
+	*
+	* @throws IllegalArgumentException If the board is a sparse board.
+	*/
+	private static void checkDense(Board board) {
+		if (!board.isDense()) {
+			throw new IllegalArgumentException("Snapshots only hold dense boards, not a sparse " + board.getRows() + "x" + board.getColumns() + " board");
+		}
+	}
+
+}
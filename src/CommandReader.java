@@ -0,0 +1,344 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : CommandReader
+ * @createDate      : 18 Oct 2026
+ * @description     : Buffered reader of console or scripted turn commands, shared by every player reading the same input.<br>
+ *                    Bytes are read into one reusable buffer, and every complete line in it is parsed in one pass into a queue<br>
+ *                    of (row, column) commands, so scripted files with millions of moves are read in large blocks and parsed<br>
+ *                    without allocating. A line holds a row and a column separated by spaces, tabs or a comma.<br>
+ *                    Lines which cannot be parsed, and coordinates off the board, are reported to the caller instead of thrown.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class CommandReader implements Closeable {
+
+	// Command status: a shot at the square given by getRow and getColumn.
+	public static final int SHOT = 0;
+
+	// Command status: the line did not hold a row and a column.
+	public static final int MALFORMED = 1;
+
+	// Command status: the row or the column lies off the board.
+	public static final int OUT_OF_BOUNDS = 2;
+
+	// Command status: the input has ended.
+	public static final int END_OF_INPUT = 3;
+
+	// The default size of the input buffer, which is also the longest line that can be parsed.
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	// The number of commands the queue holds.
+	private static final int QUEUE_SIZE = 4096;
+
+	// Queued command standing for a malformed line.
+	private static final long MALFORMED_COMMAND = -1L;
+
+	// Coordinate standing for a number too large to be on any board.
+	private static final int TOO_LARGE = Integer.MAX_VALUE;
+
+	// The reader of standard input, created on first use.
+	private static CommandReader console;
+
+	// The stream the commands are read from.
+	private final InputStream in;
+
+	// The bytes read from the stream and not parsed yet.
+	private final byte[] buffer;
+
+	// The position of the first unparsed byte in the buffer.
+	private int position;
+
+	// The number of bytes in the buffer.
+	private int limit;
+
+	// Whether the stream has ended.
+	private boolean isEndOfStream;
+
+	// Whether the rest of an over-long line is being skipped.
+	private boolean isSkippingLine;
+
+	// The parsed commands, each packed as row << 32 | column, or MALFORMED_COMMAND.
+	private final long[] queue = new long[QUEUE_SIZE];
+
+	// The position of the next command in the queue.
+	private int head;
+
+	// The number of queued commands.
+	private int queued;
+
+	// The row of the last shot command.
+	private int row;
+
+	// The column of the last shot command.
+	private int column;
+
+	/**
+	* Constructs a CommandReader over a stream with the default buffer size.
+	*
+	* @param in The stream to read commands from.
+	*/
+	public CommandReader(InputStream in) {
+		this(in, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	* Constructs a CommandReader over a stream.
+	*
+	* @param in         The stream to read commands from.
+	* @param bufferSize The size of the input buffer; longer lines are malformed.
+	*/
+	public CommandReader(InputStream in, int bufferSize) {
+		this.in = in;
+		this.buffer = new byte[bufferSize];
+	}
+
+	/**
+	* Gets the reader of standard input, shared by everything reading the console so that no input is buffered twice.
+	*
+	* @return The reader of standard input.
+	*/
+	public static synchronized CommandReader console() {
+		if (console == null) {
+			console = new CommandReader(System.in);
+		}
+		return console;
+	}
+
+	/**
+	* Reads the next line as text, for input such as player names.
+	*
+	* @return The line without its line break, or null if the input has ended.
+	* @throws IOException           If the stream fails.
+	* @throws IllegalStateException If shot commands have already been read ahead of the line.
+	*/
+	public String nextLine() throws IOException {
+		if (queued > 0) {
+			throw new IllegalStateException("Text must be read before the shot commands queued after it");
+		}
+		while (true) {
+			for (int i = position; i < limit; i++) {
+				if (buffer[i] == '\n') {
+					String line = text(position, i);
+					position = i + 1;
+					return line;
+				}
+			}
+			if (isEndOfStream) {
+				if (position == limit) {
+					return null;
+				}
+				String line = text(position, limit);
+				position = limit;
+				return line;
+			}
+			if (!fill()) {
+				// The line does not fit the buffer: return what there is, the rest comes as the next line.
+				String line = text(position, limit);
+				position = limit;
+				return line;
+			}
+		}
+	}
+
+	/**
+	* Takes the next command from the queue, parsing more of the input if it is empty, and checks it against the board.
+	*
+	* @param rows    The number of rows on the board.
+	* @param columns The number of columns on the board.
+	* @return SHOT, with the square given by getRow and getColumn, or MALFORMED, OUT_OF_BOUNDS or END_OF_INPUT.
+	* @throws IOException If the stream fails.
+	*/
+	public int next(int rows, int columns) throws IOException {
+		while (queued == 0) {
+			parseLines();
+			if (queued > 0) {
+				break;
+			}
+			if (isEndOfStream) {
+				return END_OF_INPUT;
+			}
+			if (!fill()) {
+				// The buffer holds one unfinished line which fills it: drop it up to its line break, reporting it once.
+				position = limit;
+				if (!isSkippingLine) {
+					isSkippingLine = true;
+					return MALFORMED;
+				}
+			}
+		}
+
+		long command = queue[head];
+		head = (head + 1) & (QUEUE_SIZE - 1);
+		queued--;
+		if (command == MALFORMED_COMMAND) {
+			return MALFORMED;
+		}
+		row = (int) (command >>> 32);
+		column = (int) command;
+		return row < rows && column < columns ? SHOT : OUT_OF_BOUNDS;
+	}
+
+	/**
+	* Checks if a command has already been parsed, so that next returns it without reading the stream.
+	*
+	* @return True if next would not block.
+	*/
+	public boolean hasQueuedCommand() {
+		return queued > 0;
+	}
+
+	/**
+	* Gets the row of the last command.
+	*
+	* @return The row index.
+	*/
+	public int getRow() {
+		return row;
+	}
+
+	/**
+	* Gets the column of the last command.
+	*
+	* @return The column index.
+	*/
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	* Closes the stream.
+	*
+	* @throws IOException If the stream fails to close.
+	*/
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	* Parses every complete line in the buffer into the queue, until the queue is full.
+	* At the end of the stream, a last line without a line break is parsed too.
+	*/
+	private void parseLines() {
+		while (queued < QUEUE_SIZE && position < limit) {
+			int end = position;
+			while (end < limit && buffer[end] != '\n') {
+				end++;
+			}
+			if (end == limit && !isEndOfStream) {
+				return;
+			}
+
+			if (isSkippingLine) {
+				isSkippingLine = false;
+			} else if (!isBlank(position, end)) {
+				queue[(head + queued) & (QUEUE_SIZE - 1)] = parseLine(position, end);
+				queued++;
+			}
+			position = Math.min(end + 1, limit);
+		}
+	}
+
+	/**
+	* Parses a line holding a row and a column separated by spaces, tabs or a comma.
+	*
+	* @param start The position of the first byte of the line.
+	* @param end   The position of the line break, or the limit at the end of the stream.
+	* @return The command packed as row << 32 | column, or MALFORMED_COMMAND.
+	*/
+	private long parseLine(int start, int end) {
+		int i = skipSeparators(start, end, false);
+		int parsedRow = 0;
+		int digits = 0;
+		for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++, digits++) {
+			parsedRow = digits < 9 ? parsedRow * 10 + (buffer[i] - '0') : TOO_LARGE;
+		}
+		if (digits == 0) {
+			return MALFORMED_COMMAND;
+		}
+
+		int separator = i;
+		i = skipSeparators(i, end, true);
+		if (i == separator) {
+			return MALFORMED_COMMAND;
+		}
+		int parsedColumn = 0;
+		digits = 0;
+		for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++, digits++) {
+			parsedColumn = digits < 9 ? parsedColumn * 10 + (buffer[i] - '0') : TOO_LARGE;
+		}
+		if (digits == 0 || skipSeparators(i, end, false) != end) {
+			return MALFORMED_COMMAND;
+		}
+		return (long) parsedRow << 32 | parsedColumn;
+	}
+
+	/**
+	* Skips spaces, tabs and carriage returns, and a comma if allowed.
+	*
+	* @param i          The position to start at.
+	* @param end        The end of the line.
+	* @param allowComma Whether one comma may be skipped.
+	* @return The position of the first byte which was not skipped.
+	*/
+	private int skipSeparators(int i, int end, boolean allowComma) {
+		while (i < end) {
+			byte b = buffer[i];
+			if (b == ',' && allowComma) {
+				allowComma = false;
+			} else if (b != ' ' && b != '\t' && b != '\r') {
+				break;
+			}
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	* Checks if a line holds only spaces, tabs and carriage returns.
+	*/
+	private boolean isBlank(int start, int end) {
+		return skipSeparators(start, end, false) == end;
+	}
+
+	/**
+	* Decodes part of the buffer as text, without a trailing carriage return.
+	*/
+	private String text(int start, int end) {
+		if (end > start && buffer[end - 1] == '\r') {
+			end--;
+		}
+		return new String(buffer, start, end - start);
+	}
+
+	/**
+	* Moves the unparsed bytes to the start of the buffer and reads more after them, blocking until some arrive.
+	*
+	* @return False if the buffer was already full of unparsed bytes, true otherwise.
+	* @throws IOException If the stream fails.
+	*/
+	private boolean fill() throws IOException {
+		if (position > 0) {
+			System.arraycopy(buffer, position, buffer, 0, limit - position);
+			limit -= position;
+			position = 0;
+		}
+		if (limit == buffer.length) {
+			return false;
+		}
+		int read = in.read(buffer, limit, buffer.length - limit);
+		if (read < 0) {
+			isEndOfStream = true;
+		} else {
+			limit += read;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,297 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : ConcurrentBoard
+ * @createDate      : 18 Oct 2026
+ * @description     : A Board which many threads can fire at at once, for simultaneous-fire modes and spectators.<br>
+ *                    Each shot claims its square with an atomic OR on the shot plane word, so exactly one shooter wins a square,<br>
+ *                    ship health is decremented atomically, and sinks are counted in striped counters. There is no global lock.<br>
+ *                    Every mutation is bracketed by striped started and finished counters, so a spectator can copy the shots<br>
+ *                    optimistically and keep the copy if nothing started or was in flight meanwhile. Under constant fire, the<br>
+ *                    spectator falls back to holding new shots back for the length of one copy. Codecs which read the whole<br>
+ *                    board, such as BoardSnapshot.save, hold shots back the same way, so every Board accessor is supported.<br>
+ *                    Ships are placed, and the board reset, before it is shared between threads.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentBoard extends Board {
+
+	// Atomic access to the words of the bit-planes.
+	private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	// The number of optimistic copies a snapshot tries before holding shots back.
+	private static final int OPTIMISTIC_ATTEMPTS = 16;
+
+	// The shot bit-plane of the board.
+	private final long[] shotPlane;
+
+	// The ship bit-plane of the board, which does not change while shots are fired.
+	private final long[] shipPlane;
+
+	// The number of mutations started.
+	private final LongAdder started = new LongAdder();
+
+	// The number of mutations finished, or abandoned for a spectator.
+	private final LongAdder finished = new LongAdder();
+
+	// The number of ships sunk since the fleet was placed.
+	private final LongAdder sunkShips = new LongAdder();
+
+	// The number of ships of each size sunk since the fleet was placed, indexed by ship size.
+	private AtomicIntegerArray sunkShipsBySize = new AtomicIntegerArray(LargeBattleship.SIZE + 1);
+
+	// The number of spectators holding new shots back.
+	private final AtomicInteger pausingSpectators = new AtomicInteger();
+
+	// The listener told about every ship sunk on the board, or null.
+	private volatile SinkListener sinkListener;
+
+	/**
+	* Constructs an empty concurrent board with the specified number of rows and columns.
+	*
+	* @param rows    The number of rows on the game board.
+	* @param columns The number of columns on the game board.
+	*/
+	public ConcurrentBoard(int rows, int columns) {
+		super(rows, columns);
+		this.shotPlane = getShotPlane();
+		this.shipPlane = getShipPlane();
+	}
+
+	/**
+	* Clears every ship and shot. Must not be called while other threads are firing at the board.
+	*/
+	@Override
+	public void reset() {
+		beginWrite();
+		try {
+			super.reset();
+			sunkShips.reset();
+			for (int size = 0; size < sunkShipsBySize.length(); size++) {
+				sunkShipsBySize.set(size, 0);
+			}
+		} finally {
+			finished.increment();
+		}
+	}
+
+	@Override
+	public void setSinkListener(SinkListener sinkListener) {
+		super.setSinkListener(sinkListener);
+		this.sinkListener = sinkListener;
+	}
+
+	@Override
+	public int getRemainingShips() {
+		return super.getRemainingShips() - (int) sunkShips.sum();
+	}
+
+	@Override
+	public int getRemainingShips(int shipSize) {
+		int sunk = shipSize > 0 && shipSize < sunkShipsBySize.length() ? sunkShipsBySize.get(shipSize) : 0;
+		return super.getRemainingShips(shipSize) - sunk;
+	}
+
+	@Override
+	public boolean isGameOver() {
+		return getRemainingShips() == 0;
+	}
+
+	@Override
+	public boolean hasShotAt(int row, int col) {
+		checkBounds(row, col);
+		int cell = row * getColumns() + col;
+		return ((long) WORDS.getAcquire(shotPlane, cell >>> 6) & (1L << cell)) != 0;
+	}
+
+	@Override
+	public void markShotAt(int row, int col) {
+		checkBounds(row, col);
+		int cell = row * getColumns() + col;
+		beginWrite();
+		try {
+			WORDS.getAndBitwiseOr(shotPlane, cell >>> 6, 1L << cell);
+		} finally {
+			finished.increment();
+		}
+	}
+
+	/**
+	* Fires a shot at the specified position. The square is claimed with an atomic OR, so when several threads fire
+	* at the same square exactly one of them resolves the shot and the others get ALREADY_SHOT.
+	*
+	* @param row The row index of the target square.
+	* @param col The column index of the target square.
+	* @return One of MISS, HIT, SUNK or ALREADY_SHOT.
+	*/
+	@Override
+	public int fireShot(int row, int col) {
+		checkBounds(row, col);
+		int cell = row * getColumns() + col;
+		int word = cell >>> 6;
+		long bit = 1L << cell;
+
+		beginWrite();
+		try {
+			long shots = (long) WORDS.getAndBitwiseOr(shotPlane, word, bit);
+			if ((shots & bit) != 0) {
+				return ALREADY_SHOT;
+			}
+			if ((shipPlane[word] & bit) == 0) {
+				return MISS;
+			}
+			return resolveHit(cell);
+		} finally {
+			finished.increment();
+		}
+	}
+
+	/**
+	* Fires a salvo of shots one by one, each claimed atomically, validating every position first.
+	*
+	* @param rows     The row index of each target square.
+	* @param cols     The column index of each target square, at least as many as rows.
+	* @param outcomes Receives the outcome of each shot, at least as many as rows.
+	* @return The number of battleships sunk by the salvo.
+	*/
+	@Override
+	public int fireSalvo(int[] rows, int[] cols, int[] outcomes) {
+		int count = rows.length;
+		if (cols.length < count || outcomes.length < count) {
+			throw new IllegalArgumentException("A salvo of " + count + " shots needs as many columns and outcomes");
+		}
+		for (int i = 0; i < count; i++) {
+			checkBounds(rows[i], cols[i]);
+		}
+
+		int sunk = 0;
+		for (int i = 0; i < count; i++) {
+			outcomes[i] = fireShot(rows[i], cols[i]);
+			if (outcomes[i] == SUNK) {
+				sunk++;
+			}
+		}
+		return sunk;
+	}
+
+	/**
+	* Copies a consistent view of the shots fired so far, as it was at one instant between shots.
+	* The copy is first taken optimistically, without holding any shooter back. If shots keep landing
+	* during every attempt, new shots are held back until the shots in flight are done and one copy is taken.
+	*
+	* @param shotsOut Receives the shot bit-plane, one bit per square in row-major order; at least (rows * columns + 63) / 64 longs.
+	* @return The number of remaining ships at the instant of the copy.
+	*/
+	public int snapshot(long[] shotsOut) {
+		for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+			// Nothing was in flight if every mutation started so far had finished beforehand.
+			long done = finished.sum();
+			long version = started.sum();
+			if (version == done) {
+				int remaining = copyShots(shotsOut);
+				VarHandle.acquireFence();
+				if (started.sum() == version) {
+					return remaining;
+				}
+			}
+			Thread.onSpinWait();
+		}
+
+		pauseShots();
+		try {
+			return copyShots(shotsOut);
+		} finally {
+			resumeShots();
+		}
+	}
+
+	/**
+	* Holds new shots back and waits for the shots in flight, so that the board stands still until resumeShots.
+	* Every call must be followed by one call to resumeShots, in a finally block.
+	*/
+	void pauseShots() {
+		pausingSpectators.incrementAndGet();
+		while (finished.sum() != started.sum()) {
+			Thread.yield();
+		}
+	}
+
+	/**
+	* Lets the shots held back by pauseShots land.
+	*/
+	void resumeShots() {
+		pausingSpectators.decrementAndGet();
+	}
+
+	/**
+	* Adds a battleship to the fleet, making room to count sinks of its size.
+	*/
+	@Override
+	int addToFleet(Battleship battleship) {
+		if (battleship.getSize() >= sunkShipsBySize.length()) {
+			AtomicIntegerArray grown = new AtomicIntegerArray(battleship.getSize() + 1);
+			for (int size = 0; size < sunkShipsBySize.length(); size++) {
+				grown.set(size, sunkShipsBySize.get(size));
+			}
+			sunkShipsBySize = grown;
+		}
+		return super.addToFleet(battleship);
+	}
+
+	/**
+	* Damages a battleship atomically, so that concurrent hits are never lost and exactly one of them sinks it.
+	*/
+	@Override
+	boolean applyHit(Battleship battleship) {
+		return battleship.takeHitAtomically();
+	}
+
+	/**
+	* Counts a sunk battleship in the striped counters and notifies the sink listener from the shooting thread.
+	*/
+	@Override
+	void countSunkShip(int shipId, int row, int col, int shipSize, boolean isHorizontal) {
+		sunkShipsBySize.incrementAndGet(shipSize);
+		sunkShips.increment();
+		SinkListener listener = sinkListener;
+		if (listener != null) {
+			listener.shipSunk(shipId, row, col, shipSize, isHorizontal);
+		}
+	}
+
+	/**
+	* Counts a mutation as started, first waiting for any spectator which is holding shots back.
+	*/
+	private void beginWrite() {
+		started.increment();
+		while (pausingSpectators.get() != 0) {
+			// Step aside without touching the board, so the spectator sees nothing in flight.
+			finished.increment();
+			while (pausingSpectators.get() != 0) {
+				Thread.yield();
+			}
+			started.increment();
+		}
+	}
+
+	/**
+	* Copies the shot plane word by word and reads the remaining ships.
+	*
+	* @param shotsOut Receives the shot bit-plane.
+	* @return The number of remaining ships.
+	*/
+	private int copyShots(long[] shotsOut) {
+		for (int word = 0; word < shotPlane.length; word++) {
+			shotsOut[word] = (long) WORDS.getAcquire(shotPlane, word);
+		}
+		return getRemainingShips();
+	}
+
+}
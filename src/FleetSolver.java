@@ -0,0 +1,758 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : FleetSolver
+ * @createDate      : 18 Oct 2026
+ * @description     : Exact solver counting every fleet configuration consistent with what a shooter has observed, for analysis,<br>
+ *                    cheat detection and optimal play. The observations are the misses and hits of the shots and the SUNK<br>
+ *                    outcomes the shooter was told of, never the ships on the board: a sunk ship's extent is not revealed, as<br>
+ *                    renderers and squares only show hits. A configuration places the whole fleet on squares which were not<br>
+ *                    missed, without overlaps and covering every hit. A ship hit on every square is sunk, so it must hold exactly<br>
+ *                    one square whose shot was reported SUNK, or, if it holds none, a hit whose outcome the shooter did not see,<br>
+ *                    such as another player's; every other ship holds no SUNK square.<br>
+ *                    Ships of two squares or more are enumerated over 128-bit square masks, each kind's placements pruned up front<br>
+ *                    against those rules, and a branch is cut as soon as the squares left to place cannot cover the uncovered hits.<br>
+ *                    The single-square ships are not enumerated: the ones standing on hits are forced onto the uncovered hits which<br>
+ *                    could have sunk them, and the rest are summed up by the number of free squares of a leaf, whose configuration<br>
+ *                    counts are binomials memoized in a table. Nor is the last ship: its placements are summed through a cover<br>
+ *                    precomputed per square, less those overlapping the ships already placed. Branches of the first ship are<br>
+ *                    counted in parallel on a fork-join pool. Counts are exact; boards hold at most 128 squares.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class FleetSolver {
+
+	// The largest number of squares on a board the solver accepts.
+	public static final int MAX_SQUARES = 128;
+
+	// The number of placements of the first ship below which a task is counted on one thread.
+	private static final int PLACEMENTS_PER_TASK = 8;
+
+	// The distinct ship sizes in the fleet.
+	private final int[] sizes;
+
+	// The number of ships of each size in the fleet.
+	private final int[] counts;
+
+	/**
+	* Constructs a solver for the default fleet of Small, Medium and Large battleships.
+	*/
+	public FleetSolver() {
+		this(new int[] {LargeBattleship.SIZE, MediumBattleship.SIZE, SmallBattleship.SIZE},
+				new int[] {LargeBattleship.MAX_COUNT, MediumBattleship.MAX_COUNT, SmallBattleship.MAX_COUNT});
+	}
+
+	/**
+	* Constructs a solver for a fleet of straight ships with the given sizes and counts.
+	*
+	* @param sizes  The distinct ship sizes in the fleet.
+	* @param counts The number of ships of each size.
+	*/
+	public FleetSolver(int[] sizes, int[] counts) {
+		if (sizes.length != counts.length) {
+			throw new IllegalArgumentException("Every ship size needs a count");
+		}
+		this.sizes = sizes.clone();
+		this.counts = counts.clone();
+	}
+
+	/**
+	* Counts the fleet configurations consistent with the shots on a board as anyone watching it sees them:
+	* the misses and hits, with no outcome known to have sunk a ship.
+	*
+	* @param board The board, of at most MAX_SQUARES squares, holding only straight ships of this solver's fleet.
+	* @param pool  The pool to count the branches on.
+	* @return The solution.
+	* @throws IllegalArgumentException If the board is too large.
+	* @throws ArithmeticException      If the number of configurations does not fit a long.
+	*/
+	public Solution solve(Board board, ForkJoinPool pool) {
+		return solve(Observations.of(board), pool);
+	}
+
+	/**
+	* Counts the fleet configurations consistent with a shooter's observations, and how many of them cover each square.
+	*
+	* @param observations The shots and outcomes observed, on a board of straight ships of this solver's fleet.
+	* @param pool         The pool to count the branches on.
+	* @return The solution.
+	* @throws ArithmeticException If the number of configurations does not fit a long.
+	*/
+	public Solution solve(Observations observations, ForkJoinPool pool) {
+		Search search = new Search(observations, sizes, counts);
+		Counts total = search.slots.length == 0 ? search.countLeaf() : pool.invoke(new CountTask(search, 0, search.placementsOf(0)));
+		return new Solution(observations.rows, observations.columns, search, total);
+	}
+
+	/**
+	* The shots a shooter has seen on a board and the outcomes it was told of.
+	*/
+	public static final class Observations {
+
+		// The number of rows on the board.
+		private final int rows;
+
+		// The number of columns on the board.
+		private final int columns;
+
+		// One bit per square, set for the squares shot at which held no ship.
+		private final long[] misses = new long[2];
+
+		// One bit per square, set for the squares shot at which held a ship.
+		private final long[] hits = new long[2];
+
+		// One bit per square, set for the hits whose shot was reported to have sunk a ship.
+		private final long[] sunk = new long[2];
+
+		// One bit per square, set for the hits whose outcome the shooter was told of.
+		private final long[] seen = new long[2];
+
+		/**
+		* Constructs empty observations of a board.
+		*
+		* @param rows    The number of rows on the board.
+		* @param columns The number of columns on the board.
+		* @throws IllegalArgumentException If the board has more than MAX_SQUARES squares.
+		*/
+		public Observations(int rows, int columns) {
+			if (rows * columns > MAX_SQUARES) {
+				throw new IllegalArgumentException("The solver handles boards of up to " + MAX_SQUARES + " squares, not " + rows + "x" + columns);
+			}
+			this.rows = rows;
+			this.columns = columns;
+		}
+
+		/**
+		* Gets the observations of anyone watching a board: its misses and hits, with no outcome seen.
+		*
+		* @param board The board.
+		* @return The observations.
+		* @throws IllegalArgumentException If the board has more than MAX_SQUARES squares.
+		*/
+		public static Observations of(Board board) {
+			Observations observations = new Observations(board.getRows(), board.getColumns());
+			observations.addShots(board);
+			return observations;
+		}
+
+		/**
+		* Records the outcome of a shot fired by the shooter.
+		*
+		* @param row     The row index of the target square.
+		* @param col     The column index of the target square.
+		* @param outcome The shot outcome, one of Board.MISS, Board.HIT, Board.SUNK or Board.ALREADY_SHOT.
+		*/
+		public void record(int row, int col, int outcome) {
+			int cell = row * columns + col;
+			long bit = 1L << cell;
+			if (outcome == Board.MISS) {
+				misses[cell >>> 6] |= bit;
+			} else if (outcome == Board.HIT || outcome == Board.SUNK) {
+				hits[cell >>> 6] |= bit;
+				seen[cell >>> 6] |= bit;
+				if (outcome == Board.SUNK) {
+					sunk[cell >>> 6] |= bit;
+				}
+			}
+		}
+
+		/**
+		* Records the squares shot at on a board which are not recorded yet, such as another player's shots,
+		* as misses or hits whose outcome was not seen.
+		*
+		* @param board The board fired at.
+		*/
+		public void addShots(Board board) {
+			for (int cell = 0; cell < rows * columns; cell++) {
+				int row = cell / columns;
+				int col = cell % columns;
+				long bit = 1L << cell;
+				if (((misses[cell >>> 6] | hits[cell >>> 6]) & bit) != 0 || !board.hasShotAt(row, col)) {
+					continue;
+				}
+				if (board.hasShipAt(row, col)) {
+					hits[cell >>> 6] |= bit;
+				} else {
+					misses[cell >>> 6] |= bit;
+				}
+			}
+		}
+
+		/**
+		* Forgets every observation, for a new game on a board of the same size.
+		*/
+		public void clear() {
+			for (int word = 0; word < 2; word++) {
+				misses[word] = 0;
+				hits[word] = 0;
+				sunk[word] = 0;
+				seen[word] = 0;
+			}
+		}
+
+		/**
+		* Gets the number of rows on the board.
+		*
+		* @return The number of rows.
+		*/
+		public int getRows() {
+			return rows;
+		}
+
+		/**
+		* Gets the number of columns on the board.
+		*
+		* @return The number of columns.
+		*/
+		public int getColumns() {
+			return columns;
+		}
+	}
+
+	/**
+	* The result of a solve: the number of consistent configurations and how many of them cover each square.
+	*/
+	public static final class Solution {
+
+		// The number of rows on the board.
+		private final int rows;
+
+		// The number of columns on the board.
+		private final int columns;
+
+		// The number of consistent configurations.
+		private final long configurations;
+
+		// The number of consistent configurations covering each square, hits included.
+		private final long[] covering;
+
+		// One bit per square, set for squares which were shot at.
+		private final long[] shot;
+
+		/**
+		* Finishes the per-square counts of a search.
+		*/
+		private Solution(int rows, int columns, Search search, Counts total) {
+			this.rows = rows;
+			this.columns = columns;
+			// The search counted each configuration once for every ship of the last slot's kind.
+			this.configurations = total.configurations / search.lastShips;
+			this.covering = new long[rows * columns];
+			this.shot = new long[2];
+			for (int cell = 0; cell < covering.length; cell++) {
+				long bit = 1L << cell;
+				if ((search.required[cell >>> 6] & bit) != 0) {
+					// Every configuration covers every hit.
+					covering[cell] = configurations;
+				} else if ((search.blocked[cell >>> 6] & bit) == 0) {
+					// A square holds a single-square ship in the share of every leaf counted by the running total,
+					// except in the leaves where a bigger ship covered it.
+					long covered = total.covered[cell] + total.lastWeight * search.lastCover[cell];
+					long notFree = total.notFree[cell] + total.lastPerFreeSquare * search.lastCover[cell];
+					covering[cell] = (covered + total.singles - notFree) / search.lastShips;
+				}
+				if ((search.blocked[cell >>> 6] & bit) != 0 || (search.required[cell >>> 6] & bit) != 0) {
+					shot[cell >>> 6] |= bit;
+				}
+			}
+		}
+
+		/**
+		* Gets the number of fleet configurations consistent with the shots.
+		*
+		* @return The number of configurations, 0 if the shots contradict the fleet.
+		*/
+		public long getConfigurationCount() {
+			return configurations;
+		}
+
+		/**
+		* Gets the number of consistent configurations with a ship on a square.
+		*
+		* @param row The row index of the square.
+		* @param col The column index of the square.
+		* @return The number of configurations.
+		*/
+		public long getCoveringCount(int row, int col) {
+			return covering[index(row, col)];
+		}
+
+		/**
+		* Gets the exact probability that a square holds a ship, over the consistent configurations.
+		*
+		* @param row The row index of the square.
+		* @param col The column index of the square.
+		* @return The probability, from 0 to 1.
+		*/
+		public double getHitProbability(int row, int col) {
+			return configurations == 0 ? 0 : (double) covering[index(row, col)] / configurations;
+		}
+
+		/**
+		* Gets the unshot square most likely to hold a ship, the first in row-major order on ties.
+		*
+		* @return The row-major index of the square, or -1 if every square was shot at.
+		*/
+		public int getBestShot() {
+			int best = -1;
+			for (int cell = 0; cell < covering.length; cell++) {
+				if ((shot[cell >>> 6] & (1L << cell)) == 0 && (best < 0 || covering[cell] > covering[best])) {
+					best = cell;
+				}
+			}
+			return best;
+		}
+
+		/**
+		* Converts a position into a row-major square index, validating the bounds.
+		*/
+		private int index(int row, int col) {
+			if (row < 0 || row >= rows || col < 0 || col >= columns) {
+				throw new IndexOutOfBoundsException("Square (" + row + ", " + col + ") is outside the " + rows + "x" + columns + " board");
+			}
+			return row * columns + col;
+		}
+	}
+
+	/**
+	* Counts accumulated over the leaves of a branch.
+	*/
+	private static final class Counts {
+
+		// The number of configurations.
+		private long configurations;
+
+		// The number of configurations in which each square is covered by a ship of two squares or more.
+		private final long[] covered;
+
+		// The sum over leaves of the configurations in which one given free square holds a single-square ship.
+		private long singles;
+
+		// For each square, the part of singles from leaves in which a bigger ship covered the square.
+		private final long[] notFree;
+
+		// The configurations of the leaves summed up at the last slot, which every placement of its kind adds to covered.
+		private long lastWeight;
+
+		// The part of singles of the leaves summed up at the last slot, which every placement of its kind adds to notFree.
+		private long lastPerFreeSquare;
+
+		/**
+		* Constructs empty counts.
+		*/
+		private Counts(int squares) {
+			this.covered = new long[squares];
+			this.notFree = new long[squares];
+		}
+
+		/**
+		* Adds the counts of another branch.
+		*/
+		private void add(Counts other) {
+			configurations = Math.addExact(configurations, other.configurations);
+			singles += other.singles;
+			lastWeight += other.lastWeight;
+			lastPerFreeSquare += other.lastPerFreeSquare;
+			for (int cell = 0; cell < covered.length; cell++) {
+				covered[cell] += other.covered[cell];
+				notFree[cell] += other.notFree[cell];
+			}
+		}
+	}
+
+	/**
+	* The fixed state of one solve: the legal placements of every ship to enumerate, and the observations.
+	*/
+	private static final class Search {
+
+		// The number of squares on the board.
+		private final int squares;
+
+		// The misses, which no ship can cover, as a 128-bit mask.
+		private final long[] blocked;
+
+		// The hits, which the ships must cover, as a 128-bit mask.
+		private final long[] required;
+
+		// The hits reported to have sunk a ship, as a 128-bit mask.
+		private final long[] sunk;
+
+		// The hits whose outcome was not seen, and so may have sunk a ship, as a 128-bit mask.
+		private final long[] unseen;
+
+		// The hits a single-square ship may stand on, those which may have sunk it, as a 128-bit mask.
+		private final long[] eligible;
+
+		// The number of squares which are not blocked.
+		private final int openSquares;
+
+		// The kind of each ship of two squares or more, biggest first: the slots filled by the enumeration.
+		private final int[] slots;
+
+		// The number of squares of the ships in each slot and after it, used to prune branches together with
+		// the single-square ships, which can only cover the eligible hits.
+		private final int[] squaresFrom;
+
+		// The low mask word of each legal placement, indexed by kind.
+		private final long[][] placementLow;
+
+		// The high mask word of each legal placement, indexed by kind.
+		private final long[][] placementHigh;
+
+		// The number of ships of the kind of the last slot, at least 1: the last slot is filled regardless of the order
+		// of the ships of its kind, so each configuration is counted that many times.
+		private final int lastShips;
+
+		// The number of placements of the kind of the last slot covering each square.
+		private final long[] lastCover;
+
+		// The placements of the kind of the last slot covering each square.
+		private final int[][] lastThrough;
+
+		// The number of squares of the ship in the last slot.
+		private final int lastSize;
+
+		// The number of single-square ships in the fleet.
+		private final int singleShips;
+
+		// binomials[n][k] is n choose k, for k up to the number of single-square ships.
+		private final long[][] binomials;
+
+		/**
+		* Lists the legal placements of every ship kind of a fleet.
+		*/
+		private Search(Observations observations, int[] sizes, int[] counts) {
+			int rows = observations.rows;
+			int columns = observations.columns;
+			this.squares = rows * columns;
+			this.blocked = observations.misses.clone();
+			this.required = observations.hits.clone();
+			this.sunk = observations.sunk.clone();
+			this.unseen = new long[2];
+			this.eligible = new long[2];
+			for (int word = 0; word < 2; word++) {
+				unseen[word] = required[word] & ~observations.seen[word];
+				eligible[word] = sunk[word] | unseen[word];
+			}
+			this.openSquares = squares - Long.bitCount(blocked[0]) - Long.bitCount(blocked[1]);
+
+			Integer[] order = new Integer[sizes.length];
+			for (int kind = 0; kind < sizes.length; kind++) {
+				order[kind] = kind;
+			}
+			Arrays.sort(order, (a, b) -> sizes[b] - sizes[a]);
+
+			int slotCount = 0;
+			int singles = 0;
+			for (int kind = 0; kind < sizes.length; kind++) {
+				if (sizes[kind] == 1) {
+					singles += counts[kind];
+				} else {
+					slotCount += counts[kind];
+				}
+			}
+			this.singleShips = singles;
+			this.slots = new int[slotCount];
+			this.squaresFrom = new int[slotCount + 1];
+			int slot = 0;
+			for (int kind : order) {
+				for (int i = 0; i < counts[kind] && sizes[kind] > 1; i++) {
+					slots[slot++] = kind;
+				}
+			}
+			squaresFrom[slotCount] = 0;
+			for (int i = slotCount - 1; i >= 0; i--) {
+				squaresFrom[i] = squaresFrom[i + 1] + sizes[slots[i]];
+			}
+
+			this.placementLow = new long[sizes.length][];
+			this.placementHigh = new long[sizes.length][];
+			for (int kind = 0; kind < sizes.length; kind++) {
+				listPlacements(kind, sizes[kind], rows, columns);
+			}
+
+			// Index the placements of the last slot's kind by square, to sum the last slot up without enumerating it.
+			this.lastCover = new long[squares];
+			this.lastThrough = new int[squares][];
+			int lastKind = slotCount == 0 ? -1 : slots[slotCount - 1];
+			this.lastShips = lastKind < 0 ? 1 : counts[lastKind];
+			this.lastSize = lastKind < 0 ? 0 : sizes[lastKind];
+			int[] through = new int[squares];
+			for (int p = 0; lastKind >= 0 && p < placementLow[lastKind].length; p++) {
+				for (int cell = 0; cell < squares; cell++) {
+					if (covers(placementLow[lastKind][p], placementHigh[lastKind][p], cell)) {
+						through[cell]++;
+					}
+				}
+			}
+			for (int cell = 0; cell < squares; cell++) {
+				lastCover[cell] = through[cell];
+				lastThrough[cell] = new int[through[cell]];
+				through[cell] = 0;
+			}
+			for (int p = 0; lastKind >= 0 && p < placementLow[lastKind].length; p++) {
+				for (int cell = 0; cell < squares; cell++) {
+					if (covers(placementLow[lastKind][p], placementHigh[lastKind][p], cell)) {
+						lastThrough[cell][through[cell]++] = p;
+					}
+				}
+			}
+
+			this.binomials = new long[openSquares + 1][singles + 1];
+			for (int n = 0; n <= openSquares; n++) {
+				binomials[n][0] = 1;
+				for (int k = 1; k <= Math.min(n, singles); k++) {
+					binomials[n][k] = Math.addExact(binomials[n - 1][k - 1], k <= n - 1 ? binomials[n - 1][k] : 0);
+				}
+			}
+		}
+
+		/**
+		* Lists the placements of a ship size, horizontal then vertical, which cover no miss and agree with the SUNK reports:
+		* a placement hit on every square holds exactly one SUNK square, or none and an unseen hit, and any other holds none.
+		*/
+		private void listPlacements(int kind, int size, int rows, int columns) {
+			long[] low = new long[squares * 2];
+			long[] high = new long[squares * 2];
+			int count = 0;
+			for (int horizontal = 1; horizontal >= 0 && size > 1; horizontal--) {
+				int step = horizontal == 1 ? 1 : columns;
+				for (int row = 0; row + (horizontal == 1 ? 0 : size - 1) < rows; row++) {
+					for (int col = 0; col + (horizontal == 1 ? size - 1 : 0) < columns; col++) {
+						long maskLow = 0;
+						long maskHigh = 0;
+						for (int i = 0, cell = row * columns + col; i < size; i++, cell += step) {
+							if (cell < 64) {
+								maskLow |= 1L << cell;
+							} else {
+								maskHigh |= 1L << cell;
+							}
+						}
+						boolean isOpen = (maskLow & blocked[0]) == 0 && (maskHigh & blocked[1]) == 0;
+						boolean isAllHit = (maskLow & ~required[0]) == 0 && (maskHigh & ~required[1]) == 0;
+						int reports = Long.bitCount(maskLow & sunk[0]) + Long.bitCount(maskHigh & sunk[1]);
+						boolean isUnseen = (maskLow & unseen[0]) != 0 || (maskHigh & unseen[1]) != 0;
+						boolean isConsistent = isAllHit ? reports == 1 || (reports == 0 && isUnseen) : reports == 0;
+						if (isOpen && isConsistent) {
+							low[count] = maskLow;
+							high[count] = maskHigh;
+							count++;
+						}
+					}
+				}
+			}
+			placementLow[kind] = Arrays.copyOf(low, count);
+			placementHigh[kind] = Arrays.copyOf(high, count);
+		}
+
+		/**
+		* Gets the number of legal placements of the ship in a slot.
+		*/
+		private int placementsOf(int slot) {
+			return placementLow[slots[slot]].length;
+		}
+
+		/**
+		* Counts the configurations below a branch: the ships in the slots from the given one are placed, each at a placement
+		* after the previous ship of its kind so that every set of placements is counted once, except the ship of the last slot.
+		*
+		* @param slot     The slot to fill.
+		* @param first    The first placement the slot may take.
+		* @param end      The placement after the last one the slot may take.
+		* @param low      The low word of the squares covered so far.
+		* @param high     The high word of the squares covered so far.
+		* @param counts   The counts to add to.
+		*/
+		private void count(int slot, int first, int end, long low, long high, Counts counts) {
+			// Prune: the bigger ships left and the single-square ships must be able to cover the hits which are still uncovered.
+			int uncovered = Long.bitCount(required[0] & ~low) + Long.bitCount(required[1] & ~high);
+			int uncoveredEligible = Long.bitCount(eligible[0] & ~low) + Long.bitCount(eligible[1] & ~high);
+			if (uncovered - Math.min(uncoveredEligible, singleShips) > squaresFrom[slot]) {
+				return;
+			}
+			if (slot == slots.length) {
+				countLeaf(low, high, counts);
+				return;
+			}
+			if (slot > 0 && slot == slots.length - 1 && uncovered == 0) {
+				countLastSlot(low, high, counts);
+				return;
+			}
+
+			long[] kindLow = placementLow[slots[slot]];
+			long[] kindHigh = placementHigh[slots[slot]];
+			boolean isLastOfKind = slot + 1 == slots.length || slots[slot + 1] != slots[slot];
+			for (int p = first; p < end; p++) {
+				if ((kindLow[p] & low) == 0 && (kindHigh[p] & high) == 0) {
+					int next = slot + 1;
+					int nextFirst = isLastOfKind || next == slots.length - 1 ? 0 : p + 1;
+					int nextEnd = next == slots.length ? 0 : placementLow[slots[next]].length;
+					count(next, nextFirst, nextEnd, low | kindLow[p], high | kindHigh[p], counts);
+				}
+			}
+		}
+
+		/**
+		* Counts the placements of the single-square ships once every bigger ship is placed: one stands on each hit
+		* left uncovered, which must be one that may have sunk it, and the others go on any of the unshot squares still free.
+		*/
+		private void countLeaf(long low, long high, Counts counts) {
+			long uncoveredLow = required[0] & ~low;
+			long uncoveredHigh = required[1] & ~high;
+			if ((uncoveredLow & ~eligible[0]) != 0 || (uncoveredHigh & ~eligible[1]) != 0) {
+				return;
+			}
+			int forced = Long.bitCount(uncoveredLow) + Long.bitCount(uncoveredHigh);
+			int free = openSquares - Long.bitCount(low) - Long.bitCount(high) - forced;
+			int singles = singleShips - forced;
+			if (singles < 0 || singles > free) {
+				return;
+			}
+			long configurations = binomials[free][singles];
+			counts.configurations = Math.addExact(counts.configurations, configurations);
+
+			// Each of the free squares holds a single-square ship in this many of the configurations.
+			long perFreeSquare = singles == 0 ? 0 : binomials[free - 1][singles - 1];
+			counts.singles += perFreeSquare;
+			while (low != 0) {
+				int cell = Long.numberOfTrailingZeros(low);
+				counts.covered[cell] += configurations;
+				counts.notFree[cell] += perFreeSquare;
+				low &= low - 1;
+			}
+			while (high != 0) {
+				int cell = 64 + Long.numberOfTrailingZeros(high);
+				counts.covered[cell] += configurations;
+				counts.notFree[cell] += perFreeSquare;
+				high &= high - 1;
+			}
+		}
+
+		/**
+		* Sums up the last slot once every hit is covered: each placement of its kind which overlaps no ship is a leaf with
+		* the same number of free squares, so the placements are counted through the precomputed cover of the kind, less
+		* the few which overlap the ships placed so far.
+		*/
+		private void countLastSlot(long low, long high, Counts counts) {
+			int kind = slots[slots.length - 1];
+			int free = openSquares - Long.bitCount(low) - Long.bitCount(high) - lastSize;
+			if (free < singleShips) {
+				return;
+			}
+			long configurations = binomials[free][singleShips];
+			long perFreeSquare = singleShips == 0 ? 0 : binomials[free - 1][singleShips - 1];
+
+			// Take back the placements overlapping the ships, each at the first square where it overlaps them.
+			long[] kindLow = placementLow[kind];
+			long[] kindHigh = placementHigh[kind];
+			int overlapping = 0;
+			for (int word = 0; word < 2; word++) {
+				long bits = word == 0 ? low : high;
+				while (bits != 0) {
+					int cell = word * 64 + Long.numberOfTrailingZeros(bits);
+					long beforeLow = word == 0 ? (1L << cell) - 1 : -1L;
+					long beforeHigh = word == 0 ? 0 : (1L << cell) - 1;
+					for (int p : lastThrough[cell]) {
+						if ((kindLow[p] & low & beforeLow) == 0 && (kindHigh[p] & high & beforeHigh) == 0) {
+							overlapping++;
+							subtract(kindLow[p], 0, configurations, perFreeSquare, counts);
+							subtract(kindHigh[p], 64, configurations, perFreeSquare, counts);
+						}
+					}
+					bits &= bits - 1;
+				}
+			}
+
+			long leaves = kindLow.length - overlapping;
+			long total = Math.multiplyExact(leaves, configurations);
+			counts.configurations = Math.addExact(counts.configurations, total);
+			counts.singles += leaves * perFreeSquare;
+			counts.lastWeight += configurations;
+			counts.lastPerFreeSquare += perFreeSquare;
+			for (int word = 0; word < 2; word++) {
+				long bits = word == 0 ? low : high;
+				while (bits != 0) {
+					int cell = word * 64 + Long.numberOfTrailingZeros(bits);
+					counts.covered[cell] += total;
+					counts.notFree[cell] += leaves * perFreeSquare;
+					bits &= bits - 1;
+				}
+			}
+		}
+
+		/**
+		* Takes the counts of one overlapping placement of the last slot back from the squares it covers in a mask word.
+		*/
+		private static void subtract(long bits, int firstCell, long configurations, long perFreeSquare, Counts counts) {
+			while (bits != 0) {
+				int cell = firstCell + Long.numberOfTrailingZeros(bits);
+				counts.covered[cell] -= configurations;
+				counts.notFree[cell] -= perFreeSquare;
+				bits &= bits - 1;
+			}
+		}
+
+		/**
+		* Checks whether a placement covers a square.
+		*/
+		private static boolean covers(long low, long high, int cell) {
+			return ((cell < 64 ? low : high) & (1L << cell)) != 0;
+		}
+
+		/**
+		* Counts the configurations when there is no ship of two squares or more left to place.
+		*/
+		private Counts countLeaf() {
+			Counts counts = new Counts(squares);
+			count(0, 0, 0, 0, 0, counts);
+			return counts;
+		}
+	}
+
+	/**
+	* Counts the branches of a range of placements of the first ship, splitting the range in half until it is small.
+	*/
+	private static final class CountTask extends RecursiveTask<Counts> {
+
+		private static final long serialVersionUID = 1L;
+
+		// The search being counted.
+		private final transient Search search;
+
+		// The first placement of the first ship in this task.
+		private final int first;
+
+		// The placement after the last one of the first ship in this task.
+		private final int end;
+
+		/**
+		* Constructs a task for a range of placements of the first ship.
+		*/
+		private CountTask(Search search, int first, int end) {
+			this.search = search;
+			this.first = first;
+			this.end = end;
+		}
+
+		@Override
+		protected Counts compute() {
+			if (end - first <= PLACEMENTS_PER_TASK) {
+				Counts counts = new Counts(search.squares);
+				search.count(0, first, end, 0, 0, counts);
+				return counts;
+			}
+			int middle = (first + end) >>> 1;
+			CountTask upper = new CountTask(search, middle, end);
+			upper.fork();
+			Counts counts = new CountTask(search, first, middle).compute();
+			counts.add(upper.join());
+			return counts;
+		}
+	}
+
+}
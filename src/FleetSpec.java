@@ -0,0 +1,281 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : FleetSpec
+ * @createDate      : 18 Oct 2026
+ * @description     : Declarative description of a fleet: how many battleships of each shape, for instance "1x3, 2x2, 3x1, 1xL3".<br>
+ *                    Specs are immutable, and ships are placed biggest first. For each board size a spec is placed on,<br>
+ *                    the number of placements of every shape orientation is worked out once and cached,<br>
+ *                    so placing a fleet on a new board costs only the random sampling.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FleetSpec {
+
+	// The standard fleet: one large, two medium and three small battleships.
+	public static final FleetSpec STANDARD = new FleetSpec(
+			new ShipShape[] {ShipShape.line(LargeBattleship.SIZE), ShipShape.line(MediumBattleship.SIZE), ShipShape.line(SmallBattleship.SIZE)},
+			new int[] {LargeBattleship.MAX_COUNT, MediumBattleship.MAX_COUNT, SmallBattleship.MAX_COUNT});
+
+	// The number of squares of the board a spec's counts are meant for, the classic 10x10 board.
+	public static final int BASE_SQUARES = 100;
+
+	// The shape of each kind of battleship, biggest first.
+	private final ShipShape[] shapes;
+
+	// The number of battleships of each shape.
+	private final int[] counts;
+
+	// The total number of battleships.
+	private final int shipCount;
+
+	// The placement tables of the spec for each board size, keyed by rows and columns.
+	private final Map<Long, long[][]> placementTables = new ConcurrentHashMap<>();
+
+	// The placement table of the board size the spec was last placed on.
+	private volatile PlacementTable lastTable;
+
+	/**
+	* Constructs a fleet spec from shapes and the number of battleships of each.
+	*
+	* @param shapes The shape of each kind of battleship.
+	* @param counts The number of battleships of each shape.
+	* @throws IllegalArgumentException If the arrays differ in length or a count is negative.
+	*/
+	public FleetSpec(ShipShape[] shapes, int[] counts) {
+		if (shapes.length != counts.length) {
+			throw new IllegalArgumentException("Every shape needs a count");
+		}
+
+		// Place the biggest ships first, while the board is emptiest.
+		Integer[] order = new Integer[shapes.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(shapes[b].getSize(), shapes[a].getSize()));
+
+		this.shapes = new ShipShape[shapes.length];
+		this.counts = new int[shapes.length];
+		int total = 0;
+		for (int i = 0; i < order.length; i++) {
+			if (counts[order[i]] < 0) {
+				throw new IllegalArgumentException("Negative count for shape " + shapes[order[i]]);
+			}
+			this.shapes[i] = shapes[order[i]];
+			this.counts[i] = counts[order[i]];
+			total += this.counts[i];
+		}
+		this.shipCount = total;
+	}
+
+	/**
+	* Parses a fleet spec: comma separated entries of a count, an 'x' and a shape. A shape is a line length,
+	* L followed by an arm length, T followed by a bar width, or a picture in brackets such as [X../XXX].
+	*
+	* @param spec The fleet spec, e.g. "1x5, 2x3, 1xL3, 1xT3, 2x[XX/XX]".
+	* @return The fleet spec.
+	* @throws IllegalArgumentException If the spec cannot be parsed.
+	*/
+	public static FleetSpec parse(String spec) {
+		String[] entries = spec.split(",");
+		ShipShape[] shapes = new ShipShape[entries.length];
+		int[] counts = new int[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			String entry = entries[i].trim();
+			int x = entry.indexOf('x');
+			if (x <= 0 || x == entry.length() - 1) {
+				throw new IllegalArgumentException("Expected <count>x<shape> but got '" + entry + "'");
+			}
+			try {
+				counts[i] = Integer.parseInt(entry.substring(0, x).trim());
+				String shape = entry.substring(x + 1).trim();
+				char kind = shape.charAt(0);
+				if (kind == '[' && shape.endsWith("]")) {
+					shapes[i] = ShipShape.parse(shape.substring(1, shape.length() - 1));
+				} else if (kind == 'L' || kind == 'l') {
+					shapes[i] = ShipShape.lShape(Integer.parseInt(shape.substring(1)));
+				} else if (kind == 'T' || kind == 't') {
+					shapes[i] = ShipShape.tShape(Integer.parseInt(shape.substring(1)));
+				} else {
+					shapes[i] = ShipShape.line(Integer.parseInt(shape));
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Expected <count>x<shape> but got '" + entry + "'", e);
+			}
+		}
+		return new FleetSpec(shapes, counts);
+	}
+
+	/**
+	* Gets the number of kinds of battleships in the fleet.
+	*
+	* @return The number of shapes.
+	*/
+	public int getShapeCount() {
+		return shapes.length;
+	}
+
+	/**
+	* Gets the shape of a kind of battleship; kinds are ordered biggest first.
+	*
+	* @param kind The index of the kind.
+	* @return The shape.
+	*/
+	public ShipShape getShape(int kind) {
+		return shapes[kind];
+	}
+
+	/**
+	* Gets the number of battleships of a kind.
+	*
+	* @param kind The index of the kind.
+	* @return The number of battleships.
+	*/
+	public int getCount(int kind) {
+		return counts[kind];
+	}
+
+	/**
+	* Gets the total number of battleships in the fleet.
+	*
+	* @return The number of battleships.
+	*/
+	public int getShipCount() {
+		return shipCount;
+	}
+
+	/**
+	* Scales the fleet to a board size, multiplying every count by the number of BASE_SQUARES boards which fit its area,
+	* so that a bigger board is as densely packed as the classic one. The scale is capped so that the fleet has at most
+	* maxShips ships, the most the board can hold (Board.getMaxShips): past that area the fleet stops growing and the
+	* board gets sparser. Boards no bigger than BASE_SQUARES keep the fleet unchanged.
+	*
+	* @param rows     The number of rows on the board.
+	* @param columns  The number of columns on the board.
+	* @param maxShips The largest number of ships the board holds.
+	* @return The scaled fleet spec, or this spec if the scale is 1.
+	*/
+	public FleetSpec scaledTo(int rows, int columns, int maxShips) {
+		long scale = Math.min((long) rows * columns / BASE_SQUARES, maxShips / Math.max(1, shipCount));
+		if (scale <= 1) {
+			return this;
+		}
+		int[] scaled = new int[counts.length];
+		for (int kind = 0; kind < counts.length; kind++) {
+			scaled[kind] = (int) (counts[kind] * scale);
+		}
+		return new FleetSpec(shapes, scaled);
+	}
+
+	/**
+	* Gets the placement table of the fleet on a board size: for each kind, the running total of empty-board
+	* placements over its orientations. Tables are built on first use and shared by every board of that size.
+	*
+	* @param rows    The number of rows on the board.
+	* @param columns The number of columns on the board.
+	* @return The running placement totals, indexed by kind and orientation.
+	*/
+	long[][] getPlacementTable(int rows, int columns) {
+		PlacementTable table = lastTable;
+		if (table != null && table.rows == rows && table.columns == columns) {
+			return table.totals;
+		}
+
+		long[][] totals = placementTables.computeIfAbsent((long) rows << 32 | columns, key -> {
+			long[][] built = new long[shapes.length][];
+			for (int kind = 0; kind < shapes.length; kind++) {
+				built[kind] = new long[shapes[kind].getOrientationCount()];
+				long total = 0;
+				for (int o = 0; o < built[kind].length; o++) {
+					total += shapes[kind].countPlacements(o, rows, columns);
+					built[kind][o] = total;
+				}
+			}
+			return built;
+		});
+		lastTable = new PlacementTable(rows, columns, totals);
+		return totals;
+	}
+
+	/**
+	* Tells whether another object is a fleet spec with equal shapes and the same counts, kind by kind.
+	* Specs parsed or built separately from the same fleet are equal, so they can key caches and pools.
+	*
+	* @param other The object to compare with.
+	* @return True if the object is an equal fleet spec.
+	*/
+	@Override
+	public boolean equals(Object other) {
+		if (other == this) {
+			return true;
+		}
+		if (!(other instanceof FleetSpec)) {
+			return false;
+		}
+		FleetSpec spec = (FleetSpec) other;
+		return Arrays.equals(counts, spec.counts) && Arrays.equals(shapes, spec.shapes);
+	}
+
+	/**
+	* Gets a hash code consistent with equals.
+	*
+	* @return The hash code.
+	*/
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(shapes) + Arrays.hashCode(counts);
+	}
+
+	/**
+	* Returns the spec in the format accepted by parse.
+	*
+	* @return The fleet spec.
+	*/
+	@Override
+	public String toString() {
+		StringBuilder spec = new StringBuilder();
+		for (int kind = 0; kind < shapes.length; kind++) {
+			if (kind > 0) {
+				spec.append(", ");
+			}
+			spec.append(counts[kind]).append('x');
+			String name = shapes[kind].getName();
+			spec.append(name.indexOf('/') >= 0 || name.indexOf('X') >= 0 || name.indexOf('x') >= 0 ? "[" + name + "]" : name);
+		}
+		return spec.toString();
+	}
+
+	/**
+	* The placement table of one board size, remembered for the common case of many boards of the same size.
+	*/
+	private static final class PlacementTable {
+
+		// The number of rows on the board.
+		private final int rows;
+
+		// The number of columns on the board.
+		private final int columns;
+
+		// The running placement totals, indexed by kind and orientation.
+		private final long[][] totals;
+
+		/**
+		* Constructs a placement table entry.
+		*
+		* @param rows    The number of rows on the board.
+		* @param columns The number of columns on the board.
+		* @param totals  The running placement totals.
+		*/
+		private PlacementTable(int rows, int columns, long[][] totals) {
+			this.rows = rows;
+			this.columns = columns;
+			this.totals = totals;
+		}
+	}
+
+}
@@ -8,76 +8,110 @@
  * 					 Randomly places battleships on the boards.<br>
  * 					 Executes the main game loop, taking turns until the game is over.<br>
  * 					 Determines the winner based on scores.<br>
- * 					 Prints the result of the game.
+ * 					 Prints the result of the game.<br>
+ * 					 Records the game to an event log when a log file path is given as the first argument.<br>
+ * 					 Plays an arena game on a square board of the size given after --arena, with a fleet scaled to the board.
  * @Version        : 1.0
- * @LastModifiedBy :
- * @LastModifiedDate:
+ * @LastModifiedBy : Giri Liyangi
+ * @LastModifiedDate: 18 Oct 2026
  */
 
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Paths;
 
 public class Game {
 	
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
 		
-		Scanner scanner = new Scanner(System.in);
+		// Names and guesses are read through the one shared console reader.
+		CommandReader input = CommandReader.console();
+		
+		// Render each player's view of the opponent's board through a reusable frame instead of building a new string every turn.
+		BoardRenderer renderer1 = new BoardRenderer();
+		BoardRenderer renderer2 = new BoardRenderer();
+		
+		// The board size: the classic 10x10, or the arena size given after --arena.
+		boolean isArena = args.length > 0 && args[0].equals("--arena");
+		int size = 10;
+		if (isArena) {
+			try {
+				size = Integer.parseInt(args.length > 1 ? args[1] : "");
+			} catch (NumberFormatException e) {
+				size = 0;
+			}
+			if (size < 1 || size > Arena.MAX_SIDE) {
+				System.err.println("Usage: Game [log file] | Game --arena <size from 1 to " + Arena.MAX_SIDE + ">");
+				input.close();
+				return;
+			}
+		}
+		
+		// Create a board for each player's own fleet.
+		Board board1 = Arena.createBoard(size, size);
+		Board board2 = Arena.createBoard(size, size);
+		
+		// Record every placement and shot when a log file is given.
+		GameLog log = null;
+		if (args.length > 0 && !isArena) {
+			log = GameLog.create(Paths.get(args[0]), 10, 10, 64);
+			board1.setGameLog(log, 0);
+			board2.setGameLog(log, 1);
+		}
+
+		// Randomly place each player's battleships on their own board, the standard fleet scaled to the board size, and stop if it does not fit.
+		FleetSpec fleet = Arena.fleetFor(board1);
+		if (!board1.placeFleet(fleet) || !board2.placeFleet(fleet)) {
+			System.err.println("The fleet of " + fleet.getShipCount() + " ships does not fit a " + size + "x" + size + " board");
+			input.close();
+			if (log != null) {
+				log.close();
+			}
+			Arena.close(board1);
+			Arena.close(board2);
+			return;
+		}
 		
 		// Collect Player 1's name.
 		System.out.println("Enter Player 1's name: ");
-		String player_name1 = scanner.nextLine();
-		
-		// Create the game board and Player 1.
-		Board board = new Board(10,10);
-		Player player1 = new Player(player_name1, board);
+		String player_name1 = input.nextLine();
+		Player player1 = new Player(player_name1, board1);
 		
 		// Collect Player 2's name.
 		System.out.println("Enter Player 2's name: ");
-		String player_name2 = scanner.nextLine();
+		String player_name2 = input.nextLine();
 
-		// Create Player 2.
-		Player player2 = new Player(player_name2, board);
-
-		// Randomly place battleships on the board.
-		board.randomlyPlaceBattleshipsOfType();
+		// Create Player 2, and make each player target the other's fleet.
+		Player player2 = new Player(player_name2, board2);
+		player1.setOpponent(player2);
+		player2.setOpponent(player1);
+		if (log != null) {
+			player1.setGameLog(log, 0);
+			player2.setGameLog(log, 1);
+		}
 		
-		// Game iteration
-		boolean gameOver = false;
-        Player currentPlayer = player1;
-                
-        //Set remaining ship count which has been placed on board
-        board.setRemainingShips(6);
+		// Game iteration: guesses are parsed, resolved and displayed by separate stages, the opponent's board (with hidden ships) before every turn.
+		Writer out = new OutputStreamWriter(System.out);
+		TurnPipeline pipeline = new TurnPipeline(input, out, 4);
+		pipeline.play(player1, player2, renderer1, renderer2);
                 
-        while (!gameOver) {
-        	// Display the game board (with hidden ships)
-        	System.out.println(currentPlayer.getBoard());
+        // The game is over, determine the winner.
+        if(player1.getScore() > player2.getScore()) {
+        	System.out.println(player1.getName() + " has won!");
+        }else if(player1.getScore() < player2.getScore()){
+        	System.out.println(player2.getName() + " has won!");
+        }else {
+        	System.out.println("Game Drawn");
+        }
         	
-        	// Execute the player's turn.
-        	boolean check = currentPlayer.takeTurn();
-	
-	        // Check if the game is over and determine the winner.
-	        if (check) {
-	        	gameOver = true;
-	        	
-	        	if(player1.getScore() > player2.getScore()) {
-	        		System.out.println(player1.getName() + " has won!");
-	        	}else if(player1.getScore() < player2.getScore()){
-	        		System.out.println(player2.getName() + " has won!");
-	        	}else {
-	        		System.out.println("Game Drawn");
-	        	}
-	            
-	        }
-	
-	        // Switch to the other player for the next turn.
-	        if(currentPlayer == player1) {
-	        	currentPlayer = player2;
-	        }else {
-	        	currentPlayer = player1;
-	        }
-	        
+        input.close();
+        if (log != null) {
+        	log.close();
         }
-        scanner.close();
+        Arena.close(board1);
+        Arena.close(board2);
 
 	}
 	
@@ -0,0 +1,63 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : GameEngine
+ * @createDate      : 18 Oct 2026
+ * @description     : Plays a whole Battleship game without any console input or output.<br>
+ *                    Two shot strategies take turns firing at the board in place of Player.takeTurn,<br>
+ *                    and the result is returned as a GameResult.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+public class GameEngine {
+
+	// The number of turns per square after which a game is abandoned, guarding against strategies which keep repeating shots.
+	private static final int MAX_TURNS_PER_SQUARE = 4;
+
+	/**
+	* Plays a game on a board whose battleships have already been placed.
+	* The first strategy fires first and the players alternate until no ships remain.
+	*
+	* @param board  The board to play on.
+	* @param first  The shot strategy of the first player.
+	* @param second The shot strategy of the second player.
+	* @return The result of the game.
+	*/
+	public static GameResult play(Board board, ShotStrategy first, ShotStrategy second) {
+
+		Player player1 = new Player("Player 1", board);
+		Player player2 = new Player("Player 2", board);
+		first.reset(board);
+		second.reset(board);
+
+		int columns = board.getColumns();
+		int maxTurns = board.getRows() * columns * MAX_TURNS_PER_SQUARE;
+		int turns = 0;
+
+		Player currentPlayer = player1;
+		ShotStrategy currentStrategy = first;
+
+		while (!board.isGameOver() && turns < maxTurns) {
+
+			// Resolve the shot chosen by the current strategy and report the outcome back to it.
+			int shot = currentStrategy.nextShot(board);
+			int row = shot / columns;
+			int col = shot % columns;
+			currentStrategy.onResult(row, col, currentPlayer.fireAt(row, col));
+			turns++;
+
+			// Switch to the other player for the next turn.
+			if (currentPlayer == player1) {
+				currentPlayer = player2;
+				currentStrategy = second;
+			} else {
+				currentPlayer = player1;
+				currentStrategy = first;
+			}
+		}
+
+		return new GameResult(player1.getScore(), player2.getScore(), turns);
+	}
+
+}
@@ -0,0 +1,382 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : GameLog
+ * @createDate      : 18 Oct 2026
+ * @description     : Append-only, memory-mapped log of every ship placement and shot of a game, for crash recovery and audits.<br>
+ *                    Events are fixed-width 16 byte records: type, flag, value, row, column and a sequence number.<br>
+ *                    The sequence number (event index + 1) marks complete records, so the end of the log is recovered<br>
+ *                    after a crash by a binary search over the zero-filled tail. The file is forced to disk every syncEvery events.<br>
+ *                    Layout: header [magic, version, rows, columns] followed by the events.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameLog implements Closeable {
+
+	// Event type of a ship placement: flag is 1 if horizontal, plus 2 for the second player's fleet, value is the ship size.
+	public static final byte PLACEMENT = 1;
+
+	// Event type of a shot: flag is the seat of the shooter, value is the shot outcome.
+	public static final byte SHOT = 2;
+
+	// The size of one event and of the file header in bytes.
+	public static final int EVENT_BYTES = 16;
+
+	// Identifies a game log file ("BSLG").
+	private static final int MAGIC = 0x42534C47;
+
+	// The version of the file layout.
+	private static final int VERSION = 1;
+
+	// The size of each mapped region of the file, a multiple of the event size so that no event spans two regions.
+	private static final int CHUNK_BYTES = 1 << 22;
+
+	// The file holding the log.
+	private final FileChannel channel;
+
+	// The mapped regions of the file, in order.
+	private final List<MappedByteBuffer> chunks;
+
+	// The number of rows of the logged board.
+	private final int rows;
+
+	// The number of columns of the logged board.
+	private final int columns;
+
+	// The number of events appended between forcing the file to disk.
+	private final int syncEvery;
+
+	// The number of events in the log.
+	private long eventCount;
+
+	// The number of events already forced to disk.
+	private long syncedCount;
+
+	/**
+	* Maps a log file and recovers the number of complete events in it.
+	*
+	* @param channel   The file holding the log.
+	* @param rows      The number of rows of the logged board.
+	* @param columns   The number of columns of the logged board.
+	* @param syncEvery The number of events appended between forcing the file to disk.
+	* @throws IOException If the file cannot be mapped.
+	*/
+	private GameLog(FileChannel channel, int rows, int columns, int syncEvery) throws IOException {
+		this.channel = channel;
+		this.chunks = new ArrayList<>();
+		this.rows = rows;
+		this.columns = columns;
+		this.syncEvery = Math.max(1, syncEvery);
+
+		long size = channel.size();
+		for (long position = 0; position == 0 || position < size; position += CHUNK_BYTES) {
+			chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_BYTES));
+		}
+		this.eventCount = recoverEventCount();
+		this.syncedCount = eventCount;
+	}
+
+	/**
+	* Creates a new, empty log file for a board of the given size, replacing any existing file.
+	*
+	* @param path      The path of the log file.
+	* @param rows      The number of rows of the logged board.
+	* @param columns   The number of columns of the logged board.
+	* @param syncEvery The number of events appended between forcing the file to disk.
+	* @return The open log.
+	* @throws IOException If the file cannot be created.
+	*/
+	public static GameLog create(Path path, int rows, int columns, int syncEvery) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		GameLog log = new GameLog(channel, rows, columns, syncEvery);
+		MappedByteBuffer header = log.chunks.get(0);
+		header.putInt(0, MAGIC);
+		header.putInt(4, VERSION);
+		header.putInt(8, rows);
+		header.putInt(12, columns);
+		header.force();
+		return log;
+	}
+
+	/**
+	* Opens an existing log file, recovering the events written before the last crash, so that appending can continue.
+	*
+	* @param path      The path of the log file.
+	* @param syncEvery The number of events appended between forcing the file to disk.
+	* @return The open log.
+	* @throws IOException If the file cannot be read or is not a game log.
+	*/
+	public static GameLog open(Path path, int syncEvery) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, EVENT_BYTES);
+		if (channel.size() < EVENT_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+			channel.close();
+			throw new IOException(path + " is not a version " + VERSION + " game log");
+		}
+		return new GameLog(channel, header.getInt(8), header.getInt(12), syncEvery);
+	}
+
+	/**
+	* Gets the number of rows of the logged board.
+	*
+	* @return The number of rows.
+	*/
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	* Gets the number of columns of the logged board.
+	*
+	* @return The number of columns.
+	*/
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	* Gets the number of events in the log.
+	*
+	* @return The number of events.
+	*/
+	public long getEventCount() {
+		return eventCount;
+	}
+
+	/**
+	* Records a ship placement.
+	*
+	* @param row          The starting row position of the ship.
+	* @param col          The starting column position of the ship.
+	* @param shipSize     The size of the ship.
+	* @param isHorizontal A boolean indicating whether the ship is horizontal.
+	*/
+	public void logPlacement(int row, int col, int shipSize, boolean isHorizontal) {
+		logPlacement(0, row, col, shipSize, isHorizontal);
+	}
+
+	/**
+	* Records a ship placement in the fleet of one player, for games where each player has a board of their own.
+	*
+	* @param seat         The seat of the fleet's owner, 0 for the first player and 1 for the second.
+	* @param row          The starting row position of the ship.
+	* @param col          The starting column position of the ship.
+	* @param shipSize     The size of the ship.
+	* @param isHorizontal A boolean indicating whether the ship is horizontal.
+	*/
+	public void logPlacement(int seat, int row, int col, int shipSize, boolean isHorizontal) {
+		append(PLACEMENT, (isHorizontal ? 1 : 0) | seat << 1, shipSize, row, col);
+	}
+
+	/**
+	* Records a resolved shot.
+	*
+	* @param seat    The seat of the shooter, 0 for the first player and 1 for the second.
+	* @param row     The row index of the target square.
+	* @param col     The column index of the target square.
+	* @param outcome The shot outcome.
+	*/
+	public void logShot(int seat, int row, int col, int outcome) {
+		append(SHOT, seat, outcome, row, col);
+	}
+
+	/**
+	* Gets the type of an event.
+	*
+	* @param index The index of the event.
+	* @return PLACEMENT or SHOT.
+	*/
+	public byte getType(long index) {
+		return chunkOf(index).get(offsetOf(index));
+	}
+
+	/**
+	* Gets the flag of an event. For a placement, bit 0 is set if the ship is horizontal and bit 1 holds the seat of the
+	* fleet's owner, clear for the first player and set for the second. For a shot, the flag is the seat of the shooter.
+	*
+	* @param index The index of the event.
+	* @return The flag: (seat << 1 | horizontal) for a placement, the seat for a shot.
+	*/
+	public int getFlag(long index) {
+		return chunkOf(index).get(offsetOf(index) + 1);
+	}
+
+	/**
+	* Gets the value of an event: the ship size of a placement, or the outcome of a shot.
+	*
+	* @param index The index of the event.
+	* @return The value.
+	*/
+	public int getValue(long index) {
+		return chunkOf(index).getShort(offsetOf(index) + 2);
+	}
+
+	/**
+	* Gets the row of an event.
+	*
+	* @param index The index of the event.
+	* @return The row.
+	*/
+	public int getRow(long index) {
+		return chunkOf(index).getInt(offsetOf(index) + 4);
+	}
+
+	/**
+	* Gets the column of an event.
+	*
+	* @param index The index of the event.
+	* @return The column.
+	*/
+	public int getColumn(long index) {
+		return chunkOf(index).getInt(offsetOf(index) + 8);
+	}
+
+	/**
+	* Rebuilds a game as it was after the given number of events, reading the events straight from the mapped file.
+	* Placements go straight into the board's bit-planes and shots are resolved again on the board each player fires at,
+	* checked against the logged outcome, with the player's score counting the ships sunk. Nothing replayed is logged
+	* again, even if this log or another one is attached to the boards or players. Placements in the second player's
+	* fleet go on second.getFleetBoard(), which is the same board unless the players were given boards of their own.
+	*
+	* @param eventIndex The number of events to replay.
+	* @param board      An empty board of the logged size, holding the first player's fleet.
+	* @param first      The first player, firing at the board.
+	* @param second     The second player, firing at the board, or at first's board in a two-board game.
+	* @throws IllegalStateException If an event cannot be applied or its outcome differs from the log.
+	*/
+	public void replay(long eventIndex, Board board, Player first, Player second) {
+		if (board.getRows() != rows || board.getColumns() != columns) {
+			throw new IllegalArgumentException("The log is for a " + rows + "x" + columns + " board");
+		}
+		Board secondBoard = second.getFleetBoard();
+		if (secondBoard.getRows() != rows || secondBoard.getColumns() != columns) {
+			throw new IllegalArgumentException("The log is for a " + rows + "x" + columns + " board");
+		}
+		long end = Math.min(eventIndex, eventCount);
+		for (long i = 0; i < end; i++) {
+			MappedByteBuffer chunk = chunkOf(i);
+			int offset = offsetOf(i);
+			int flag = chunk.get(offset + 1);
+			int value = chunk.getShort(offset + 2);
+			int row = chunk.getInt(offset + 4);
+			int col = chunk.getInt(offset + 8);
+
+			if (chunk.get(offset) == PLACEMENT) {
+				Board fleetBoard = (flag & 2) == 0 ? board : secondBoard;
+				if (!fleetBoard.replayBattleship(row, col, value, (flag & 1) != 0)) {
+					throw new IllegalStateException("Event " + i + " places an overlapping or out of bounds ship");
+				}
+			} else {
+				Player shooter = flag == 0 ? first : second;
+				int outcome = shooter.getBoard().fireShot(row, col);
+				if (outcome != value) {
+					throw new IllegalStateException("Event " + i + " logged outcome " + value + " but replayed " + outcome);
+				}
+				if (outcome == Board.SUNK) {
+					shooter.setScore(shooter.getScore() + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	* Forces the events appended since the last sync to disk, one ranged force per mapped region touched.
+	*/
+	public void sync() {
+		long index = syncedCount;
+		while (index < eventCount) {
+			MappedByteBuffer chunk = chunkOf(index);
+			int offset = offsetOf(index);
+			long inChunk = Math.min(eventCount - index, (CHUNK_BYTES - offset) / EVENT_BYTES);
+			chunk.force(offset, (int) inChunk * EVENT_BYTES);
+			index += inChunk;
+		}
+		syncedCount = eventCount;
+	}
+
+	/**
+	* Forces the log to disk and closes the file.
+	*
+	* @throws IOException If the file cannot be closed.
+	*/
+	@Override
+	public void close() throws IOException {
+		sync();
+		channel.close();
+	}
+
+	/**
+	* Appends one event, mapping a new region when the last one is full and forcing the file to disk every syncEvery events.
+	*/
+	private void append(int type, int flag, int value, int row, int col) {
+		long index = eventCount;
+		if (index + 1 >= (long) chunks.size() * (CHUNK_BYTES / EVENT_BYTES)) {
+			try {
+				chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) chunks.size() * CHUNK_BYTES, CHUNK_BYTES));
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot grow the game log", e);
+			}
+		}
+
+		MappedByteBuffer chunk = chunkOf(index);
+		int offset = offsetOf(index);
+		chunk.put(offset, (byte) type);
+		chunk.put(offset + 1, (byte) flag);
+		chunk.putShort(offset + 2, (short) value);
+		chunk.putInt(offset + 4, row);
+		chunk.putInt(offset + 8, col);
+
+		// The sequence number is written last, so a record is only complete once it is set.
+		chunk.putInt(offset + 12, (int) (index + 1));
+		eventCount = index + 1;
+
+		if (eventCount - syncedCount >= syncEvery) {
+			sync();
+		}
+	}
+
+	/**
+	* Finds the number of complete events by binary search for the first record whose sequence number is wrong.
+	*
+	* @return The number of complete events.
+	*/
+	private long recoverEventCount() {
+		long low = 0;
+		long high = (long) chunks.size() * (CHUNK_BYTES / EVENT_BYTES) - 1;
+		while (low < high) {
+			long middle = (low + high) >>> 1;
+			if (chunkOf(middle).getInt(offsetOf(middle) + 12) == (int) (middle + 1)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	* Gets the mapped region holding an event, the header taking the first slot of the file.
+	*/
+	private MappedByteBuffer chunkOf(long index) {
+		return chunks.get((int) ((index + 1) * EVENT_BYTES / CHUNK_BYTES));
+	}
+
+	/**
+	* Gets the position of an event within its mapped region.
+	*/
+	private int offsetOf(long index) {
+		return (int) ((index + 1) * EVENT_BYTES % CHUNK_BYTES);
+	}
+
+}
@@ -0,0 +1,100 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : GameResult
+ * @createDate      : 18 Oct 2026
+ * @description     : The result of a game played by the GameEngine: the winner, both players' scores and the number of turns.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+public class GameResult {
+
+	// Winner value when the scores are level.
+	public static final int DRAW = 0;
+
+	// Winner value when the first player has the higher score.
+	public static final int FIRST_PLAYER = 1;
+
+	// Winner value when the second player has the higher score.
+	public static final int SECOND_PLAYER = 2;
+
+	// The winner of the game, one of DRAW, FIRST_PLAYER or SECOND_PLAYER.
+	private final int winner;
+
+	// The score of the first player.
+	private final int firstScore;
+
+	// The score of the second player.
+	private final int secondScore;
+
+	// The number of turns taken by both players together.
+	private final int turns;
+
+	/**
+	* Constructs a GameResult from the final scores and the number of turns.
+	*
+	* @param firstScore  The score of the first player.
+	* @param secondScore The score of the second player.
+	* @param turns       The number of turns taken by both players together.
+	*/
+	public GameResult(int firstScore, int secondScore, int turns) {
+		this.firstScore = firstScore;
+		this.secondScore = secondScore;
+		this.turns = turns;
+
+		if (firstScore > secondScore) {
+			this.winner = FIRST_PLAYER;
+		} else if (firstScore < secondScore) {
+			this.winner = SECOND_PLAYER;
+		} else {
+			this.winner = DRAW;
+		}
+	}
+
+	/**
+	* Gets the winner of the game.
+	*
+	* @return One of DRAW, FIRST_PLAYER or SECOND_PLAYER.
+	*/
+	public int getWinner() {
+		return winner;
+	}
+
+	/**
+	* Gets the score of the first player.
+	*
+	* @return The score of the first player.
+	*/
+	public int getFirstScore() {
+		return firstScore;
+	}
+
+	/**
+	* Gets the score of the second player.
+	*
+	* @return The score of the second player.
+	*/
+	public int getSecondScore() {
+		return secondScore;
+	}
+
+	/**
+	* Gets the number of turns taken by both players together.
+	*
+	* @return The number of turns.
+	*/
+	public int getTurns() {
+		return turns;
+	}
+
+	/**
+	* Generates a string representation of the result.
+	*
+	* @return The string representation of the result.
+	*/
+	public String toString() {
+		return "winner=" + winner + " scores=" + firstScore + ":" + secondScore + " turns=" + turns;
+	}
+
+}
@@ -0,0 +1,809 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : GameServer
+ * @createDate      : 18 Oct 2026
+ * @description     : Non-blocking TCP server hosting many concurrent Battleship matches on one NIO selector thread.<br>
+ *                    Connections are paired into matches as they arrive, each match with its own Board and pair of Players,<br>
+ *                    and shots arrive over a line-based protocol instead of the console parsing in Player.takeTurn.<br>
+ *                    Every connection has fixed-size input and output buffers, and a client which stops reading<br>
+ *                    until its output buffer overflows is disconnected, so memory per connection is bounded. Overflowed<br>
+ *                    connections are disconnected once the event being handled is done with, never in the middle of<br>
+ *                    updating a match, and are no longer paired into matches or sent anything in the meantime. A command<br>
+ *                    which fails with an unexpected exception only disconnects its own connection, and a match whose fleet<br>
+ *                    cannot be placed is refused, so one bad connection or board never stops the server.<br>
+ *                    Client to server : FIRE row col | QUIT<br>
+ *                    Server to client : START rows columns seat | TURN | MISS/HIT/SUNK/REPEAT row col<br>
+ *                                       | OPPONENT MISS/HIT/SUNK/REPEAT row col | GAMEOVER WIN/LOSE/DRAW score opponentScore<br>
+ *                                       | END (opponent left) | ERROR message<br>
+ *                    After GAMEOVER or END the connection is paired into a new match. Match boards are taken from a BoardPool<br>
+ *                    and given back when the match ends, and finished matches are kept with their players, so pairing<br>
+ *                    connections allocates nothing once the server is warm.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+public class GameServer implements Runnable {
+
+	// The size of the input buffer of each connection, which bounds the length of a command line.
+	private static final int INPUT_CAPACITY = 64;
+
+	// The size of the output buffer of each connection.
+	private static final int OUTPUT_CAPACITY = 1024;
+
+	// The largest number of finished matches kept for reuse.
+	private static final int MAX_IDLE_MATCHES = 256;
+
+	// The number of times a match board is placed before the match is refused.
+	private static final int MAX_PLACEMENT_ATTEMPTS = 16;
+
+	// The protocol names of the shot outcomes, indexed by Board.MISS, Board.HIT, Board.SUNK and Board.ALREADY_SHOT.
+	private static final byte[][] OUTCOME_NAMES = {ascii("MISS "), ascii("HIT "), ascii("SUNK "), ascii("REPEAT ")};
+
+	// Pre-encoded protocol messages.
+	private static final byte[] START = ascii("START ");
+	private static final byte[] TURN = ascii("TURN\n");
+	private static final byte[] OPPONENT = ascii("OPPONENT ");
+	private static final byte[] GAMEOVER_WIN = ascii("GAMEOVER WIN ");
+	private static final byte[] GAMEOVER_LOSE = ascii("GAMEOVER LOSE ");
+	private static final byte[] GAMEOVER_DRAW = ascii("GAMEOVER DRAW ");
+	private static final byte[] END = ascii("END\n");
+	private static final byte[] ERROR_WAITING = ascii("ERROR waiting for opponent\n");
+	private static final byte[] ERROR_NOT_YOUR_TURN = ascii("ERROR not your turn\n");
+	private static final byte[] ERROR_OUT_OF_BOUNDS = ascii("ERROR out of bounds\n");
+	private static final byte[] ERROR_UNKNOWN_COMMAND = ascii("ERROR unknown command\n");
+	private static final byte[] ERROR_LINE_TOO_LONG = ascii("ERROR line too long\n");
+	private static final byte[] ERROR_NO_BOARD = ascii("ERROR the fleet could not be placed\n");
+
+	// The number of rows on each match board.
+	private final int rows;
+
+	// The number of columns on each match board.
+	private final int columns;
+
+	// The selector multiplexing the listening socket and all connections.
+	private final Selector selector;
+
+	// The listening socket.
+	private final ServerSocketChannel serverChannel;
+
+	// The connection waiting for an opponent, if any.
+	private Connection waiting;
+
+	// The position of the command parser within the current input line.
+	private int cursor;
+
+	// Whether the server is still running.
+	private volatile boolean running;
+
+	// The number of connections currently open.
+	private volatile int connections;
+
+	// The number of matches currently in progress.
+	private volatile int activeMatches;
+
+	// The number of matches played to the end.
+	private volatile long gamesCompleted;
+
+	// Finished matches, reset and kept with their players so that new matches allocate nothing.
+	private final ArrayDeque<Match> idleMatches = new ArrayDeque<>();
+
+	// The boards of the matches, placed when taken and reset when given back.
+	private final BoardPool boardPool = new BoardPool(MAX_IDLE_MATCHES);
+
+	// Connections whose output buffer overflowed, to be disconnected once the current event has been handled.
+	private final ArrayDeque<Connection> overflowedConnections = new ArrayDeque<>();
+
+	/**
+	* Opens a server listening on the given address, hosting matches on boards of the given size.
+	*
+	* @param address The address to listen on, a port of 0 picks a free port.
+	* @param rows    The number of rows on each match board.
+	* @param columns The number of columns on each match board.
+	* @throws IOException              If the socket cannot be opened.
+	* @throws IllegalArgumentException If the standard fleet does not fit a board of the size.
+	*/
+	public GameServer(InetSocketAddress address, int rows, int columns) throws IOException {
+		this.rows = rows;
+		this.columns = columns;
+		// Place one board up front, which fails for boards too small for the fleet and warms the pool.
+		boardPool.release(boardPool.acquire(rows, columns, FleetSpec.STANDARD));
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		this.serverChannel.bind(address, 1024);
+		this.serverChannel.configureBlocking(false);
+		this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		this.running = true;
+	}
+
+	/**
+	* Gets the port the server is listening on.
+	*
+	* @return The port number.
+	* @throws IOException If the socket has been closed.
+	*/
+	public int getPort() throws IOException {
+		return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+	}
+
+	/**
+	* Gets the number of connections currently open.
+	*
+	* @return The number of connections.
+	*/
+	public int getConnections() {
+		return connections;
+	}
+
+	/**
+	* Gets the number of matches currently in progress.
+	*
+	* @return The number of active matches.
+	*/
+	public int getActiveMatches() {
+		return activeMatches;
+	}
+
+	/**
+	* Gets the number of matches played to the end.
+	*
+	* @return The number of completed games.
+	*/
+	public long getGamesCompleted() {
+		return gamesCompleted;
+	}
+
+	/**
+	* Stops the server loop and closes all connections.
+	*/
+	public void close() {
+		running = false;
+		selector.wakeup();
+	}
+
+	/**
+	* Runs the selector loop until the server is closed.
+	*/
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					Connection connection = key.isAcceptable() ? null : (Connection) key.attachment();
+					try {
+						if (connection == null) {
+							accept();
+						} else {
+							if (key.isWritable()) {
+								flush(connection);
+							}
+							if (key.isValid() && key.isReadable()) {
+								read(connection);
+							}
+						}
+					} catch (RuntimeException e) {
+						// A bug met by one connection must not stop the matches of every other one.
+						System.out.println("Dropping a connection after an error: " + e);
+						if (connection != null) {
+							connection.overflow();
+						}
+					}
+					disconnectOverflowed();
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("Server stopped: " + e.getMessage());
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				closeQuietly(key);
+			}
+			try {
+				selector.close();
+			} catch (IOException e) {
+				// Nothing left to release.
+			}
+		}
+	}
+
+	/**
+	* Accepts every pending connection and pairs it into a match.
+	* If a connection cannot be accepted, for example when the process runs out of file descriptors,
+	* accepting is paused until another connection closes.
+	*/
+	private void accept() {
+		SocketChannel channel;
+		try {
+			while ((channel = serverChannel.accept()) != null) {
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+				Connection connection = new Connection(channel);
+				connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+				connections++;
+				matchmake(connection);
+			}
+		} catch (IOException e) {
+			System.out.println("Pausing accept with " + connections + " connections: " + e.getMessage());
+			serverChannel.keyFor(selector).interestOps(0);
+		}
+	}
+
+	/**
+	* Pairs a connection with the waiting connection, or makes it wait for the next one.
+	*
+	* @param connection The connection looking for a match.
+	*/
+	private void matchmake(Connection connection) {
+		if (!connection.isOpen()) {
+			return;
+		}
+		if (waiting == null || !waiting.isOpen()) {
+			waiting = connection;
+			return;
+		}
+		Connection opponent = waiting;
+		waiting = null;
+		startMatch(opponent, connection);
+	}
+
+	/**
+	* Starts a match between two connections on a freshly placed board from the pool, reusing a finished match if there is one.
+	*
+	* @param first  The connection which fires first.
+	* @param second The connection which fires second.
+	*/
+	private void startMatch(Connection first, Connection second) {
+		Board board = null;
+		for (int attempt = 0; board == null && attempt < MAX_PLACEMENT_ATTEMPTS; attempt++) {
+			try {
+				board = boardPool.acquire(rows, columns, FleetSpec.STANDARD);
+			} catch (IllegalArgumentException e) {
+				// The fleet fitted a board of this size when the server started, so draw another layout.
+			}
+		}
+		if (board == null) {
+			refuse(first);
+			refuse(second);
+			return;
+		}
+
+		Match match = idleMatches.isEmpty() ? new Match() : idleMatches.pop();
+		match.board = board;
+		match.players[0].setBoard(match.board);
+		match.players[1].setBoard(match.board);
+		match.inPlay = true;
+		match.seats[0] = first;
+		match.seats[1] = second;
+		first.match = match;
+		first.seat = 0;
+		second.match = match;
+		second.seat = 1;
+		activeMatches++;
+
+		for (int seat = 0; seat < 2; seat++) {
+			Connection connection = match.seats[seat];
+			connection.put(START);
+			connection.putNumber(rows);
+			connection.putByte(' ');
+			connection.putNumber(columns);
+			connection.putByte(' ');
+			connection.putNumber(seat + 1);
+			connection.putByte('\n');
+			connection.send();
+		}
+		first.put(TURN);
+		first.send();
+	}
+
+	/**
+	* Tells a connection that its match could not start and queues it to be disconnected once the current event has
+	* been handled. The error is written straight away, as the connection is closed before the selector would send it.
+	*
+	* @param connection The connection to refuse.
+	*/
+	private void refuse(Connection connection) {
+		connection.put(ERROR_NO_BOARD);
+		ByteBuffer output = connection.output;
+		output.flip();
+		try {
+			connection.channel.write(output);
+		} catch (IOException e) {
+			// The connection is being closed anyway.
+		}
+		output.clear();
+		connection.overflow();
+	}
+
+	/**
+	* Reads from a connection and processes every complete command line.
+	*
+	* @param connection The readable connection.
+	*/
+	private void read(Connection connection) {
+		ByteBuffer input = connection.input;
+		int read;
+		try {
+			read = connection.channel.read(input);
+		} catch (IOException e) {
+			read = -1;
+		}
+		if (read < 0) {
+			disconnect(connection);
+			return;
+		}
+
+		int lineStart = 0;
+		for (int i = 0; i < input.position() && connection.isOpen(); i++) {
+			if (input.get(i) == '\n') {
+				process(connection, lineStart, i);
+				lineStart = i + 1;
+			}
+		}
+		if (!connection.isOpen()) {
+			return;
+		}
+
+		// Keep the incomplete line at the start of the buffer.
+		input.flip();
+		input.position(lineStart);
+		input.compact();
+
+		if (!input.hasRemaining()) {
+			connection.put(ERROR_LINE_TOO_LONG);
+			connection.send();
+			disconnect(connection);
+		}
+	}
+
+	/**
+	* Processes one command line.
+	*
+	* @param connection The connection which sent the command.
+	* @param start      The position of the first byte of the line in the input buffer.
+	* @param end        The position of the line break.
+	*/
+	private void process(Connection connection, int start, int end) {
+		ByteBuffer input = connection.input;
+		if (matches(input, start, end, "FIRE ")) {
+			cursor = start + 5;
+			int row = parseNumber(input, end);
+			int col = parseNumber(input, end);
+			fire(connection, row, col);
+		} else if (matches(input, start, end, "QUIT")) {
+			disconnect(connection);
+		} else {
+			connection.put(ERROR_UNKNOWN_COMMAND);
+			connection.send();
+		}
+	}
+
+	/**
+	* Resolves a shot fired by a connection and reports the outcome to both players.
+	*
+	* @param connection The connection firing the shot.
+	* @param row        The row index of the target square, or -1 if it could not be parsed.
+	* @param col        The column index of the target square, or -1 if it could not be parsed.
+	*/
+	private void fire(Connection connection, int row, int col) {
+		Match match = connection.match;
+		if (match == null) {
+			connection.put(ERROR_WAITING);
+			connection.send();
+			return;
+		}
+		if (match.seats[match.turn] != connection) {
+			connection.put(ERROR_NOT_YOUR_TURN);
+			connection.send();
+			return;
+		}
+		if (row < 0 || row >= rows || col < 0 || col >= columns) {
+			connection.put(ERROR_OUT_OF_BOUNDS);
+			connection.send();
+			return;
+		}
+
+		long start = Metrics.startTimer();
+		int outcome = match.players[connection.seat].fireAt(row, col);
+		Metrics.recordShot(start, outcome);
+		Connection opponent = match.seats[1 - connection.seat];
+
+		connection.put(OUTCOME_NAMES[outcome]);
+		connection.putCoordinates(row, col);
+		opponent.put(OPPONENT);
+		opponent.put(OUTCOME_NAMES[outcome]);
+		opponent.putCoordinates(row, col);
+
+		if (match.board.isGameOver()) {
+			finishMatch(match);
+			return;
+		}
+
+		match.turn = 1 - match.turn;
+		match.seats[match.turn].put(TURN);
+		connection.send();
+		opponent.send();
+	}
+
+	/**
+	* Reports the final result of a match to both players and pairs them into new matches.
+	* The match is taken out of play before anything is sent, so nothing sent can reach a match which has ended.
+	*
+	* @param match The finished match.
+	*/
+	private void finishMatch(Match match) {
+		Connection first = match.seats[0];
+		Connection second = match.seats[1];
+		first.match = null;
+		second.match = null;
+		activeMatches--;
+		gamesCompleted++;
+
+		for (int seat = 0; seat < 2; seat++) {
+			Connection connection = match.seats[seat];
+			int score = match.players[seat].getScore();
+			int opponentScore = match.players[1 - seat].getScore();
+			if (score > opponentScore) {
+				connection.put(GAMEOVER_WIN);
+			} else if (score < opponentScore) {
+				connection.put(GAMEOVER_LOSE);
+			} else {
+				connection.put(GAMEOVER_DRAW);
+			}
+			connection.putCoordinates(score, opponentScore);
+			connection.send();
+		}
+
+		recycle(match);
+		matchmake(first);
+		matchmake(second);
+	}
+
+	/**
+	* Gives the board of a match which has ended back to the pool, and resets and keeps the match for a later one,
+	* unless enough are kept already.
+	* A match is only recycled once per game, so it can never be kept twice or reset while a new game is played on it.
+	*
+	* @param match The match, no longer referenced by its connections.
+	*/
+	private void recycle(Match match) {
+		if (!match.inPlay) {
+			return;
+		}
+		match.inPlay = false;
+		boardPool.release(match.board);
+		match.board = null;
+		match.players[0].setBoard(null);
+		match.players[1].setBoard(null);
+		match.players[0].setScore(0);
+		match.players[1].setScore(0);
+		match.seats[0] = null;
+		match.seats[1] = null;
+		match.turn = 0;
+		if (idleMatches.size() < MAX_IDLE_MATCHES) {
+			idleMatches.push(match);
+		}
+	}
+
+	/**
+	* Writes as much pending output as the socket accepts, and stops waiting for writability once the output is drained.
+	*
+	* @param connection The connection to flush.
+	*/
+	private void flush(Connection connection) {
+		ByteBuffer output = connection.output;
+		output.flip();
+		try {
+			connection.channel.write(output);
+		} catch (IOException e) {
+			output.clear();
+			disconnect(connection);
+			return;
+		}
+		output.compact();
+		if (output.position() == 0 && connection.key.isValid()) {
+			connection.key.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	/**
+	* Closes a connection, ending its match if it was playing one and pairing the opponent into a new match.
+	*
+	* @param connection The connection to close.
+	*/
+	private void disconnect(Connection connection) {
+		if (!connection.key.isValid()) {
+			return;
+		}
+		if (waiting == connection) {
+			waiting = null;
+		}
+		closeQuietly(connection.key);
+		connections--;
+		serverChannel.keyFor(selector).interestOps(SelectionKey.OP_ACCEPT);
+
+		Match match = connection.match;
+		if (match != null) {
+			connection.match = null;
+			activeMatches--;
+			Connection opponent = match.seats[1 - connection.seat];
+			opponent.match = null;
+			recycle(match);
+			opponent.put(END);
+			opponent.send();
+			matchmake(opponent);
+		}
+	}
+
+	/**
+	* Disconnects every connection whose output buffer overflowed while the last event was handled,
+	* including those overflowing while the matches of earlier ones are ended.
+	*/
+	private void disconnectOverflowed() {
+		while (!overflowedConnections.isEmpty()) {
+			disconnect(overflowedConnections.poll());
+		}
+	}
+
+	/**
+	* Checks if an input line starts with the given command.
+	*
+	* @param input   The input buffer.
+	* @param start   The position of the first byte of the line.
+	* @param end     The position of the line break.
+	* @param command The command to look for.
+	* @return True if the line starts with the command.
+	*/
+	private static boolean matches(ByteBuffer input, int start, int end, String command) {
+		if (end - start < command.length()) {
+			return false;
+		}
+		for (int i = 0; i < command.length(); i++) {
+			if (input.get(start + i) != command.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	* Parses the next non-negative decimal number at the cursor, skipping leading spaces.
+	*
+	* @param input The input buffer.
+	* @param end   The position of the line break.
+	* @return The number, or -1 if there is no number or it is too large.
+	*/
+	private int parseNumber(ByteBuffer input, int end) {
+		while (cursor < end && input.get(cursor) == ' ') {
+			cursor++;
+		}
+		int number = 0;
+		int digits = 0;
+		while (cursor < end) {
+			byte b = input.get(cursor);
+			if (b < '0' || b > '9') {
+				break;
+			}
+			number = number * 10 + (b - '0');
+			cursor++;
+			if (++digits > 9) {
+				return -1;
+			}
+		}
+		return digits == 0 ? -1 : number;
+	}
+
+	/**
+	* Closes the channel of a key, ignoring errors.
+	*
+	* @param key The key to cancel.
+	*/
+	private static void closeQuietly(SelectionKey key) {
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException e) {
+			// The channel is being discarded.
+		}
+	}
+
+	/**
+	* Encodes a protocol string as ASCII bytes.
+	*
+	* @param text The text to encode.
+	* @return The encoded bytes.
+	*/
+	private static byte[] ascii(String text) {
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	* A client connection with fixed-size input and output buffers.
+	*/
+	private final class Connection {
+
+		// The socket of the connection.
+		private final SocketChannel channel;
+
+		// Bytes received but not yet processed.
+		private final ByteBuffer input = ByteBuffer.allocate(INPUT_CAPACITY);
+
+		// Bytes queued but not yet sent.
+		private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_CAPACITY);
+
+		// The selection key of the connection.
+		private SelectionKey key;
+
+		// The match the connection is playing, or null while it waits for an opponent.
+		private Match match;
+
+		// The seat of the connection in its match, 0 fires first.
+		private int seat;
+
+		// Whether the output buffer overflowed or the connection was dropped, it is closed once the current event has been handled.
+		private boolean overflowed;
+
+		/**
+		* Constructs a connection for an accepted socket.
+		*
+		* @param channel The socket of the connection.
+		*/
+		private Connection(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		* Queues bytes for sending.
+		*
+		* @param bytes The bytes to queue.
+		*/
+		private void put(byte[] bytes) {
+			if (output.remaining() < bytes.length) {
+				overflow();
+				return;
+			}
+			output.put(bytes);
+		}
+
+		/**
+		* Queues one byte for sending.
+		*
+		* @param b The byte to queue.
+		*/
+		private void putByte(char b) {
+			if (!output.hasRemaining()) {
+				overflow();
+				return;
+			}
+			output.put((byte) b);
+		}
+
+		/**
+		* Queues the decimal digits of a non-negative number without allocating.
+		*
+		* @param number The number to queue.
+		*/
+		private void putNumber(int number) {
+			int digits = 1;
+			for (int rest = number / 10; rest > 0; rest /= 10) {
+				digits++;
+			}
+			if (output.remaining() < digits) {
+				overflow();
+				return;
+			}
+			int end = output.position() + digits;
+			for (int i = end - 1; i >= output.position(); i--) {
+				output.put(i, (byte) ('0' + number % 10));
+				number /= 10;
+			}
+			output.position(end);
+		}
+
+		/**
+		* Queues two numbers separated by a space and followed by a line break.
+		*
+		* @param first  The first number.
+		* @param second The second number.
+		*/
+		private void putCoordinates(int first, int second) {
+			putNumber(first);
+			putByte(' ');
+			putNumber(second);
+			putByte('\n');
+		}
+
+		/**
+		* Asks the selector to send the queued bytes, unless the connection is closed or about to be.
+		*/
+		private void send() {
+			if (!isOpen()) {
+				return;
+			}
+			if (output.position() > 0) {
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			}
+		}
+
+		/**
+		* Checks if the connection is still open and its output buffer has not overflowed.
+		*
+		* @return True if the connection can be sent to and paired into matches.
+		*/
+		private boolean isOpen() {
+			return key.isValid() && !overflowed;
+		}
+
+		/**
+		* Marks the output buffer as overflowed and queues the connection to be disconnected. Also used to drop a connection
+		* which met an error or was refused a match.
+		*/
+		private void overflow() {
+			if (!overflowed) {
+				overflowed = true;
+				overflowedConnections.add(this);
+			}
+		}
+	}
+
+	/**
+	* A match between two connections on its own board.
+	*/
+	private final class Match {
+
+		// The board both players fire at, taken from the board pool for each game.
+		private Board board;
+
+		// The players of the match, indexed by seat, seated at the board of each game.
+		private final Player[] players = {new Player("Player 1", null), new Player("Player 2", null)};
+
+		// The connections of the match, indexed by seat.
+		private final Connection[] seats = new Connection[2];
+
+		// The seat whose turn it is.
+		private int turn;
+
+		// Whether a game is being played on the match, cleared when the match is recycled.
+		private boolean inPlay;
+	}
+
+	/**
+	* Starts a server and prints the number of connections, active matches and completed games every few seconds.
+	*
+	* @param args The port, optionally followed by the number of rows and columns.
+	* @throws Exception If the server cannot be started.
+	*/
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+		int rows = args.length > 2 ? Integer.parseInt(args[1]) : 10;
+		int columns = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		GameServer server = new GameServer(new InetSocketAddress(port), rows, columns);
+		Thread thread = new Thread(server, "game-server");
+		thread.start();
+		System.out.println("Listening on port " + server.getPort());
+
+		while (thread.isAlive()) {
+			thread.join(5000);
+			System.out.println("connections=" + server.getConnections() + " activeMatches=" + server.getActiveMatches()
+					+ " gamesCompleted=" + server.getGamesCompleted());
+		}
+	}
+
+}
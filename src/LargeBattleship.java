@@ -5,18 +5,21 @@
  * @description      : Represents a large battleship type in the Battleship game.<br>
  *                     Extends the Battleship class with a specific size and maximum count.<br>
  * @version          : 1.0
- * @lastModifiedBy   :
- * @lastModifiedDate :
+ * @lastModifiedBy   : Giri Liyangi
+ * @lastModifiedDate : 18 Oct 2026
  */
 
 public class LargeBattleship extends Battleship {
 	
     // Static attribute specifying the maximum count of large battleships on the board
-	public static int MAX_COUNT = 1;
+	public static final int MAX_COUNT = 1;
+	
+    // Static attribute specifying the size of a large battleship
+	public static final int SIZE = 3;
 	
     // Constructor for LargeBattleship, calling the constructor of the superclass (Battleship) with size 3
 	public LargeBattleship() {
-		super(3);
+		super(SIZE);
 	}
 
 }
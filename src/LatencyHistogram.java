@@ -0,0 +1,204 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : LatencyHistogram
+ * @createDate      : 18 Oct 2026
+ * @description     : Concurrent histogram of latencies in nanoseconds with log-linear buckets, in the style of HdrHistogram:<br>
+ *                    values below 16 get a bucket each, and every power of two above is split into 16 buckets,<br>
+ *                    so any value is reported within 1/16 of itself. Recording is one atomic add on a stripe picked<br>
+ *                    by the recording thread, so threads rarely write to the same counts.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+	// The number of bits of a value kept below its leading bit.
+	private static final int SUB_BUCKET_BITS = 4;
+
+	// The number of buckets each power of two is split into.
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	// The number of buckets, enough for any non-negative long.
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	// The largest number of stripes a histogram is split into.
+	private static final int MAX_STRIPES = 16;
+
+	// The bucket counts of every stripe, one stripe after another.
+	private final AtomicLongArray counts;
+
+	// The mask selecting a stripe from a thread id.
+	private final int stripeMask;
+
+	/**
+	* Constructs an empty histogram with a stripe per processor, up to 16.
+	*/
+	public LatencyHistogram() {
+		int stripes = Integer.highestOneBit(Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+		this.counts = new AtomicLongArray(stripes * BUCKETS);
+		this.stripeMask = stripes - 1;
+	}
+
+	/**
+	* Records a latency.
+	*
+	* @param nanos The latency in nanoseconds; negative values are recorded as 0.
+	*/
+	public void record(long nanos) {
+		int stripe = (int) Thread.currentThread().getId() & stripeMask;
+		counts.getAndIncrement(stripe * BUCKETS + bucketOf(Math.max(nanos, 0)));
+	}
+
+	/**
+	* Clears every recorded latency. Latencies recorded concurrently may or may not be kept.
+	*/
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0);
+		}
+	}
+
+	/**
+	* Copies the counts of the histogram, summed over its stripes.
+	*
+	* @return The snapshot of the histogram.
+	*/
+	public Snapshot snapshot() {
+		long[] totals = new long[BUCKETS];
+		for (int i = 0; i < counts.length(); i++) {
+			totals[i % BUCKETS] += counts.get(i);
+		}
+		return new Snapshot(totals);
+	}
+
+	/**
+	* Gets the bucket of a value.
+	*
+	* @param value The non-negative value.
+	* @return The index of its bucket.
+	*/
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	* Gets the largest value which falls into a bucket.
+	*
+	* @param bucket The index of the bucket.
+	* @return The largest value of the bucket.
+	*/
+	private static long highestValueOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	/**
+	* An immutable copy of the counts of a histogram at one point in time.
+	*/
+	public static final class Snapshot {
+
+		// The number of latencies in each bucket.
+		private final long[] counts;
+
+		// The number of latencies recorded.
+		private final long totalCount;
+
+		/**
+		* Constructs a snapshot from bucket counts.
+		*
+		* @param counts The number of latencies in each bucket.
+		*/
+		private Snapshot(long[] counts) {
+			this.counts = counts;
+			long total = 0;
+			for (long count : counts) {
+				total += count;
+			}
+			this.totalCount = total;
+		}
+
+		/**
+		* Gets the number of latencies recorded.
+		*
+		* @return The number of latencies.
+		*/
+		public long getCount() {
+			return totalCount;
+		}
+
+		/**
+		* Gets the latency at a percentile, as the largest value of the bucket it falls into.
+		*
+		* @param percentile The percentile, from 0 to 100.
+		* @return The latency in nanoseconds, or 0 if nothing was recorded.
+		*/
+		public long getValueAtPercentile(double percentile) {
+			long rank = Math.max(1, (long) Math.ceil(totalCount * Math.min(percentile, 100.0) / 100.0));
+			long seen = 0;
+			for (int bucket = 0; bucket < counts.length; bucket++) {
+				seen += counts[bucket];
+				if (seen >= rank) {
+					return highestValueOf(bucket);
+				}
+			}
+			return 0;
+		}
+
+		/**
+		* Gets the mean latency, taking each latency as the middle of its bucket.
+		*
+		* @return The mean latency in nanoseconds, or 0 if nothing was recorded.
+		*/
+		public double getMean() {
+			if (totalCount == 0) {
+				return 0;
+			}
+			double sum = 0;
+			for (int bucket = 0; bucket < counts.length; bucket++) {
+				if (counts[bucket] != 0) {
+					long lowest = bucket == 0 ? 0 : highestValueOf(bucket - 1) + 1;
+					sum += counts[bucket] * (lowest + highestValueOf(bucket)) / 2.0;
+				}
+			}
+			return sum / totalCount;
+		}
+
+		/**
+		* Gets the largest latency recorded, as the largest value of its bucket.
+		*
+		* @return The maximum latency in nanoseconds, or 0 if nothing was recorded.
+		*/
+		public long getMax() {
+			for (int bucket = counts.length - 1; bucket >= 0; bucket--) {
+				if (counts[bucket] != 0) {
+					return highestValueOf(bucket);
+				}
+			}
+			return 0;
+		}
+
+		/**
+		* Returns the count, mean, median, 99th percentile and maximum.
+		*
+		* @return The summary of the snapshot.
+		*/
+		@Override
+		public String toString() {
+			return String.format("count=%d mean=%.0fns p50=%dns p99=%dns max=%dns",
+					totalCount, getMean(), getValueAtPercentile(50), getValueAtPercentile(99), getMax());
+		}
+	}
+
+}
@@ -0,0 +1,334 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : LoadClient
+ * @createDate      : 18 Oct 2026
+ * @description     : Load generator for the GameServer. Opens many connections on one NIO selector thread,<br>
+ *                    each playing random shots for as long as the run lasts, and reports the games completed and shots fired per second.<br>
+ *                    Some bots can be stalled: they fire blindly and never read, so the server has to disconnect them when<br>
+ *                    their output overflows, wherever in a match that happens, and their opponents play on in new matches.<br>
+ *                    Without a host it starts a GameServer in the same process, and checks it is left with no connections<br>
+ *                    or matches once every bot has disconnected.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+public class LoadClient {
+
+	// The size of the input buffer of each bot, large enough for a burst of server messages.
+	private static final int INPUT_CAPACITY = 512;
+
+	// The size of the output buffer of each bot, large enough for one command.
+	private static final int OUTPUT_CAPACITY = 32;
+	
+	// The number of connections being established at once, kept below the server's SYN backlog.
+	private static final int MAX_PENDING_CONNECTS = 256;
+
+	// The random number generator choosing the shots of every bot.
+	private final Random random = new Random();
+
+	// The number of games played to the end by all bots.
+	private long gamesCompleted;
+
+	// The number of shots fired by all bots.
+	private long shotsFired;
+	
+	// The number of ERROR messages received by all bots.
+	private long errors;
+
+	/**
+	* Connects the given number of bots to a server and lets them play until the time runs out.
+	*
+	* @param address     The address of the server.
+	* @param connections The number of bots to connect.
+	* @param stalled     The number of those bots which never read.
+	* @param seconds     How long to play for.
+	* @throws IOException If the selector fails.
+	*/
+	public void run(InetSocketAddress address, int connections, int stalled, int seconds) throws IOException {
+		try (Selector selector = Selector.open()) {
+			int opened = 0;
+			int pending = 0;
+
+			long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+			long remaining;
+			while ((remaining = deadline - System.nanoTime()) > 0) {
+				// Ramp up the connections without overflowing the server's backlog.
+				for (; opened < connections && pending < MAX_PENDING_CONNECTS; opened++, pending++) {
+					SocketChannel channel = SocketChannel.open();
+					channel.configureBlocking(false);
+					channel.connect(address);
+					channel.register(selector, SelectionKey.OP_CONNECT, new Bot(channel, opened < stalled));
+				}
+
+				selector.select(Math.max(1, remaining / 1_000_000));
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					Bot bot = (Bot) key.attachment();
+					try {
+						if (key.isConnectable() && bot.channel.finishConnect()) {
+							key.interestOps(bot.stalled ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+							pending--;
+						}
+						if (key.isValid() && key.isWritable()) {
+							bot.fireBlind();
+						}
+						if (key.isValid() && key.isReadable()) {
+							bot.read(key);
+						}
+					} catch (IOException e) {
+						if (bot.channel.isConnectionPending()) {
+							pending--;
+						}
+						key.cancel();
+						bot.channel.close();
+					}
+				}
+			}
+
+			for (SelectionKey key : selector.keys()) {
+				key.channel().close();
+			}
+		}
+	}
+
+	/**
+	* A connection which plays random shots at squares it has not seen shot at, or fires blindly if it is stalled.
+	*/
+	private final class Bot {
+
+		// The socket of the bot.
+		private final SocketChannel channel;
+
+		// Whether the bot never reads, firing whenever its socket is writable.
+		private final boolean stalled;
+
+		// Bytes received but not yet processed.
+		private final ByteBuffer input = ByteBuffer.allocate(INPUT_CAPACITY);
+
+		// The command being sent.
+		private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_CAPACITY);
+
+		// The number of rows on the current board.
+		private int rows;
+
+		// The number of columns on the current board.
+		private int columns;
+
+		// One bit per square of the current board, set once the square has been shot at by either player.
+		private long[] shots = new long[0];
+
+		// The position of the line parser.
+		private int cursor;
+
+		/**
+		* Constructs a bot for a connecting socket.
+		*
+		* @param channel The socket of the bot.
+		* @param stalled Whether the bot never reads.
+		*/
+		private Bot(SocketChannel channel, boolean stalled) {
+			this.channel = channel;
+			this.stalled = stalled;
+		}
+
+		/**
+		* Reads from the server and handles every complete message line.
+		*
+		* @param key The selection key of the bot.
+		* @throws IOException If the socket fails or is closed by the server.
+		*/
+		private void read(SelectionKey key) throws IOException {
+			if (channel.read(input) < 0) {
+				throw new IOException("Closed by server");
+			}
+			int lineStart = 0;
+			for (int i = 0; i < input.position(); i++) {
+				if (input.get(i) == '\n') {
+					handle(lineStart, i);
+					lineStart = i + 1;
+				}
+			}
+			input.flip();
+			input.position(lineStart);
+			input.compact();
+		}
+
+		/**
+		* Handles one message line from the server.
+		*
+		* @param start The position of the first byte of the line.
+		* @param end   The position of the line break.
+		* @throws IOException If a command cannot be sent.
+		*/
+		private void handle(int start, int end) throws IOException {
+			byte first = input.get(start);
+			byte second = end - start > 1 ? input.get(start + 1) : 0;
+
+			if (first == 'S' && second == 'T') {
+				// START rows columns seat
+				cursor = start + 6;
+				rows = nextNumber(end);
+				columns = nextNumber(end);
+				int words = (rows * columns + 63) >>> 6;
+				if (shots.length != words) {
+					shots = new long[words];
+				} else {
+					Arrays.fill(shots, 0L);
+				}
+			} else if (first == 'T') {
+				fire();
+				shotsFired++;
+			} else if (first == 'G') {
+				gamesCompleted++;
+			} else if (first == 'E' && second == 'R') {
+				errors++;
+			} else if (first != 'E') {
+				// Shot outcomes, ours or the opponent's, end with the row and column.
+				cursor = start;
+				while (cursor < end && (input.get(cursor) < '0' || input.get(cursor) > '9')) {
+					cursor++;
+				}
+				int row = nextNumber(end);
+				int col = nextNumber(end);
+				if (row >= 0 && col >= 0 && row < rows && col < columns) {
+					int cell = row * columns + col;
+					shots[cell >>> 6] |= 1L << cell;
+				}
+			}
+		}
+
+		/**
+		* Fires at a random square which has not been shot at yet.
+		*
+		* @throws IOException If the command cannot be sent.
+		*/
+		private void fire() throws IOException {
+			int cells = rows * columns;
+			int cell = random.nextInt(cells);
+			for (int i = 0; i < cells && (shots[cell >>> 6] & (1L << cell)) != 0; i++) {
+				cell = cell + 1 == cells ? 0 : cell + 1;
+			}
+
+			output.clear();
+			output.put((byte) 'F').put((byte) 'I').put((byte) 'R').put((byte) 'E').put((byte) ' ');
+			putNumber(cell / columns);
+			output.put((byte) ' ');
+			putNumber(cell % columns);
+			output.put((byte) '\n');
+			output.flip();
+			while (output.hasRemaining()) {
+				channel.write(output);
+			}
+		}
+
+		/**
+		* Fires at a random square of a 10x10 board without waiting for a turn, as far as the socket accepts.
+		*
+		* @throws IOException If the server has closed the connection.
+		*/
+		private void fireBlind() throws IOException {
+			if (!output.hasRemaining() || output.limit() == output.capacity()) {
+				output.clear();
+				output.put((byte) 'F').put((byte) 'I').put((byte) 'R').put((byte) 'E').put((byte) ' ');
+				putNumber(random.nextInt(10));
+				output.put((byte) ' ');
+				putNumber(random.nextInt(10));
+				output.put((byte) '\n');
+				output.flip();
+			}
+			channel.write(output);
+		}
+
+		/**
+		* Parses the next non-negative number at the cursor, skipping leading spaces.
+		*
+		* @param end The position of the line break.
+		* @return The number, or -1 if there is none.
+		*/
+		private int nextNumber(int end) {
+			while (cursor < end && input.get(cursor) == ' ') {
+				cursor++;
+			}
+			int number = 0;
+			int digits = 0;
+			while (cursor < end && input.get(cursor) >= '0' && input.get(cursor) <= '9') {
+				number = number * 10 + (input.get(cursor++) - '0');
+				digits++;
+			}
+			return digits == 0 ? -1 : number;
+		}
+
+		/**
+		* Appends the decimal digits of a non-negative number to the output buffer.
+		*
+		* @param number The number to append.
+		*/
+		private void putNumber(int number) {
+			int digits = 1;
+			for (int rest = number / 10; rest > 0; rest /= 10) {
+				digits++;
+			}
+			int end = output.position() + digits;
+			for (int i = end - 1; i >= output.position(); i--) {
+				output.put(i, (byte) ('0' + number % 10));
+				number /= 10;
+			}
+			output.position(end);
+		}
+	}
+
+	/**
+	* Runs the load generator against a server, starting one in this process when no host is given.
+	*
+	* @param args The number of connections, seconds and stalled connections, optionally followed by the host and port of the server.
+	* @throws Exception If the server or the client fails.
+	*/
+	public static void main(String[] args) throws Exception {
+		int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		int stalled = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+		GameServer server = null;
+		InetSocketAddress address;
+		if (args.length > 4) {
+			address = new InetSocketAddress(args[3], Integer.parseInt(args[4]));
+		} else {
+			server = new GameServer(new InetSocketAddress("127.0.0.1", 0), 10, 10);
+			new Thread(server, "game-server").start();
+			address = new InetSocketAddress("127.0.0.1", server.getPort());
+		}
+
+		LoadClient client = new LoadClient();
+		client.run(address, connections, stalled, seconds);
+
+		System.out.println("connections=" + connections + " games=" + client.gamesCompleted / 2
+				+ " games/s=" + client.gamesCompleted / 2 / seconds + " shots/s=" + client.shotsFired / seconds
+				+ " errors=" + client.errors);
+		if (server != null) {
+			// Every bot has disconnected, so the server must be left with no connections and no matches in play.
+			for (int i = 0; i < 100 && server.getConnections() > 0; i++) {
+				Thread.sleep(20);
+			}
+			System.out.println("server connections=" + server.getConnections() + " activeMatches=" + server.getActiveMatches()
+					+ " gamesCompleted=" + server.getGamesCompleted());
+			server.close();
+			if (server.getConnections() != 0 || server.getActiveMatches() != 0) {
+				throw new IllegalStateException("Server left with connections or matches after every bot disconnected");
+			}
+		}
+	}
+
+}
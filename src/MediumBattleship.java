@@ -5,17 +5,20 @@
  * @description      : Represents a medium battleship type in the Battleship game.<br>
  *                     Extends the Battleship class with a specific size and maximum count.<br>
  * @version          : 1.0
- * @lastModifiedBy   :
- * @lastModifiedDate :
+ * @lastModifiedBy   : Giri Liyangi
+ * @lastModifiedDate : 18 Oct 2026
  */
 
 public class MediumBattleship extends Battleship {
 	
     // Static attribute specifying the maximum count of medium battleships on the board
-	public static int MAX_COUNT = 2;
+	public static final int MAX_COUNT = 2;
+	
+    // Static attribute specifying the size of a medium battleship
+	public static final int SIZE = 2;
 	
     // Constructor for MediumBattleship, calling the constructor of the superclass (Battleship) with size 2
 	public MediumBattleship() {
-		super(2);
+		super(SIZE);
 	}
 }
@@ -0,0 +1,453 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : Metrics
+ * @createDate      : 18 Oct 2026
+ * @description     : Process-wide counters and latency histograms for fleet placement, shots fired in turns and board rendering.<br>
+ *                    Instrumentation is off unless the JVM is started with -Dbattleship.metrics=true; the flag is a constant,<br>
+ *                    so when it is off the JIT removes every recording call. When it is on, counters are striped per thread:<br>
+ *                    each thread adds to its own plain counters, and snapshots sum the stripes of every thread, so counting costs<br>
+ *                    no atomic instruction. Placements and renders are sampled: one call in 64 (-Dbattleship.metrics.sampling)<br>
+ *                    is timed and counted with a weight of 64, and the other calls only draw a random number, so that neither<br>
+ *                    the clock nor the counters are on the hot path. Their counts are unbiased estimates, except placement<br>
+ *                    failures, which are rare and counted exactly. Shots are resolved at human or network pace and are all<br>
+ *                    counted and timed.<br>
+ *                    With -Dbattleship.metrics.jfr=true every timed operation is also committed as a JFR event<br>
+ *                    (battleship.Placement, battleship.Shot, battleship.Render) for recordings to pick up.<br>
+ *                    Readings are pulled with snapshot().
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+public class Metrics {
+
+	// Whether instrumentation is on, fixed at startup so that disabled recording compiles away.
+	public static final boolean ENABLED = Boolean.getBoolean("battleship.metrics");
+
+	// Whether timed operations are also committed as JFR events.
+	public static final boolean JFR_EVENTS = ENABLED && Boolean.getBoolean("battleship.metrics.jfr");
+
+	// The start time handed out for operations which are not timed.
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+
+	// Selects the sampled calls: one call in a power of two is timed and counted.
+	private static final int SAMPLE_MASK = Integer.highestOneBit(Math.max(1, Integer.getInteger("battleship.metrics.sampling", 64))) - 1;
+
+	// The number of calls each sampled call counts for.
+	private static final int SAMPLE_WEIGHT = SAMPLE_MASK + 1;
+
+	// Counter index: the number of fleet placements.
+	private static final int PLACEMENTS = 0;
+
+	// Counter index: the number of fleet placements which ran out of legal placements.
+	private static final int PLACEMENT_FAILURES = 1;
+
+	// Counter index: the number of placements drawn for ships, including rejected ones.
+	private static final int PLACEMENT_ATTEMPTS = 2;
+
+	// Counter index: the number of drawn placements rejected because they overlapped a ship.
+	private static final int PLACEMENT_REJECTIONS = 3;
+
+	// Counter index: the first of the counters of shots fired in turns, one per outcome.
+	private static final int SHOTS = 4;
+
+	// Counter index: the number of boards rendered.
+	private static final int RENDERS = SHOTS + 4;
+
+	// Counter index: the number of characters rendered, one byte each in the console and protocol encodings.
+	private static final int RENDERED_CHARS = RENDERS + 1;
+
+	// The number of counters in a stripe.
+	private static final int COUNTERS = RENDERED_CHARS + 1;
+
+	// The counter stripe of every thread which has recorded anything, kept after the thread ends so no counts are lost.
+	private static final Queue<long[]> stripes = new ConcurrentLinkedQueue<>();
+
+	// The counter stripe of the current thread, written only by that thread.
+	private static final ThreadLocal<long[]> stripe = ThreadLocal.withInitial(() -> {
+		long[] counters = new long[COUNTERS];
+		stripes.add(counters);
+		return counters;
+	});
+
+	// The latency of the timed fleet placements.
+	private static final LatencyHistogram placementLatency = new LatencyHistogram();
+
+	// The latency of resolving shots fired in turns.
+	private static final LatencyHistogram shotLatency = new LatencyHistogram();
+
+	// The latency of the timed renders.
+	private static final LatencyHistogram renderLatency = new LatencyHistogram();
+
+	/**
+	* Metrics only has static members.
+	*/
+	private Metrics() {
+	}
+
+	/**
+	* Starts timing an operation.
+	*
+	* @return The start time to pass to the matching record method.
+	*/
+	static long startTimer() {
+		return ENABLED ? System.nanoTime() : NOT_TIMED;
+	}
+
+	/**
+	* Starts timing an operation if it is one of the sampled calls.
+	*
+	* @return The start time to pass to the matching record method, which only times and counts the operation if it was sampled.
+	*/
+	static long startSampledTimer() {
+		return ENABLED && (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0 ? System.nanoTime() : NOT_TIMED;
+	}
+
+	/**
+	* Records a fleet placement.
+	*
+	* @param start      The start time from startSampledTimer.
+	* @param attempts   The number of placements drawn.
+	* @param rejections The number of drawn placements rejected because they overlapped a ship.
+	* @param isPlaced   Whether every ship was placed.
+	*/
+	static void recordPlacement(long start, int attempts, int rejections, boolean isPlaced) {
+		if (!ENABLED) {
+			return;
+		}
+		if (!isPlaced) {
+			stripe.get()[PLACEMENT_FAILURES]++;
+		}
+		if (start != NOT_TIMED) {
+			long nanos = System.nanoTime() - start;
+			long[] counters = stripe.get();
+			counters[PLACEMENTS] += SAMPLE_WEIGHT;
+			counters[PLACEMENT_ATTEMPTS] += (long) attempts * SAMPLE_WEIGHT;
+			counters[PLACEMENT_REJECTIONS] += (long) rejections * SAMPLE_WEIGHT;
+			placementLatency.record(nanos);
+			if (JFR_EVENTS) {
+				PlacementEvent event = new PlacementEvent();
+				event.attempts = attempts;
+				event.rejections = rejections;
+				event.placed = isPlaced;
+				event.latency = nanos;
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	* Records a shot fired in a turn.
+	*
+	* @param start   The start time from startTimer.
+	* @param outcome The outcome of the shot, one of Board.MISS, Board.HIT, Board.SUNK or Board.ALREADY_SHOT.
+	*/
+	static void recordShot(long start, int outcome) {
+		if (!ENABLED) {
+			return;
+		}
+		stripe.get()[SHOTS + outcome]++;
+		if (start != NOT_TIMED) {
+			long nanos = System.nanoTime() - start;
+			shotLatency.record(nanos);
+			if (JFR_EVENTS) {
+				ShotEvent event = new ShotEvent();
+				event.outcome = outcome;
+				event.latency = nanos;
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	* Records a board render.
+	*
+	* @param start The start time from startSampledTimer.
+	* @param chars The number of characters rendered.
+	*/
+	static void recordRender(long start, int chars) {
+		if (!ENABLED) {
+			return;
+		}
+		if (start != NOT_TIMED) {
+			long nanos = System.nanoTime() - start;
+			long[] counters = stripe.get();
+			counters[RENDERS] += SAMPLE_WEIGHT;
+			counters[RENDERED_CHARS] += (long) chars * SAMPLE_WEIGHT;
+			renderLatency.record(nanos);
+			if (JFR_EVENTS) {
+				RenderEvent event = new RenderEvent();
+				event.chars = chars;
+				event.latency = nanos;
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	* Reads every counter and histogram. The stripes are read without synchronization,
+	* so operations recorded concurrently, or very recently on other threads, may or may not be included.
+	*
+	* @return The readings.
+	*/
+	public static Snapshot snapshot() {
+		long[] totals = new long[COUNTERS];
+		for (long[] counters : stripes) {
+			for (int i = 0; i < COUNTERS; i++) {
+				totals[i] += counters[i];
+			}
+		}
+		return new Snapshot(totals[PLACEMENTS], totals[PLACEMENT_FAILURES], totals[PLACEMENT_ATTEMPTS], totals[PLACEMENT_REJECTIONS],
+				Arrays.copyOfRange(totals, SHOTS, SHOTS + 4), totals[RENDERS], totals[RENDERED_CHARS],
+				placementLatency.snapshot(), shotLatency.snapshot(), renderLatency.snapshot());
+	}
+
+	/**
+	* Clears every counter and histogram, for instance between benchmark runs. Counts recorded concurrently may be lost.
+	*/
+	public static void reset() {
+		for (long[] counters : stripes) {
+			Arrays.fill(counters, 0L);
+		}
+		placementLatency.reset();
+		shotLatency.reset();
+		renderLatency.reset();
+	}
+
+	/**
+	* The readings of every counter and histogram at one point in time.
+	*/
+	public static final class Snapshot {
+
+		// The number of fleet placements.
+		private final long placements;
+
+		// The number of fleet placements which ran out of legal placements.
+		private final long placementFailures;
+
+		// The number of placements drawn for ships, including rejected ones.
+		private final long placementAttempts;
+
+		// The number of drawn placements rejected because they overlapped a ship.
+		private final long placementRejections;
+
+		// The number of shots fired in turns, indexed by outcome.
+		private final long[] shots;
+
+		// The number of boards rendered.
+		private final long renders;
+
+		// The number of characters rendered.
+		private final long renderedChars;
+
+		// The latency of the timed fleet placements.
+		private final LatencyHistogram.Snapshot placementLatency;
+
+		// The latency of resolving shots fired in turns.
+		private final LatencyHistogram.Snapshot shotLatency;
+
+		// The latency of the timed renders.
+		private final LatencyHistogram.Snapshot renderLatency;
+
+		/**
+		* Constructs a snapshot from the readings.
+		*/
+		private Snapshot(long placements, long placementFailures, long placementAttempts, long placementRejections,
+				long[] shots, long renders, long renderedChars,
+				LatencyHistogram.Snapshot placementLatency, LatencyHistogram.Snapshot shotLatency, LatencyHistogram.Snapshot renderLatency) {
+			this.placements = placements;
+			this.placementFailures = placementFailures;
+			this.placementAttempts = placementAttempts;
+			this.placementRejections = placementRejections;
+			this.shots = shots;
+			this.renders = renders;
+			this.renderedChars = renderedChars;
+			this.placementLatency = placementLatency;
+			this.shotLatency = shotLatency;
+			this.renderLatency = renderLatency;
+		}
+
+		/**
+		* Gets the estimated number of fleet placements.
+		*
+		* @return The number of placements.
+		*/
+		public long getPlacements() {
+			return placements;
+		}
+
+		/**
+		* Gets the number of fleet placements which ran out of legal placements.
+		*
+		* @return The number of failed placements.
+		*/
+		public long getPlacementFailures() {
+			return placementFailures;
+		}
+
+		/**
+		* Gets the estimated number of placements drawn for ships, including rejected ones.
+		*
+		* @return The number of attempts.
+		*/
+		public long getPlacementAttempts() {
+			return placementAttempts;
+		}
+
+		/**
+		* Gets the estimated number of drawn placements rejected because they overlapped a ship.
+		*
+		* @return The number of rejections.
+		*/
+		public long getPlacementRejections() {
+			return placementRejections;
+		}
+
+		/**
+		* Gets the number of shots fired in turns with an outcome.
+		*
+		* @param outcome The outcome, one of Board.MISS, Board.HIT, Board.SUNK or Board.ALREADY_SHOT.
+		* @return The number of shots.
+		*/
+		public long getShots(int outcome) {
+			return shots[outcome];
+		}
+
+		/**
+		* Gets the estimated number of boards rendered.
+		*
+		* @return The number of renders.
+		*/
+		public long getRenders() {
+			return renders;
+		}
+
+		/**
+		* Gets the estimated number of characters rendered.
+		*
+		* @return The number of characters.
+		*/
+		public long getRenderedChars() {
+			return renderedChars;
+		}
+
+		/**
+		* Gets the latency of the timed fleet placements.
+		*
+		* @return The histogram snapshot.
+		*/
+		public LatencyHistogram.Snapshot getPlacementLatency() {
+			return placementLatency;
+		}
+
+		/**
+		* Gets the latency of resolving shots fired in turns.
+		*
+		* @return The histogram snapshot.
+		*/
+		public LatencyHistogram.Snapshot getShotLatency() {
+			return shotLatency;
+		}
+
+		/**
+		* Gets the latency of the timed renders.
+		*
+		* @return The histogram snapshot.
+		*/
+		public LatencyHistogram.Snapshot getRenderLatency() {
+			return renderLatency;
+		}
+
+		/**
+		* Returns every reading, one group per line.
+		*
+		* @return The readings.
+		*/
+		@Override
+		public String toString() {
+			return "placements=" + placements + " failures=" + placementFailures
+					+ " attempts=" + placementAttempts + " rejections=" + placementRejections + " latency " + placementLatency + "\n"
+					+ "shots miss=" + shots[Board.MISS] + " hit=" + shots[Board.HIT] + " sunk=" + shots[Board.SUNK]
+					+ " repeat=" + shots[Board.ALREADY_SHOT] + " latency " + shotLatency + "\n"
+					+ "renders=" + renders + " chars=" + renderedChars + " latency " + renderLatency;
+		}
+	}
+
+	/**
+	* JFR event for a timed fleet placement.
+	*/
+	@Name("battleship.Placement")
+	@Label("Fleet Placement")
+	@Category("Battleship")
+	@Description("A fleet randomly placed on a board")
+	private static final class PlacementEvent extends Event {
+
+		// The number of placements drawn.
+		@Label("Attempts")
+		private int attempts;
+
+		// The number of drawn placements rejected because they overlapped a ship.
+		@Label("Rejections")
+		private int rejections;
+
+		// Whether every ship was placed.
+		@Label("Placed")
+		private boolean placed;
+
+		// The time the placement took.
+		@Label("Latency")
+		@Timespan(Timespan.NANOSECONDS)
+		private long latency;
+	}
+
+	/**
+	* JFR event for a shot fired in a turn.
+	*/
+	@Name("battleship.Shot")
+	@Label("Shot")
+	@Category("Battleship")
+	@Description("A shot fired in a turn and resolved on the board")
+	private static final class ShotEvent extends Event {
+
+		// The outcome of the shot.
+		@Label("Outcome")
+		private int outcome;
+
+		// The time resolving the shot took.
+		@Label("Latency")
+		@Timespan(Timespan.NANOSECONDS)
+		private long latency;
+	}
+
+	/**
+	* JFR event for a timed board render.
+	*/
+	@Name("battleship.Render")
+	@Label("Render")
+	@Category("Battleship")
+	@Description("A board rendered as text")
+	private static final class RenderEvent extends Event {
+
+		// The number of characters rendered.
+		@Label("Characters")
+		private int chars;
+
+		// The time the render took.
+		@Label("Latency")
+		@Timespan(Timespan.NANOSECONDS)
+		private long latency;
+	}
+
+}
@@ -0,0 +1,284 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : PlacementIndex
+ * @createDate      : 18 Oct 2026
+ * @description     : Index of the legal placements of one ship shape on a board.<br>
+ *                    A placement is anchored at the first square of an orientation of the shape and kept in a dense array<br>
+ *                    with a reverse position map, so a placement can be sampled uniformly in O(1) and the placements blocked<br>
+ *                    by an occupied square removed in O(orientations * size). The index takes two ints per square and<br>
+ *                    orientation of the shape.<br>
+ *                    The index is brought up to date from a log of occupied squares, only when it is about to be sampled,<br>
+ *                    so a board pays nothing for the indexes of shapes it is not placing.<br>
+ *                    Every removal is logged, so the index is brought back to the empty board by undoing the removals<br>
+ *                    in reverse order, in time proportional to the ships placed rather than to the board, leaving the<br>
+ *                    anchors in the same order as when it was built. A board keeps its indexes across resets.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public class PlacementIndex {
+
+	// The number of rows on the indexed board.
+	private final int rows;
+
+	// The number of columns on the indexed board.
+	private final int columns;
+
+	// The shape of the ships this index places.
+	private final ShipShape shape;
+
+	// The number of orientations of the shape.
+	private final int orientations;
+
+	// The legal anchors, each encoded as (row * columns + col) * orientations + orientation, for the first square of the orientation.
+	private final int[] anchors;
+
+	// The position of each encoded anchor in the anchors array, or -1 if the anchor is not legal.
+	private final int[] positions;
+
+	// The number of legal anchors.
+	private int count;
+
+	// The anchors removed since the index was built, each followed by the position it was removed from.
+	private int[] removed = new int[0];
+
+	// The number of entries used in the removal log.
+	private int removedCount;
+
+	// The number of squares of the occupied square log applied since the index was built or restored.
+	private int applied;
+
+	/**
+	* Builds the index of legal placements for the given shape from the current ship occupancy of a board:
+	* every placement on the empty board, less those blocked by the ships already on the board, whose removal is logged
+	* like any other so that restore empties the board. Construction is O(rows * columns).
+	*
+	* @param board The board to index.
+	* @param shape The shape of the ships to place.
+	*/
+	public PlacementIndex(Board board, ShipShape shape) {
+		this(board.getRows(), board.getColumns(), shape);
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < columns; col++) {
+				if (board.hasShipAt(row, col)) {
+					occupySquare(row, col);
+				}
+			}
+		}
+	}
+
+	/**
+	* Builds the index of legal placements for the given shape on an empty board. Construction is O(rows * columns).
+	*
+	* @param rows    The number of rows on the board.
+	* @param columns The number of columns on the board.
+	* @param shape   The shape of the ships to place.
+	*/
+	public PlacementIndex(int rows, int columns, ShipShape shape) {
+		this.rows = rows;
+		this.columns = columns;
+		this.shape = shape;
+		this.orientations = shape.getOrientationCount();
+		this.anchors = new int[rows * columns * orientations];
+		this.positions = new int[rows * columns * orientations];
+		this.count = 0;
+
+		Arrays.fill(positions, -1);
+		for (int row = rows - 1; row >= 0; row--) {
+			for (int col = columns - 1; col >= 0; col--) {
+				for (int orientation = 0; orientation < orientations; orientation++) {
+					if (fits(orientation, row, col)) {
+						add((row * columns + col) * orientations + orientation);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	* Gets the shape of the ships this index places.
+	*
+	* @return The shape.
+	*/
+	public ShipShape getShape() {
+		return shape;
+	}
+
+	/**
+	* Checks if this index places ships of a shape: the same shape, or an equal one parsed separately,
+	* with the same orientations in the same order.
+	*
+	* @param other The shape to check.
+	* @return True if the anchors of this index are placements of the shape, false otherwise.
+	*/
+	public boolean places(ShipShape other) {
+		if (other == shape) {
+			return true;
+		}
+		if (other.getOrientationCount() != orientations) {
+			return false;
+		}
+		for (int orientation = 0; orientation < orientations; orientation++) {
+			if (!Arrays.equals(other.getRowOffsets(orientation), shape.getRowOffsets(orientation))
+					|| !Arrays.equals(other.getColOffsets(orientation), shape.getColOffsets(orientation))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	* Gets the number of legal anchors left in the index.
+	*
+	* @return The number of legal anchors.
+	*/
+	public int size() {
+		return count;
+	}
+
+	/**
+	* Picks a legal anchor uniformly at random.
+	*
+	* @param random The random number generator to use.
+	* @return The encoded anchor, or -1 if no legal anchor is left.
+	*/
+	public int sample(RandomGenerator random) {
+		if (count == 0) {
+			return -1;
+		}
+		return anchors[random.nextInt(count)];
+	}
+
+	/**
+	* Brings the index back to the empty board by undoing every removal since it was built, most recent first.
+	*/
+	public void restore() {
+		while (removedCount > 0) {
+			int position = removed[--removedCount];
+			int anchor = removed[--removedCount];
+
+			// The anchor which was moved into the freed position goes back to the end.
+			int moved = anchors[position];
+			anchors[count] = moved;
+			positions[moved] = count;
+			anchors[position] = anchor;
+			positions[anchor] = position;
+			count++;
+		}
+		applied = 0;
+	}
+
+	/**
+	* Brings the index up to date with a log of occupied squares, applying only the squares added since the last call.
+	* The log must only grow between restores.
+	*
+	* @param cells The row-major index of every occupied square, in the order the squares were occupied.
+	* @param count The number of squares in the log.
+	*/
+	public void catchUp(int[] cells, int count) {
+		for (; applied < count; applied++) {
+			occupySquare(cells[applied] / columns, cells[applied] % columns);
+		}
+	}
+
+	/**
+	* Removes every anchor whose ship would cover the given square.
+	*
+	* @param row The row index of the occupied square.
+	* @param col The column index of the occupied square.
+	*/
+	public void occupySquare(int row, int col) {
+		for (int i = 0; i < shape.getSize(); i++) {
+			for (int orientation = 0; orientation < orientations; orientation++) {
+				int anchorRow = row - shape.getRowOffsets(orientation)[i];
+				int anchorCol = col - shape.getColOffsets(orientation)[i];
+				if (anchorRow >= 0 && anchorCol >= 0 && anchorCol < columns) {
+					remove((anchorRow * columns + anchorCol) * orientations + orientation);
+				}
+			}
+		}
+	}
+
+	/**
+	* Checks if an orientation of the shape, with its first square at the given position, lies on the board.
+	*/
+	private boolean fits(int orientation, int row, int col) {
+		int[] rowOffsets = shape.getRowOffsets(orientation);
+		int[] colOffsets = shape.getColOffsets(orientation);
+		for (int i = 0; i < rowOffsets.length; i++) {
+			int r = row + rowOffsets[i];
+			int c = col + colOffsets[i];
+			if (r >= rows || c < 0 || c >= columns) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	* Adds an encoded anchor to the index.
+	*
+	* @param anchor The encoded anchor.
+	*/
+	private void add(int anchor) {
+		positions[anchor] = count;
+		anchors[count++] = anchor;
+	}
+
+	/**
+	* Removes an encoded anchor from the index by moving the last anchor into its slot.
+	*
+	* @param anchor The encoded anchor, ignored if it is not in the index.
+	*/
+	private void remove(int anchor) {
+		int position = positions[anchor];
+		if (position < 0) {
+			return;
+		}
+		int last = anchors[--count];
+		anchors[position] = last;
+		positions[last] = position;
+		positions[anchor] = -1;
+
+		if (removedCount + 2 > removed.length) {
+			removed = Arrays.copyOf(removed, Math.max(16, removed.length * 2));
+		}
+		removed[removedCount++] = anchor;
+		removed[removedCount++] = position;
+	}
+
+	/**
+	* Decodes the row of the first square of an encoded anchor.
+	*
+	* @param anchor The encoded anchor.
+	* @return The row of the first square.
+	*/
+	public int anchorRow(int anchor) {
+		return anchor / orientations / columns;
+	}
+
+	/**
+	* Decodes the column of the first square of an encoded anchor.
+	*
+	* @param anchor The encoded anchor.
+	* @return The column of the first square.
+	*/
+	public int anchorColumn(int anchor) {
+		return anchor / orientations % columns;
+	}
+
+	/**
+	* Decodes the orientation of an encoded anchor.
+	*
+	* @param anchor The encoded anchor.
+	* @return The orientation of the shape, for lines 0 if the ship is horizontal.
+	*/
+	public int anchorOrientation(int anchor) {
+		return anchor % orientations;
+	}
+
+}
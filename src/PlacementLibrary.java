@@ -0,0 +1,435 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : PlacementLibrary
+ * @createDate      : 18 Oct 2026
+ * @description     : Memory-mapped library of precomputed fleet layouts for one board size and fleet spec.<br>
+ *                    The generator draws millions of layouts offline with Board.placeFleet, each an independent draw seeded<br>
+ *                    per task like BatchRunner, and writes them as fixed-width records. A board is then set up by picking a<br>
+ *                    record uniformly at random, so its fleet has the distribution of placeFleet, at the cost of one bounds-checked<br>
+ *                    read of the mapped file and no random sampling or overlap checks against rejected draws. That read usually<br>
+ *                    misses the cache, so on the classic board, where placeFleet rarely redraws, the library is no faster than<br>
+ *                    placing the fleet live. It pays off on crowded boards, as its cost does not grow with the redraws.<br>
+ *                    Record: one entry per ship in fleet order, each its first square * 8 + orientation (2 bytes on boards up to<br>
+ *                    8192 squares, 4 bytes above), then a 4 byte checksum of the entries and the record index.<br>
+ *                    Layout: header [magic, version, rows, columns, ships, entry bytes, layout count, fleet fingerprint,<br>
+ *                    CRC32C of the records] followed by the records. Every record is checked when read, the whole file by verify.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+import java.util.zip.CRC32C;
+
+public class PlacementLibrary {
+
+	// Identifies a placement library file ("BSPL").
+	private static final int MAGIC = 0x4253504C;
+
+	// The version of the file layout.
+	private static final int VERSION = 1;
+
+	// The size of the file header in bytes.
+	private static final int HEADER_BYTES = 48;
+
+	// The number of layouts generated by one task.
+	private static final long LAYOUTS_PER_TASK = 16384;
+
+	// The number of placements in a row which may fail before the fleet is taken not to fit the board.
+	private static final int MAX_FAILURES = 1000;
+
+	// The records of the library, mapped read-only.
+	private final MappedByteBuffer records;
+
+	// The number of rows on the boards.
+	private final int rows;
+
+	// The number of columns on the boards.
+	private final int columns;
+
+	// The fleet of every layout.
+	private final FleetSpec fleetSpec;
+
+	// The shape of each ship, in fleet order.
+	private final ShipShape[] shapes;
+
+	// The number of bytes of one ship entry.
+	private final int entryBytes;
+
+	// The number of bytes of one record.
+	private final int recordBytes;
+
+	// The number of layouts in the library.
+	private final long layoutCount;
+
+	// The CRC32C of the records, as written in the header.
+	private final int recordsCrc;
+
+	/**
+	* Constructs a library over mapped records.
+	*/
+	private PlacementLibrary(MappedByteBuffer records, int rows, int columns, FleetSpec fleetSpec, long layoutCount, int recordsCrc) {
+		this.records = records;
+		this.rows = rows;
+		this.columns = columns;
+		this.fleetSpec = fleetSpec;
+		this.shapes = shipShapes(fleetSpec);
+		this.entryBytes = entryBytes(rows, columns);
+		this.recordBytes = recordBytes(rows, columns, fleetSpec);
+		this.layoutCount = layoutCount;
+		this.recordsCrc = recordsCrc;
+	}
+
+	/**
+	* Draws layouts of a fleet on a board size and writes them to a library file, replacing it atomically.
+	*
+	* @param path      The library file.
+	* @param rows      The number of rows on the board.
+	* @param columns   The number of columns on the board.
+	* @param fleetSpec The fleet to place.
+	* @param layouts   The number of layouts.
+	* @param seed      The master seed from which every layout is drawn, so a seed always gives the same file.
+	* @param pool      The pool to draw the layouts on.
+	* @throws IOException              If the file cannot be written.
+	* @throws IllegalArgumentException If the file would be too large, or the fleet does not fit the board.
+	*/
+	public static void generate(Path path, int rows, int columns, FleetSpec fleetSpec, long layouts, long seed, ForkJoinPool pool) throws IOException {
+		long recordBytes = recordBytes(rows, columns, fleetSpec);
+		if (layouts <= 0 || layouts > (Integer.MAX_VALUE - HEADER_BYTES) / recordBytes) {
+			throw new IllegalArgumentException("Invalid number of layouts: " + layouts);
+		}
+		long size = HEADER_BYTES + layouts * recordBytes;
+
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			pool.invoke(new GenerateTask(file, rows, columns, fleetSpec, 0, layouts, seed));
+
+			CRC32C crc = new CRC32C();
+			crc.update(file.slice(HEADER_BYTES, (int) (size - HEADER_BYTES)));
+			file.putInt(0, MAGIC);
+			file.putInt(4, VERSION);
+			file.putInt(8, rows);
+			file.putInt(12, columns);
+			file.putInt(16, fleetSpec.getShipCount());
+			file.putInt(20, entryBytes(rows, columns));
+			file.putLong(24, layouts);
+			file.putLong(32, fingerprint(fleetSpec));
+			file.putInt(40, (int) crc.getValue());
+			file.force();
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	* Maps a library file for reading. Only the header is checked here, records are checked as they are read.
+	*
+	* @param path      The library file.
+	* @param fleetSpec The fleet the library was generated for.
+	* @return The library.
+	* @throws IOException If the file cannot be read, is not a library, or is for another fleet.
+	*/
+	public static PlacementLibrary open(Path path, FleetSpec fleetSpec) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+				throw new IOException(path + " is not a version " + VERSION + " placement library");
+			}
+			MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+				throw new IOException(path + " is not a version " + VERSION + " placement library");
+			}
+			int rows = file.getInt(8);
+			int columns = file.getInt(12);
+			if (rows <= 0 || columns <= 0 || file.getInt(16) != fleetSpec.getShipCount() || file.getInt(20) != entryBytes(rows, columns)
+					|| file.getLong(32) != fingerprint(fleetSpec)) {
+				throw new IOException(path + " is not a library of the fleet " + fleetSpec);
+			}
+			long layoutCount = file.getLong(24);
+			if (layoutCount <= 0 || HEADER_BYTES + layoutCount * recordBytes(rows, columns, fleetSpec) != size) {
+				throw new IOException(path + " is truncated");
+			}
+			MappedByteBuffer records = file.slice(HEADER_BYTES, (int) (size - HEADER_BYTES));
+			return new PlacementLibrary(records, rows, columns, fleetSpec, layoutCount, file.getInt(40));
+		}
+	}
+
+	/**
+	* Gets the number of rows on the boards of the library.
+	*
+	* @return The number of rows.
+	*/
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	* Gets the number of columns on the boards of the library.
+	*
+	* @return The number of columns.
+	*/
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	* Gets the fleet of the library.
+	*
+	* @return The fleet spec.
+	*/
+	public FleetSpec getFleetSpec() {
+		return fleetSpec;
+	}
+
+	/**
+	* Gets the number of layouts in the library.
+	*
+	* @return The number of layouts.
+	*/
+	public long getLayoutCount() {
+		return layoutCount;
+	}
+
+	/**
+	* Places a layout drawn uniformly from the library, using the board's random number generator.
+	*
+	* @param board An empty board of the library's size.
+	* @throws IllegalStateException If the drawn layout is corrupt.
+	*/
+	public void placeRandom(Board board) {
+		place(board, board.getRandom().nextLong(layoutCount));
+	}
+
+	/**
+	* Places a layout drawn uniformly from the library.
+	*
+	* @param board  An empty board of the library's size.
+	* @param random The random number generator.
+	* @throws IllegalStateException If the drawn layout is corrupt.
+	*/
+	public void placeRandom(Board board, RandomGenerator random) {
+		place(board, random.nextLong(layoutCount));
+	}
+
+	/**
+	* Places a layout of the library on a board. The record is checked against its checksum first,
+	* and if its ships still do not fit the board, the board is reset before the exception is thrown.
+	*
+	* @param board An empty board of the library's size.
+	* @param index The index of the layout, from 0 to getLayoutCount() - 1.
+	* @throws IllegalArgumentException  If the board is not of the library's size.
+	* @throws IndexOutOfBoundsException If the index is outside the library.
+	* @throws IllegalStateException     If the layout is corrupt.
+	*/
+	public void place(Board board, long index) {
+		if (board.getRows() != rows || board.getColumns() != columns) {
+			throw new IllegalArgumentException("The library is for a " + rows + "x" + columns + " board");
+		}
+		if (index < 0 || index >= layoutCount) {
+			throw new IndexOutOfBoundsException("Layout " + index + " is outside the library of " + layoutCount);
+		}
+		long start = Metrics.startSampledTimer();
+		int offset = (int) (index * recordBytes);
+		int entriesEnd = offset + shapes.length * entryBytes;
+		if (records.getInt(entriesEnd) != checksum(records, offset, entriesEnd, entryBytes, index)) {
+			throw new IllegalStateException("Layout " + index + " is corrupt");
+		}
+
+		for (int ship = 0; ship < shapes.length; ship++) {
+			int entry = entryBytes == 2 ? records.getShort(offset + ship * 2) & 0xFFFF : records.getInt(offset + ship * 4);
+			int cell = entry >>> 3;
+			if (!board.placeShapeAt(shapes[ship], entry & 7, cell / columns, cell % columns)) {
+				board.reset();
+				throw new IllegalStateException("Layout " + index + " does not fit the board");
+			}
+		}
+		Metrics.recordPlacement(start, shapes.length, 0, true);
+	}
+
+	/**
+	* Checks the CRC32C of every record against the header, reading the whole file.
+	*
+	* @throws IllegalStateException If the records are corrupt.
+	*/
+	public void verify() {
+		CRC32C crc = new CRC32C();
+		crc.update(records.duplicate());
+		if ((int) crc.getValue() != recordsCrc) {
+			throw new IllegalStateException("The placement library is corrupt");
+		}
+	}
+
+	/**
+	* Gets the shape of each ship of a fleet, in the order placeFleet places them.
+	*/
+	private static ShipShape[] shipShapes(FleetSpec fleetSpec) {
+		ShipShape[] shapes = new ShipShape[fleetSpec.getShipCount()];
+		int ship = 0;
+		for (int kind = 0; kind < fleetSpec.getShapeCount(); kind++) {
+			for (int i = 0; i < fleetSpec.getCount(kind); i++) {
+				shapes[ship++] = fleetSpec.getShape(kind);
+			}
+		}
+		return shapes;
+	}
+
+	/**
+	* Gets the number of bytes of one ship entry on a board size.
+	*/
+	private static int entryBytes(int rows, int columns) {
+		return (long) rows * columns * 8 <= 0x10000 ? 2 : 4;
+	}
+
+	/**
+	* Gets the number of bytes of one record on a board size.
+	*/
+	private static int recordBytes(int rows, int columns, FleetSpec fleetSpec) {
+		return fleetSpec.getShipCount() * entryBytes(rows, columns) + Integer.BYTES;
+	}
+
+	/**
+	* Hashes a fleet spec, so that a library is never read for another fleet.
+	*/
+	private static long fingerprint(FleetSpec fleetSpec) {
+		String spec = fleetSpec.toString();
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0; i < spec.length(); i++) {
+			hash = (hash ^ spec.charAt(i)) * 0x100000001B3L;
+		}
+		return hash;
+	}
+
+	/**
+	* Checksums the entries of a record together with its index, so that a record copied to another index is caught too.
+	*/
+	private static int checksum(ByteBuffer buffer, int start, int end, int entryBytes, long index) {
+		int hash = (int) (index ^ index >>> 32) * 0x9E3779B9;
+		for (int i = start; i < end; i += entryBytes) {
+			int entry = entryBytes == 2 ? buffer.getShort(i) & 0xFFFF : buffer.getInt(i);
+			hash = Integer.rotateLeft(hash ^ entry, 13) * 0x85EBCA6B;
+		}
+		return hash ^ hash >>> 16;
+	}
+
+	/**
+	* Splits a range of layouts in half until it is small enough to draw on one thread, and writes its records.
+	*/
+	private static final class GenerateTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		// The mapped file being written.
+		private final transient MappedByteBuffer file;
+
+		// The number of rows on the board.
+		private final int rows;
+
+		// The number of columns on the board.
+		private final int columns;
+
+		// The fleet to place.
+		private final transient FleetSpec fleetSpec;
+
+		// The index of the first layout of this task.
+		private final long first;
+
+		// The number of layouts in this task.
+		private final long layouts;
+
+		// The master seed of the run.
+		private final long seed;
+
+		/**
+		* Constructs a task for a range of layouts.
+		*/
+		private GenerateTask(MappedByteBuffer file, int rows, int columns, FleetSpec fleetSpec, long first, long layouts, long seed) {
+			this.file = file;
+			this.rows = rows;
+			this.columns = columns;
+			this.fleetSpec = fleetSpec;
+			this.first = first;
+			this.layouts = layouts;
+			this.seed = seed;
+		}
+
+		@Override
+		protected void compute() {
+			if (layouts > LAYOUTS_PER_TASK) {
+				invokeAll(new GenerateTask(file, rows, columns, fleetSpec, first, layouts / 2, seed),
+						new GenerateTask(file, rows, columns, fleetSpec, first + layouts / 2, layouts - layouts / 2, seed));
+				return;
+			}
+
+			Board board = new Board(rows, columns);
+			board.setRandom(BatchRunner.GENERATORS.create(BatchRunner.taskSeed(seed, first)));
+			int entryBytes = entryBytes(rows, columns);
+			int recordBytes = recordBytes(rows, columns, fleetSpec);
+			for (long index = first; index < first + layouts; index++) {
+				int failures = 0;
+				board.reset();
+				while (!board.placeFleet(fleetSpec)) {
+					if (++failures == MAX_FAILURES) {
+						throw new IllegalArgumentException("The fleet " + fleetSpec + " rarely fits a " + rows + "x" + columns + " board");
+					}
+					board.reset();
+				}
+
+				// Records are written with absolute puts, so tasks writing their own ranges never share buffer state.
+				int offset = HEADER_BYTES + (int) (index * recordBytes);
+				for (int ship = 0; ship < board.getFleetSize(); ship++) {
+					int anchor = board.getShipAnchor(ship);
+					Battleship battleship = board.getShip(ship);
+					int orientation = battleship.isLine() ? ((anchor & 1) != 0 ? 0 : 1) : battleship.getOrientation();
+					int entry = (anchor >>> 1) * 8 + orientation;
+					if (entryBytes == 2) {
+						file.putShort(offset + ship * 2, (short) entry);
+					} else {
+						file.putInt(offset + ship * 4, entry);
+					}
+				}
+				int entriesEnd = offset + board.getFleetSize() * entryBytes;
+				file.putInt(entriesEnd, checksum(file, offset, entriesEnd, entryBytes, index));
+			}
+		}
+	}
+
+	/**
+	* Generates a placement library.
+	*
+	* @param args The number of layouts, optionally followed by the board size such as "10x10", a fleet spec such as
+	*             "1x3, 2x2, 3x1", a master seed and the library file.
+	* @throws IOException If the library cannot be written.
+	*/
+	public static void main(String[] args) throws IOException {
+		long layouts = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+		String[] dimensions = (args.length > 1 ? args[1] : "10x10").trim().split("x");
+		int rows = Integer.parseInt(dimensions[0]);
+		int columns = Integer.parseInt(dimensions[1]);
+		FleetSpec fleetSpec = args.length > 2 ? FleetSpec.parse(args[2]) : FleetSpec.STANDARD;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+		Path path = Paths.get(args.length > 4 ? args[4] : "placements-" + rows + "x" + columns + ".bin");
+
+		long start = System.nanoTime();
+		generate(path, rows, columns, fleetSpec, layouts, seed, ForkJoinPool.commonPool());
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%s: %d layouts of %s on %dx%d, %d bytes, %.2f s%n",
+				path, layouts, fleetSpec, rows, columns, Files.size(path), seconds);
+		System.out.println("seed " + seed);
+	}
+
+}
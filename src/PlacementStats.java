@@ -0,0 +1,369 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : PlacementStats
+ * @createDate      : 18 Oct 2026
+ * @description     : Command-line tool measuring how random fleet placement fills a board: how often each square holds a ship<br>
+ *                    and how often the fleet cannot be placed at all, for several board sizes and any fleet spec.<br>
+ *                    Samples are spread over a fork-join pool. Each worker thread reuses its own board and counts occupied<br>
+ *                    squares in its own primitive array; the arrays are only summed once every sample is done, so workers<br>
+ *                    never write to shared memory. Runs are seeded per task like BatchRunner, so they are reproducible.<br>
+ *                    Writes a heat map per board size and a summary with the failure rate and occupancy percentiles, as CSV.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class PlacementStats {
+
+	// The number of samples a task places itself instead of splitting further.
+	private static final long SAMPLES_PER_TASK = 16384;
+
+	// The percentiles of square occupancy reported in the summary.
+	private static final double[] PERCENTILES = {0, 1, 5, 25, 50, 75, 95, 99, 100};
+
+	// The number of rows on the board.
+	private final int rows;
+
+	// The number of columns on the board.
+	private final int columns;
+
+	// The fleet placed on the board.
+	private final FleetSpec fleetSpec;
+
+	// The number of samples in which each square held a ship, indexed in row-major order.
+	private final long[] occupied;
+
+	// The number of samples drawn.
+	private long samples;
+
+	// The number of samples in which the fleet could not be placed.
+	private long failures;
+
+	/**
+	* Constructs the empty statistics of a fleet on a board size.
+	*
+	* @param rows      The number of rows on the board.
+	* @param columns   The number of columns on the board.
+	* @param fleetSpec The fleet placed on the board.
+	*/
+	private PlacementStats(int rows, int columns, FleetSpec fleetSpec) {
+		this.rows = rows;
+		this.columns = columns;
+		this.fleetSpec = fleetSpec;
+		this.occupied = new long[rows * columns];
+	}
+
+	/**
+	* Places a fleet on a board size many times and counts how often each square held a ship.
+	*
+	* @param rows      The number of rows on the board.
+	* @param columns   The number of columns on the board.
+	* @param fleetSpec The fleet to place.
+	* @param samples   The number of placements.
+	* @param seed      The master seed from which every placement is drawn.
+	* @param pool      The pool to place the fleets on.
+	* @return The statistics, the same for every run with the same seed.
+	*/
+	public static PlacementStats sample(int rows, int columns, FleetSpec fleetSpec, long samples, long seed, ForkJoinPool pool) {
+		Queue<PlacementStats> partials = new ConcurrentLinkedQueue<>();
+		ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> {
+			Worker worker = new Worker(rows, columns, fleetSpec);
+			partials.add(worker.stats);
+			return worker;
+		});
+		pool.invoke(new SampleTask(workers, 0, samples, seed));
+
+		// Every task has been joined, so the workers' counts are complete and visible here.
+		PlacementStats total = new PlacementStats(rows, columns, fleetSpec);
+		for (PlacementStats partial : partials) {
+			total.samples += partial.samples;
+			total.failures += partial.failures;
+			for (int cell = 0; cell < total.occupied.length; cell++) {
+				total.occupied[cell] += partial.occupied[cell];
+			}
+		}
+		return total;
+	}
+
+	/**
+	* Gets the number of samples drawn.
+	*
+	* @return The number of samples.
+	*/
+	public long getSamples() {
+		return samples;
+	}
+
+	/**
+	* Gets the number of samples in which the fleet could not be placed.
+	*
+	* @return The number of failed placements.
+	*/
+	public long getFailures() {
+		return failures;
+	}
+
+	/**
+	* Gets the fraction of the placed fleets which covered a square. Failed placements are left out.
+	*
+	* @param row The row index of the square.
+	* @param col The column index of the square.
+	* @return The occupancy of the square, from 0 to 1.
+	*/
+	public double getOccupancy(int row, int col) {
+		long placed = samples - failures;
+		return placed == 0 ? 0 : (double) occupied[row * columns + col] / placed;
+	}
+
+	/**
+	* Gets a percentile of the occupancy of the squares, by nearest rank.
+	*
+	* @param percentile The percentile, from 0 to 100.
+	* @return The occupancy at the percentile, from 0 to 1.
+	*/
+	public double getOccupancyPercentile(double percentile) {
+		return percentileOf(sortedOccupancies(), percentile);
+	}
+
+	/**
+	* Writes the occupancy of every square as CSV, one line per row of the board.
+	*
+	* @param out The writer to write the heat map to.
+	* @throws IOException If the writer fails.
+	*/
+	public void writeHeatMap(BufferedWriter out) throws IOException {
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < columns; col++) {
+				if (col > 0) {
+					out.write(',');
+				}
+				out.write(String.format(Locale.ROOT, "%.6f", getOccupancy(row, col)));
+			}
+			out.newLine();
+		}
+	}
+
+	/**
+	* Writes the header of the summary CSV.
+	*
+	* @param out The writer to write the header to.
+	* @throws IOException If the writer fails.
+	*/
+	public static void writeSummaryHeader(BufferedWriter out) throws IOException {
+		out.write("rows,columns,fleet,samples,failures,failure_rate,mean");
+		for (double percentile : PERCENTILES) {
+			out.write(",p" + (int) percentile);
+		}
+		out.newLine();
+	}
+
+	/**
+	* Writes the summary of the statistics as one CSV line: the failure rate and the mean and percentiles of square occupancy.
+	*
+	* @param out The writer to write the summary to.
+	* @throws IOException If the writer fails.
+	*/
+	public void writeSummary(BufferedWriter out) throws IOException {
+		double[] sorted = sortedOccupancies();
+		double mean = 0;
+		for (double occupancy : sorted) {
+			mean += occupancy;
+		}
+		mean /= sorted.length;
+
+		out.write(String.format(Locale.ROOT, "%d,%d,\"%s\",%d,%d,%.6f,%.6f", rows, columns, fleetSpec, samples, failures,
+				samples == 0 ? 0.0 : (double) failures / samples, mean));
+		for (double percentile : PERCENTILES) {
+			out.write(String.format(Locale.ROOT, ",%.6f", percentileOf(sorted, percentile)));
+		}
+		out.newLine();
+	}
+
+	/**
+	* Gets the occupancy of every square, in ascending order.
+	*
+	* @return The sorted occupancies.
+	*/
+	private double[] sortedOccupancies() {
+		double[] sorted = new double[occupied.length];
+		for (int cell = 0; cell < occupied.length; cell++) {
+			sorted[cell] = getOccupancy(cell / columns, cell % columns);
+		}
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	* Gets a percentile of sorted values by nearest rank.
+	*
+	* @param sorted     The values in ascending order.
+	* @param percentile The percentile, from 0 to 100.
+	* @return The value at the percentile.
+	*/
+	private static double percentileOf(double[] sorted, double percentile) {
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+	}
+
+	/**
+	* The board and counts owned by one worker thread.
+	*/
+	private static final class Worker {
+
+		// The board reused for every sample placed by the worker.
+		private final Board board;
+
+		// The fleet placed on the board.
+		private final FleetSpec fleetSpec;
+
+		// The counts of the worker, only written by its thread.
+		private final PlacementStats stats;
+
+		/**
+		* Constructs a worker for a board size and fleet.
+		*
+		* @param rows      The number of rows on the board.
+		* @param columns   The number of columns on the board.
+		* @param fleetSpec The fleet placed on the board.
+		*/
+		private Worker(int rows, int columns, FleetSpec fleetSpec) {
+			this.board = new Board(rows, columns);
+			this.fleetSpec = fleetSpec;
+			this.stats = new PlacementStats(rows, columns, fleetSpec);
+		}
+
+		/**
+		* Places the fleet a number of times and counts the squares covered by each placed fleet.
+		*
+		* @param samples The number of placements.
+		* @param seed    The seed of the placements.
+		*/
+		private void sample(long samples, long seed) {
+			board.setRandom(BatchRunner.GENERATORS.create(seed));
+			long[] occupied = stats.occupied;
+			int columns = board.getColumns();
+			for (long i = 0; i < samples; i++) {
+				board.reset();
+				if (!board.placeFleet(fleetSpec)) {
+					stats.failures++;
+					continue;
+				}
+				// Walk the squares of each ship rather than the whole board, so large boards cost no more per sample.
+				for (int ship = 0; ship < board.getFleetSize(); ship++) {
+					Battleship battleship = board.getShip(ship);
+					int anchor = board.getShipAnchor(ship);
+					int first = anchor >>> 1;
+					if (battleship.isLine()) {
+						int step = (anchor & 1) != 0 ? 1 : columns;
+						for (int square = 0; square < battleship.getSize(); square++) {
+							occupied[first + square * step]++;
+						}
+					} else {
+						int[] rowOffsets = battleship.getShape().getRowOffsets(battleship.getOrientation());
+						int[] colOffsets = battleship.getShape().getColOffsets(battleship.getOrientation());
+						for (int square = 0; square < rowOffsets.length; square++) {
+							occupied[first + rowOffsets[square] * columns + colOffsets[square]]++;
+						}
+					}
+				}
+			}
+			stats.samples += samples;
+		}
+	}
+
+	/**
+	* Splits a range of samples in half until it is small enough to place on one worker.
+	*/
+	private static final class SampleTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		// The worker of each thread.
+		private final transient ThreadLocal<Worker> workers;
+
+		// The index of the first sample of this task.
+		private final long first;
+
+		// The number of samples in this task.
+		private final long samples;
+
+		// The master seed of the run.
+		private final long seed;
+
+		/**
+		* Constructs a task for a range of samples.
+		*
+		* @param workers The worker of each thread.
+		* @param first   The index of the first sample of the task.
+		* @param samples The number of samples.
+		* @param seed    The master seed of the run.
+		*/
+		private SampleTask(ThreadLocal<Worker> workers, long first, long samples, long seed) {
+			this.workers = workers;
+			this.first = first;
+			this.samples = samples;
+			this.seed = seed;
+		}
+
+		@Override
+		protected void compute() {
+			if (samples <= SAMPLES_PER_TASK) {
+				workers.get().sample(samples, BatchRunner.taskSeed(seed, first));
+				return;
+			}
+			invokeAll(new SampleTask(workers, first, samples / 2, seed),
+					new SampleTask(workers, first + samples / 2, samples - samples / 2, seed));
+		}
+	}
+
+	/**
+	* Samples fleet placements on one or more board sizes and writes the statistics as CSV:
+	* heatmap-ROWSxCOLUMNS.csv per board size and placement-stats.csv with one summary line per board size.
+	*
+	* @param args The number of samples per board size, optionally followed by board sizes such as "10x10,8x12",
+	*             a fleet spec such as "1x3, 2x2, 3x1", a master seed and an output directory.
+	* @throws IOException If the output cannot be written.
+	*/
+	public static void main(String[] args) throws IOException {
+		long samples = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+		String[] sizes = (args.length > 1 ? args[1] : "10x10").split(",");
+		FleetSpec fleetSpec = args.length > 2 ? FleetSpec.parse(args[2]) : FleetSpec.STANDARD;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+		Path directory = Paths.get(args.length > 4 ? args[4] : ".");
+		Files.createDirectories(directory);
+
+		try (BufferedWriter summary = Files.newBufferedWriter(directory.resolve("placement-stats.csv"))) {
+			writeSummaryHeader(summary);
+			for (String size : sizes) {
+				String[] dimensions = size.trim().split("x");
+				int rows = Integer.parseInt(dimensions[0]);
+				int columns = Integer.parseInt(dimensions[1]);
+
+				long start = System.nanoTime();
+				PlacementStats stats = sample(rows, columns, fleetSpec, samples, seed, ForkJoinPool.commonPool());
+				double seconds = (System.nanoTime() - start) / 1e9;
+
+				try (BufferedWriter heatMap = Files.newBufferedWriter(directory.resolve("heatmap-" + rows + "x" + columns + ".csv"))) {
+					stats.writeHeatMap(heatMap);
+				}
+				stats.writeSummary(summary);
+				System.out.printf("%dx%d: %d samples, %d failures, %.2f s, %.0f samples/s%n",
+						rows, columns, samples, stats.getFailures(), seconds, samples / seconds);
+			}
+		}
+		System.out.println("seed " + seed);
+	}
+
+}
@@ -4,23 +4,34 @@
 * @createDate      : 05 Nov 2023
 * @description     : Represents a player in the Battleship game with a name, associated game board, and score.
 * @version         : 1.0
-* @lastModifiedBy  :
-* @lastModifiedDate:
+* @lastModifiedBy  : Giri Liyangi
+* @lastModifiedDate: 18 Oct 2026
 */
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
 
 public class Player {
 	
 	// The name of the player
 	private String name;
 	
-	// The game board associated with the player.
+	// The game board associated with the player, which the player fires at.
 	private Board board;
 	
+	// The game board holding the player's own fleet, the same as board until the player is given an opponent.
+	private Board fleetBoard;
+	
 	// The player's score.
 	private int score;
 	
+	// The event log recording the player's shots, or null when the player is not logged.
+	private GameLog gameLog;
+	
+	// The seat of the player in the event log, 0 for the first player and 1 for the second.
+	private int seat;
+	
 	/**
     * Constructs a Player object with the specified name and an associated game board. 
     * The initial score is set to 0.
@@ -31,9 +42,40 @@ public class Player {
 	public Player(String name, Board board) {
 		this.name = name;
 		this.board = board;
+		this.fleetBoard = board;
 		this.score = 0;
 	}
 	
+	/**
+    * Makes the player fire at the opponent's fleet board from now on, keeping its own board as its fleet.
+    * Each of two players is given the other as opponent for a game on two boards.
+    *
+    * @param opponent the player whose fleet this player targets.
+    */
+	public void setOpponent(Player opponent) {
+		this.board = opponent.fleetBoard;
+	}
+	
+	/**
+    * Moves the player to another board, which becomes both its fleet board and the board it fires at.
+    * Used to seat a player kept between games at a new game's board.
+    *
+    * @param board the new game board.
+    */
+	public void setBoard(Board board) {
+		this.board = board;
+		this.fleetBoard = board;
+	}
+	
+	/**
+    * Gets the game board holding the player's own fleet.
+    *
+    * @return the fleet board.
+    */
+	public Board getFleetBoard() {
+		return fleetBoard;
+	}
+	
 	/**
     * Gets the name of the player.
     *
@@ -62,68 +104,165 @@ public class Player {
 	}
 	
 	/**
-    * Takes a turn for the player by prompting them to input a guess and processing the guess on the game board.
+    * Sets the player's score, used when restoring a saved game.
+    *
+    * @param score the new score.
+    */
+	public void setScore(int score) {
+		this.score = score;
+	}
+	
+	/**
+    * Sets the event log which records every shot the player fires from now on.
+    *
+    * @param gameLog the event log, or null to stop logging.
+    * @param seat the seat of the player in the log, 0 for the first player and 1 for the second.
+    */
+	public void setGameLog(GameLog gameLog, int seat) {
+		this.gameLog = gameLog;
+		this.seat = seat;
+	}
+	
+	/**
+    * Takes a turn for the player by prompting them to input a guess on the console and processing the guess on the game board.
     *
     * @return True if the player successfully hits and sinks the final battleship, otherwise false.
     */
 	public boolean takeTurn() {
+		return takeTurn(CommandReader.console());
+	}
 		
-		Scanner scanner = new Scanner(System.in);
-		
-		System.out.println(name + ", enter your guess (e.g., 'x y' - where x is the row and y is the column ): ");
+	/**
+    * Takes a turn for the player by prompting them to input a guess and processing the guess on the game board.
+    * Guesses which cannot be parsed or lie off the board are reported and asked for again.
+    *
+    * @param input the reader of the player's commands.
+    * @return True if the player successfully hits and sinks the final battleship, otherwise false.
+    * @throws NoSuchElementException if the input ends before a valid guess.
+    * @throws UncheckedIOException if the input cannot be read.
+    */
+	public boolean takeTurn(CommandReader input) {
 		
-		String input = scanner.nextLine();
-		String[] guess = input.split(" ");
+		System.out.println(getPrompt());
 		
-		int rowGuess, columnGuess;
+		int status;
+		try {
+			while ((status = input.next(board.getRows(), board.getColumns())) != CommandReader.SHOT) {
+				if (status == CommandReader.END_OF_INPUT) {
+					throw new NoSuchElementException("The input ended before " + name + "'s guess");
+				}
+				System.out.println(describeInvalidGuess(status));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 		
-		rowGuess = Integer.parseInt(guess[0]);
-		columnGuess = Integer.parseInt(guess[1]);
+		int rowGuess = input.getRow();
+		int columnGuess = input.getColumn();
 		
 		/** Processing the player's guess:
 		* If the guess has not been previously shot and the square contains a ship, register a HIT,<br>
 		* mark the square as shot, take a hit on the battleship, and check if the battleship is now sunk.
 		* 
-		* If sunk, decrease the remaining ships and increment the player's score.
+		* If sunk, the board decreases the remaining ships and the player's score is incremented by fireAt.
 		* 
 		* If the player has already attacked the square, display a message indicating a lost turn.
 		* 
 		* If the guess is a MISS, display a MISS and mark the square as shot.
 		*/ 
-		if(!board.getSquare(rowGuess, columnGuess).hasShot() && board.getSquare(rowGuess, columnGuess).hasShip()) {
-			
-			//Displaying a HIT
-			System.out.println("\n HIT \n");
-			
-			// Mark the square as shot.
-			board.getSquare(rowGuess, columnGuess).markAsShot();
-			
-			// Take a hit on the battleship in the square.
-			board.getSquare(rowGuess, columnGuess).getBattleship().takeHit();
-			
-			//Check if the battleship in the square is now sunk.
-			if(board.getSquare(rowGuess, columnGuess).getBattleship().isSunk()) {
-				
-				//Decrease the number of remaining ships on the board and Increment the player's score
-				board.setRemainingShips(board.getRemainingShips() - 1);
-				score++;
-			}
-		}else if(board.getSquare(rowGuess, columnGuess).hasShot()) {
-			
-			// If the player has already attacked the square, display a message indicating a lost turn.
-			System.out.println("\n These co-ordinates have been already attacked, you lost your turn \n");
-			
-		}else {
-			
-			//Display a MISS and Mark the square as shot.
-			System.out.println("\n MISS \n");
-			board.getSquare(rowGuess, columnGuess).markAsShot();
-		}
-		
+		long start = Metrics.startTimer();
+		int outcome = fireAt(rowGuess, columnGuess);
+		Metrics.recordShot(start, outcome);
 		
+		System.out.println(describeOutcome(outcome));
 		
 		return board.isGameOver();
 		
 	}
 	
+	/**
+    * Gets the line asking the player for a guess.
+    *
+    * @return the prompt.
+    */
+	String getPrompt() {
+		return name + ", enter your guess (e.g., 'x y' - where x is the row and y is the column ): ";
+	}
+	
+	/**
+    * Gets the line asking the player to guess again after a guess which could not be used.
+    *
+    * @param status the status of the guess, CommandReader.OUT_OF_BOUNDS or CommandReader.MALFORMED.
+    * @return the message.
+    */
+	String describeInvalidGuess(int status) {
+		if (status == CommandReader.OUT_OF_BOUNDS) {
+			return "Rows go from 0 to " + (board.getRows() - 1) + " and columns from 0 to " + (board.getColumns() - 1) + ", try again: ";
+		}
+		return "Enter a row and a column separated by a space, try again: ";
+	}
+	
+	/**
+    * Gets the message shown to the player after a shot.
+    *
+    * @param outcome the shot outcome, one of Board.MISS, Board.HIT, Board.SUNK or Board.ALREADY_SHOT.
+    * @return the message.
+    */
+	static String describeOutcome(int outcome) {
+		switch(outcome) {
+			
+			case Board.HIT:
+				//Displaying a HIT
+				return "\n HIT \n";
+			case Board.SUNK:
+				//Displaying a HIT
+				return "\n HIT \n";
+			case Board.ALREADY_SHOT:
+				// If the player has already attacked the square, display a message indicating a lost turn.
+				return "\n These co-ordinates have been already attacked, you lost your turn \n";
+			default:
+				//Display a MISS.
+				return "\n MISS \n";
+		}
+	}
+	
+	/**
+    * Fires a shot at the specified position on the game board without any console input or output,
+    * incrementing the player's score if the shot sinks a battleship.
+    *
+    * @param row the row index of the target square.
+    * @param col the column index of the target square.
+    * @return the shot outcome, one of Board.MISS, Board.HIT, Board.SUNK or Board.ALREADY_SHOT.
+    */
+	public int fireAt(int row, int col) {
+		int outcome = board.fireShot(row, col);
+		if(outcome == Board.SUNK) {
+			score++;
+		}
+		if(gameLog != null) {
+			gameLog.logShot(seat, row, col, outcome);
+		}
+		return outcome;
+	}
+	
+	/**
+    * Fires a salvo of shots at the game board in one pass, incrementing the player's score for every battleship sunk.
+    *
+    * @param rows     the row index of each target square.
+    * @param cols     the column index of each target square.
+    * @param outcomes receives the outcome of each shot, one of Board.MISS, Board.HIT, Board.SUNK or Board.ALREADY_SHOT.
+    * @return the number of battleships sunk by the salvo.
+    */
+	public int fireSalvo(int[] rows, int[] cols, int[] outcomes) {
+		int sunk = board.fireSalvo(rows, cols, outcomes);
+		score += sunk;
+		if(gameLog != null) {
+			for(int i = 0; i < rows.length; i++) {
+				gameLog.logShot(seat, rows[i], cols[i], outcomes[i]);
+			}
+		}
+		return sunk;
+	}
+	
+	
 }
@@ -0,0 +1,573 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : ProbabilityShotStrategy
+ * @createDate      : 18 Oct 2026
+ * @description     : A computer shot strategy which keeps a heat map of how many legal placements of the ships still afloat<br>
+ *                    cover each square. A miss or a sunk ship only invalidates the placements through the affected squares,<br>
+ *                    and the hottest unshot square is kept at the root of a max segment tree, so each shot costs<br>
+ *                    O(size^2 * log(squares)) rather than a scan of the board. After a hit it targets the neighbours<br>
+ *                    of the unresolved hits, scored by the legal placements running through both squares.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.Arrays;
+
+public class ProbabilityShotStrategy implements ShotStrategy {
+
+	// The distinct ship sizes in the fleet.
+	private final int[] sizes;
+
+	// The number of ships of each size in the fleet.
+	private final int[] counts;
+
+	// The board being fired at.
+	private Board board;
+
+	// The number of rows on the board.
+	private int rows;
+
+	// The number of columns on the board.
+	private int columns;
+
+	// The number of ships of each size still afloat.
+	private int[] afloat;
+
+	// One bit per anchor (square * 2 + 1 if horizontal) and ship size, set while the placement is legal.
+	private long[][] legal;
+
+	// The number of legal placements of ships still afloat covering each square.
+	private int[] heat;
+
+	// One bit per square, set for squares which cannot hold a ship still afloat (misses and sunk ships).
+	private long[] blocked;
+
+	// One bit per square, set once the square has been shot at.
+	private long[] shot;
+
+	// One bit per square, set for hits which do not belong to a sunk ship yet.
+	private long[] unresolved;
+
+	// The unresolved hits, as square indexes.
+	private int[] hits;
+
+	// The number of unresolved hits.
+	private int hitCount;
+
+	// The number of leaves of the segment tree, a power of two no smaller than the number of squares.
+	private int leaves;
+
+	// Max segment tree over the heat of unshot squares, each node holding the square index of the hottest square below it.
+	private int[] tree;
+
+	/**
+	* Constructs a ProbabilityShotStrategy for the default fleet of Small, Medium and Large battleships.
+	*/
+	public ProbabilityShotStrategy() {
+		this(new int[] {LargeBattleship.SIZE, MediumBattleship.SIZE, SmallBattleship.SIZE},
+				new int[] {LargeBattleship.MAX_COUNT, MediumBattleship.MAX_COUNT, SmallBattleship.MAX_COUNT});
+	}
+
+	/**
+	* Constructs a ProbabilityShotStrategy for a fleet with the given ship sizes and counts.
+	*
+	* @param sizes  The distinct ship sizes in the fleet.
+	* @param counts The number of ships of each size.
+	*/
+	public ProbabilityShotStrategy(int[] sizes, int[] counts) {
+		this.sizes = sizes.clone();
+		this.counts = counts.clone();
+		this.afloat = new int[sizes.length];
+		this.legal = new long[sizes.length][0];
+		this.heat = new int[0];
+		this.blocked = new long[0];
+		this.shot = new long[0];
+		this.unresolved = new long[0];
+		this.hits = new int[0];
+		this.tree = new int[0];
+	}
+
+	/**
+	* Clears the heat map and rebuilds it for an empty board, reusing the arrays when the board size is unchanged.
+	*
+	* @param board The board the strategy will fire at.
+	*/
+	@Override
+	public void reset(Board board) {
+		this.board = board;
+		int cells = board.getRows() * board.getColumns();
+		if (board.getRows() != rows || board.getColumns() != columns || heat.length != cells) {
+			this.rows = board.getRows();
+			this.columns = board.getColumns();
+			int words = (cells + 63) >>> 6;
+			for (int i = 0; i < sizes.length; i++) {
+				legal[i] = new long[(cells * 2 + 63) >>> 6];
+			}
+			heat = new int[cells];
+			blocked = new long[words];
+			shot = new long[words];
+			unresolved = new long[words];
+			hits = new int[cells];
+			leaves = Integer.highestOneBit(Math.max(1, cells - 1)) << 1;
+			tree = new int[leaves * 2];
+		} else {
+			Arrays.fill(blocked, 0L);
+			Arrays.fill(shot, 0L);
+			Arrays.fill(unresolved, 0L);
+		}
+		hitCount = 0;
+		System.arraycopy(counts, 0, afloat, 0, counts.length);
+		rebuild();
+	}
+
+	/**
+	* Chooses the neighbour of an unresolved hit with the most legal placements through both squares,
+	* or otherwise the hottest unshot square.
+	*
+	* @param board The board the strategy is firing at.
+	* @return The row-major index of the target square.
+	*/
+	@Override
+	public int nextShot(Board board) {
+		if (hitCount > 0) {
+			int target = bestTarget();
+			if (target >= 0) {
+				return target;
+			}
+		}
+
+		while (true) {
+			int cell = tree[1];
+			if (cell < 0 || isSet(shot, cell)) {
+				return firstUnshot();
+			}
+			int row = cell / columns;
+			int col = cell % columns;
+			if (!board.hasShotAt(row, col)) {
+				return cell;
+			}
+
+			// Another player fired here, a visible miss blocks the square just like our own.
+			onResult(row, col, board.hasShipAt(row, col) ? Board.ALREADY_SHOT : Board.MISS);
+		}
+	}
+
+	/**
+	* Updates the heat map with the outcome of a shot.
+	*
+	* @param row     The row index of the target square.
+	* @param col     The column index of the target square.
+	* @param outcome The shot outcome.
+	*/
+	@Override
+	public void onResult(int row, int col, int outcome) {
+		int cell = row * columns + col;
+		if (!isSet(shot, cell)) {
+			set(shot, cell);
+			updateTree(cell);
+		}
+
+		switch (outcome) {
+			case Board.MISS:
+				block(cell);
+				break;
+			case Board.HIT:
+				addHit(cell);
+				break;
+			case Board.SUNK:
+				sink(row, col);
+				break;
+			default:
+				// A repeated shot tells us nothing new.
+		}
+	}
+
+	/**
+	* Records the cells of a sunk ship: they are resolved, blocked for the other ships,
+	* and the heat map is rebuilt once no ship of that size is left afloat.
+	* The ship is not looked up on the board, which only its owner may see, but inferred from the hits next to the square
+	* which sank it: it is taken to be the largest ship still afloat which fits a run of hits along the row or column.
+	* Only the squares shared by every placement of that ship are resolved, so a hit which may belong to a neighbouring
+	* ship stays a target. If no ship still afloat fits, as for a shaped ship, only the sinking square is resolved.
+	*
+	* @param row The row index of the square which sank the ship.
+	* @param col The column index of the square which sank the ship.
+	*/
+	private void sink(int row, int col) {
+		int sunk = -1;
+		for (int i = 0; i < sizes.length; i++) {
+			if (afloat[i] > 0 && (sunk < 0 || sizes[i] > sizes[sunk])
+					&& placementsThrough(sizes[i], row, col, true) + placementsThrough(sizes[i], row, col, false) > 0) {
+				sunk = i;
+			}
+		}
+		if (sunk < 0) {
+			resolve(row * columns + col);
+			return;
+		}
+
+		int size = sizes[sunk];
+		int horizontal = placementsThrough(size, row, col, true);
+		int vertical = placementsThrough(size, row, col, false);
+		if (horizontal > 0 && vertical > 0) {
+			resolve(row * columns + col);
+		} else {
+			// The placements start at consecutive squares along the line, and all of them cover the squares
+			// from the start of the last one to the end of the first one.
+			boolean isHorizontal = horizontal > 0;
+			int first = (isHorizontal ? col : row) - hitRun(row, col, isHorizontal, -1, size - 1);
+			for (int k = first + (isHorizontal ? horizontal : vertical) - 1; k < first + size; k++) {
+				resolve(isHorizontal ? row * columns + k : k * columns + col);
+			}
+		}
+
+		if (--afloat[sunk] == 0) {
+			rebuild();
+		}
+	}
+
+	/**
+	* Counts the placements of a ship along a row or column through a square whose other squares are all hits
+	* which do not belong to a sunk ship yet.
+	*
+	* @param size         The size of the ship.
+	* @param row          The row index of the square.
+	* @param col          The column index of the square.
+	* @param isHorizontal Whether the ship lies along the row rather than the column.
+	* @return The number of placements.
+	*/
+	private int placementsThrough(int size, int row, int col, boolean isHorizontal) {
+		if (!isHorizontal && size == 1) {
+			return 0;
+		}
+		int before = hitRun(row, col, isHorizontal, -1, size - 1);
+		int after = hitRun(row, col, isHorizontal, 1, size - 1);
+		return Math.max(0, before + after + 2 - size);
+	}
+
+	/**
+	* Counts the hits which do not belong to a sunk ship yet in a row next to a square, in one direction along a line.
+	* Hits by another player firing at the same board count too, as they are neither blocked nor resolved.
+	*
+	* @param row          The row index of the square.
+	* @param col          The column index of the square.
+	* @param isHorizontal Whether to walk along the row rather than the column.
+	* @param step         -1 to walk towards the first square of the line, 1 to walk towards the last.
+	* @param max          The most hits to count.
+	* @return The number of hits in the run.
+	*/
+	private int hitRun(int row, int col, boolean isHorizontal, int step, int max) {
+		int run = 0;
+		int r = row;
+		int c = col;
+		while (run < max) {
+			r += isHorizontal ? 0 : step;
+			c += isHorizontal ? step : 0;
+			if (r < 0 || r >= rows || c < 0 || c >= columns) {
+				break;
+			}
+			int cell = r * columns + c;
+			if (!isSet(shot, cell) || isSet(blocked, cell)) {
+				break;
+			}
+			run++;
+		}
+		return run;
+	}
+
+	/**
+	* Removes a square of a sunk ship from the unresolved hits and blocks it for the other ships.
+	*
+	* @param cell The row-major index of the square.
+	*/
+	private void resolve(int cell) {
+		if (isSet(unresolved, cell)) {
+			clear(unresolved, cell);
+			for (int i = 0; i < hitCount; i++) {
+				if (hits[i] == cell) {
+					hits[i] = hits[--hitCount];
+					break;
+				}
+			}
+		}
+		block(cell);
+	}
+
+	/**
+	* Records a hit which does not belong to a sunk ship yet.
+	*
+	* @param cell The row-major index of the square.
+	*/
+	private void addHit(int cell) {
+		if (!isSet(unresolved, cell)) {
+			set(unresolved, cell);
+			hits[hitCount++] = cell;
+		}
+	}
+
+	/**
+	* Chooses the unshot neighbour of an unresolved hit with the most legal placements covering it and any unresolved hit.
+	*
+	* @return The row-major index of the best neighbour, or -1 if no neighbour has a legal placement.
+	*/
+	private int bestTarget() {
+		int best = -1;
+		long bestScore = 0;
+		for (int i = 0; i < hitCount; i++) {
+			int hit = hits[i];
+			int row = hit / columns;
+			int col = hit % columns;
+			for (int d = 0; d < 4; d++) {
+				int r = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+				int c = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+				if (r < 0 || r >= rows || c < 0 || c >= columns) {
+					continue;
+				}
+				int cell = r * columns + c;
+				if (isSet(shot, cell) || board.hasShotAt(r, c)) {
+					continue;
+				}
+				long score = targetScore(r, c);
+				if (score > bestScore) {
+					bestScore = score;
+					best = cell;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	* Counts the legal placements covering a square together with each unresolved hit in the same row or column.
+	*
+	* @param row The row index of the candidate square.
+	* @param col The column index of the candidate square.
+	* @return The target score of the square.
+	*/
+	private long targetScore(int row, int col) {
+		long score = 0;
+		for (int i = 0; i < hitCount; i++) {
+			int hitRow = hits[i] / columns;
+			int hitCol = hits[i] % columns;
+			for (int s = 0; s < sizes.length; s++) {
+				if (afloat[s] == 0) {
+					continue;
+				}
+				int size = sizes[s];
+				if (hitRow == row && Math.abs(hitCol - col) < size) {
+					int from = Math.max(0, Math.max(hitCol, col) - size + 1);
+					int to = Math.min(Math.min(hitCol, col), columns - size);
+					for (int a = from; a <= to; a++) {
+						if (isSet(legal[s], (row * columns + a) * 2 + 1)) {
+							score += afloat[s];
+						}
+					}
+				}
+				if (size > 1 && hitCol == col && Math.abs(hitRow - row) < size) {
+					int from = Math.max(0, Math.max(hitRow, row) - size + 1);
+					int to = Math.min(Math.min(hitRow, row), rows - size);
+					for (int a = from; a <= to; a++) {
+						if (isSet(legal[s], (a * columns + col) * 2)) {
+							score += afloat[s];
+						}
+					}
+				}
+			}
+		}
+		return score;
+	}
+
+	/**
+	* Blocks a square, removing every legal placement through it from the heat map.
+	*
+	* @param cell The row-major index of the square.
+	*/
+	private void block(int cell) {
+		if (isSet(blocked, cell)) {
+			return;
+		}
+		set(blocked, cell);
+		int row = cell / columns;
+		int col = cell % columns;
+
+		for (int s = 0; s < sizes.length; s++) {
+			if (afloat[s] == 0) {
+				continue;
+			}
+			int size = sizes[s];
+			for (int k = 0; k < size; k++) {
+				if (col - k >= 0) {
+					int anchor = (cell - k) * 2 + 1;
+					if (isSet(legal[s], anchor)) {
+						clear(legal[s], anchor);
+						for (int j = 0; j < size; j++) {
+							heat[cell - k + j]--;
+							updateTree(cell - k + j);
+						}
+					}
+				}
+				if (size > 1 && row - k >= 0) {
+					int anchor = (cell - k * columns) * 2;
+					if (isSet(legal[s], anchor)) {
+						clear(legal[s], anchor);
+						for (int j = 0; j < size; j++) {
+							heat[cell + (j - k) * columns]--;
+							updateTree(cell + (j - k) * columns);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	* Rebuilds the legal placements, the heat map and the segment tree from the blocked squares
+	* and the ship sizes still afloat, in O(squares) per ship size.
+	*/
+	private void rebuild() {
+		Arrays.fill(heat, 0);
+		for (int s = 0; s < sizes.length; s++) {
+			Arrays.fill(legal[s], 0L);
+			if (afloat[s] == 0) {
+				continue;
+			}
+			int size = sizes[s];
+
+			// Horizontal placements: an anchor is legal when the run of free squares starting at it is long enough,
+			// and a square is covered by the legal anchors among the size squares ending at it.
+			for (int row = 0; row < rows; row++) {
+				int free = 0;
+				for (int col = columns - 1; col >= 0; col--) {
+					int cell = row * columns + col;
+					free = isSet(blocked, cell) ? 0 : free + 1;
+					if (free >= size) {
+						set(legal[s], cell * 2 + 1);
+					}
+				}
+				int window = 0;
+				for (int col = 0; col < columns; col++) {
+					int cell = row * columns + col;
+					if (isSet(legal[s], cell * 2 + 1)) {
+						window++;
+					}
+					if (col >= size && isSet(legal[s], (cell - size) * 2 + 1)) {
+						window--;
+					}
+					heat[cell] += window;
+				}
+			}
+
+			if (size == 1) {
+				continue;
+			}
+
+			// Vertical placements, column by column.
+			for (int col = 0; col < columns; col++) {
+				int free = 0;
+				for (int row = rows - 1; row >= 0; row--) {
+					int cell = row * columns + col;
+					free = isSet(blocked, cell) ? 0 : free + 1;
+					if (free >= size) {
+						set(legal[s], cell * 2);
+					}
+				}
+				int window = 0;
+				for (int row = 0; row < rows; row++) {
+					int cell = row * columns + col;
+					if (isSet(legal[s], cell * 2)) {
+						window++;
+					}
+					if (row >= size && isSet(legal[s], (cell - size * columns) * 2)) {
+						window--;
+					}
+					heat[cell] += window;
+				}
+			}
+		}
+
+		int cells = rows * columns;
+		for (int i = 0; i < leaves; i++) {
+			tree[leaves + i] = i < cells ? i : -1;
+		}
+		for (int i = leaves - 1; i >= 1; i--) {
+			tree[i] = hotter(tree[2 * i], tree[2 * i + 1]);
+		}
+	}
+
+	/**
+	* Refreshes the path of the segment tree above a square after its heat or shot state changed.
+	*
+	* @param cell The row-major index of the square.
+	*/
+	private void updateTree(int cell) {
+		for (int i = (leaves + cell) >>> 1; i >= 1; i >>>= 1) {
+			int best = hotter(tree[2 * i], tree[2 * i + 1]);
+			if (tree[i] == best && best != cell) {
+				break;
+			}
+			tree[i] = best;
+		}
+	}
+
+	/**
+	* Picks the hotter of two squares, treating shot squares and padding leaves as the coldest.
+	*
+	* @param a The first square index, or -1.
+	* @param b The second square index, or -1.
+	* @return The hotter square index.
+	*/
+	private int hotter(int a, int b) {
+		return value(a) >= value(b) ? a : b;
+	}
+
+	/**
+	* Gets the value of a square in the segment tree.
+	*
+	* @param cell The square index, or -1 for a padding leaf.
+	* @return The heat of an unshot square, -1 for a shot square and the minimum integer for padding.
+	*/
+	private int value(int cell) {
+		if (cell < 0) {
+			return Integer.MIN_VALUE;
+		}
+		return isSet(shot, cell) ? -1 : heat[cell];
+	}
+
+	/**
+	* Finds the first square of the board which has not been shot at, once the heat map has nothing left to offer.
+	*
+	* @return The row-major index of the square, or the last square if every square has been shot at.
+	*/
+	private int firstUnshot() {
+		int cells = rows * columns;
+		for (int cell = 0; cell < cells; cell++) {
+			if (!board.hasShotAt(cell / columns, cell % columns)) {
+				return cell;
+			}
+		}
+		return cells - 1;
+	}
+
+	/**
+	* Checks a bit of a bitset.
+	*/
+	private static boolean isSet(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	* Sets a bit of a bitset.
+	*/
+	private static void set(long[] bits, int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+
+	/**
+	* Clears a bit of a bitset.
+	*/
+	private static void clear(long[] bits, int index) {
+		bits[index >>> 6] &= ~(1L << index);
+	}
+
+}
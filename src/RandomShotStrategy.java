@@ -0,0 +1,85 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : RandomShotStrategy
+ * @createDate      : 18 Oct 2026
+ * @description     : A shot strategy which fires at the squares of the board in a random order,<br>
+ *                    skipping squares which have already been shot at. Unless given its own generator, it shuffles<br>
+ *                    with the generator of the board, so a seeded board makes the whole game reproducible.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.random.RandomGenerator;
+
+public class RandomShotStrategy implements ShotStrategy {
+
+	// The random number generator used to shuffle the firing order, or null to use the generator of the board.
+	private final RandomGenerator random;
+
+	// The squares of the board in firing order, reused between games on boards of the same size.
+	private int[] order;
+
+	// The position of the next square to fire at in the firing order.
+	private int next;
+
+	/**
+	* Constructs a RandomShotStrategy which shuffles with the random number generator of the board it fires at.
+	*/
+	public RandomShotStrategy() {
+		this(null);
+	}
+
+	/**
+	* Constructs a RandomShotStrategy using the given random number generator.
+	*
+	* @param random The random number generator used to shuffle the firing order, or null to use the generator of the board.
+	*/
+	public RandomShotStrategy(RandomGenerator random) {
+		this.random = random;
+		this.order = new int[0];
+	}
+
+	/**
+	* Shuffles the squares of the board into a new firing order.
+	*
+	* @param board The board the strategy will fire at.
+	*/
+	@Override
+	public void reset(Board board) {
+		int cells = board.getRows() * board.getColumns();
+		RandomGenerator random = this.random != null ? this.random : board.getRandom();
+		if (order.length != cells) {
+			order = new int[cells];
+		}
+		for (int i = 0; i < cells; i++) {
+			int j = random.nextInt(i + 1);
+			order[i] = order[j];
+			order[j] = i;
+		}
+		next = 0;
+	}
+
+	/**
+	* Chooses the next square in the firing order which has not been shot at yet.
+	*
+	* @param board The board the strategy is firing at.
+	* @return The row-major index of the target square, or the last square if every square has been shot at.
+	*/
+	@Override
+	public int nextShot(Board board) {
+		int columns = board.getColumns();
+		while (next < order.length - 1 && board.hasShotAt(order[next] / columns, order[next] % columns)) {
+			next++;
+		}
+		return order[next];
+	}
+
+	/**
+	* Ignores the outcome, a random strategy does not learn from its shots.
+	*/
+	@Override
+	public void onResult(int row, int col, int outcome) {
+	}
+
+}
@@ -0,0 +1,218 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : RatingTable
+ * @createDate      : 18 Oct 2026
+ * @description     : Elo ratings and win, loss and draw tallies of the entrants of a tournament, updated match by match.<br>
+ *                    A match is a batch of games between two entrants, and it moves their ratings once by K times the<br>
+ *                    difference between the score fraction one of them made and the fraction its rating predicted,<br>
+ *                    so a match of thousands of games counts as much as a match of ten, and ratings settle over the rounds.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class RatingTable {
+
+	// The rating every entrant starts with.
+	public static final double INITIAL_RATING = 1500;
+
+	// The largest rating change of one match.
+	private static final double K = 32;
+
+	// The name of each entrant.
+	private final String[] names;
+
+	// The Elo rating of each entrant.
+	private final double[] ratings;
+
+	// The number of games each entrant won.
+	private final long[] wins;
+
+	// The number of games each entrant lost.
+	private final long[] losses;
+
+	// The number of games each entrant drew.
+	private final long[] draws;
+
+	/**
+	* Constructs a table with every entrant at the initial rating.
+	*
+	* @param names The name of each entrant.
+	*/
+	public RatingTable(String[] names) {
+		this.names = names.clone();
+		this.ratings = new double[names.length];
+		this.wins = new long[names.length];
+		this.losses = new long[names.length];
+		this.draws = new long[names.length];
+		Arrays.fill(ratings, INITIAL_RATING);
+	}
+
+	/**
+	* Records a match between two entrants and updates their ratings.
+	*
+	* @param first      The index of the first entrant.
+	* @param second     The index of the second entrant.
+	* @param firstWins  The number of games the first entrant won.
+	* @param secondWins The number of games the second entrant won.
+	* @param drawn      The number of drawn games.
+	*/
+	public void record(int first, int second, long firstWins, long secondWins, long drawn) {
+		long games = firstWins + secondWins + drawn;
+		if (games == 0) {
+			return;
+		}
+		wins[first] += firstWins;
+		losses[first] += secondWins;
+		draws[first] += drawn;
+		wins[second] += secondWins;
+		losses[second] += firstWins;
+		draws[second] += drawn;
+
+		double score = (firstWins + 0.5 * drawn) / games;
+		double change = K * (score - expectedScore(ratings[first], ratings[second]));
+		ratings[first] += change;
+		ratings[second] -= change;
+	}
+
+	/**
+	* Gets the number of entrants.
+	*
+	* @return The number of entrants.
+	*/
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	* Gets the name of an entrant.
+	*
+	* @param entrant The index of the entrant.
+	* @return The name.
+	*/
+	public String getName(int entrant) {
+		return names[entrant];
+	}
+
+	/**
+	* Gets the rating of an entrant.
+	*
+	* @param entrant The index of the entrant.
+	* @return The Elo rating.
+	*/
+	public double getRating(int entrant) {
+		return ratings[entrant];
+	}
+
+	/**
+	* Gets the number of games an entrant won.
+	*
+	* @param entrant The index of the entrant.
+	* @return The number of wins.
+	*/
+	public long getWins(int entrant) {
+		return wins[entrant];
+	}
+
+	/**
+	* Gets the number of games an entrant lost.
+	*
+	* @param entrant The index of the entrant.
+	* @return The number of losses.
+	*/
+	public long getLosses(int entrant) {
+		return losses[entrant];
+	}
+
+	/**
+	* Gets the number of games an entrant drew.
+	*
+	* @param entrant The index of the entrant.
+	* @return The number of draws.
+	*/
+	public long getDraws(int entrant) {
+		return draws[entrant];
+	}
+
+	/**
+	* Gets the entrants from the highest rating to the lowest, ties in entrant order.
+	*
+	* @return The indexes of the entrants.
+	*/
+	public int[] getStandings() {
+		Integer[] order = new Integer[names.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingDouble((Integer i) -> -ratings[i]).thenComparingInt(i -> i));
+		int[] standings = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			standings[i] = order[i];
+		}
+		return standings;
+	}
+
+	/**
+	* Writes the ratings and tallies, for checkpoints.
+	*
+	* @param out The output to write to.
+	* @throws IOException If the output fails.
+	*/
+	public void write(DataOutput out) throws IOException {
+		for (int i = 0; i < names.length; i++) {
+			out.writeDouble(ratings[i]);
+			out.writeLong(wins[i]);
+			out.writeLong(losses[i]);
+			out.writeLong(draws[i]);
+		}
+	}
+
+	/**
+	* Reads ratings and tallies written by write for the same entrants.
+	*
+	* @param in The input to read from.
+	* @throws IOException If the input fails.
+	*/
+	public void read(DataInput in) throws IOException {
+		for (int i = 0; i < names.length; i++) {
+			ratings[i] = in.readDouble();
+			wins[i] = in.readLong();
+			losses[i] = in.readLong();
+			draws[i] = in.readLong();
+		}
+	}
+
+	/**
+	* Returns the standings as a table, one entrant per line.
+	*
+	* @return The standings.
+	*/
+	@Override
+	public String toString() {
+		StringBuilder table = new StringBuilder(String.format("%-4s %-24s %8s %10s %10s %10s%n", "#", "entrant", "rating", "wins", "losses", "draws"));
+		int[] standings = getStandings();
+		for (int place = 0; place < standings.length; place++) {
+			int i = standings[place];
+			table.append(String.format("%-4d %-24s %8.1f %10d %10d %10d%n", place + 1, names[i], ratings[i], wins[i], losses[i], draws[i]));
+		}
+		return table.toString();
+	}
+
+	/**
+	* Calculates the score fraction a rating is expected to make against another.
+	*
+	* @param rating         The rating of the player.
+	* @param opponentRating The rating of the opponent.
+	* @return The expected score fraction, from 0 to 1.
+	*/
+	private static double expectedScore(double rating, double opponentRating) {
+		return 1 / (1 + Math.pow(10, (opponentRating - rating) / 400));
+	}
+
+}
@@ -0,0 +1,389 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : ShipShape
+ * @createDate      : 18 Oct 2026
+ * @description     : The shape of a battleship: a straight line or any connected set of squares such as an L or a T.<br>
+ *                    Every distinct rotation and reflection of the shape is worked out once, as square offsets from the<br>
+ *                    first square of the orientation in row-major order, so placing a shape costs only the offset lookups.<br>
+ *                    Lines have their horizontal orientation first, then their vertical one.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.Arrays;
+
+public class ShipShape {
+
+	// The line shapes handed out so far, indexed by size.
+	private static ShipShape[] lines = new ShipShape[8];
+
+	// The name of the shape as used in fleet specs.
+	private final String name;
+
+	// The number of squares of the shape.
+	private final int size;
+
+	// Whether the shape is a straight line.
+	private final boolean isLine;
+
+	// The row offset of each square, per orientation.
+	private final int[][] rowOffsets;
+
+	// The column offset of each square, per orientation.
+	private final int[][] colOffsets;
+
+	// The number of rows spanned by each orientation.
+	private final int[] heights;
+
+	// The smallest column offset of each orientation (zero or negative).
+	private final int[] minColOffsets;
+
+	// The largest column offset of each orientation.
+	private final int[] maxColOffsets;
+
+	/**
+	* Constructs a shape from its squares, working out its distinct orientations.
+	*
+	* @param name    The name of the shape.
+	* @param rows    The row of each square.
+	* @param columns The column of each square.
+	* @param isLine  Whether the shape is a straight line.
+	*/
+	private ShipShape(String name, int[] rows, int[] columns, boolean isLine) {
+		this.name = name;
+		this.size = rows.length;
+		this.isLine = isLine;
+
+		// Each orientation is kept as a sorted array of packed (row, column) squares, relative to its first square.
+		long[][] orientations = new long[8][];
+		int count = 0;
+		for (int symmetry = 0; symmetry < 8; symmetry++) {
+			long[] squares = new long[size];
+			for (int i = 0; i < size; i++) {
+				int r = rows[i];
+				int c = columns[i];
+				if ((symmetry & 4) != 0) {
+					c = -c;
+				}
+				for (int turn = 0; turn < (symmetry & 3); turn++) {
+					int rotated = c;
+					c = -r;
+					r = rotated;
+				}
+				squares[i] = pack(r, c);
+			}
+			Arrays.sort(squares);
+			long first = squares[0];
+			for (int i = 0; i < size; i++) {
+				squares[i] = pack(row(squares[i]) - row(first), column(squares[i]) - column(first));
+			}
+
+			boolean isNew = true;
+			for (int j = 0; j < count && isNew; j++) {
+				isNew = !Arrays.equals(orientations[j], squares);
+			}
+			if (isNew) {
+				orientations[count++] = squares;
+			}
+		}
+
+		// Lines list their horizontal orientation first, matching the placement anchors of Board.
+		if (isLine && count == 2 && row(orientations[0][size - 1]) != 0) {
+			long[] vertical = orientations[0];
+			orientations[0] = orientations[1];
+			orientations[1] = vertical;
+		}
+
+		this.rowOffsets = new int[count][size];
+		this.colOffsets = new int[count][size];
+		this.heights = new int[count];
+		this.minColOffsets = new int[count];
+		this.maxColOffsets = new int[count];
+		for (int o = 0; o < count; o++) {
+			for (int i = 0; i < size; i++) {
+				rowOffsets[o][i] = row(orientations[o][i]);
+				colOffsets[o][i] = column(orientations[o][i]);
+				heights[o] = Math.max(heights[o], rowOffsets[o][i] + 1);
+				minColOffsets[o] = Math.min(minColOffsets[o], colOffsets[o][i]);
+				maxColOffsets[o] = Math.max(maxColOffsets[o], colOffsets[o][i]);
+			}
+		}
+	}
+
+	/**
+	* Gets the straight line shape of the given size, shared between callers.
+	*
+	* @param size The number of squares of the line.
+	* @return The line shape.
+	* @throws IllegalArgumentException If the size is not positive.
+	*/
+	public static synchronized ShipShape line(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("A ship needs at least one square");
+		}
+		if (size >= lines.length) {
+			lines = Arrays.copyOf(lines, Math.max(size + 1, lines.length * 2));
+		}
+		if (lines[size] == null) {
+			int[] rows = new int[size];
+			int[] columns = new int[size];
+			for (int i = 0; i < size; i++) {
+				columns[i] = i;
+			}
+			lines[size] = new ShipShape(Integer.toString(size), rows, columns, true);
+		}
+		return lines[size];
+	}
+
+	/**
+	* Creates an L shape: an upright arm and a foot of the given length sharing their corner square.
+	*
+	* @param arm The length of the arm and of the foot, at least 2.
+	* @return The L shape of 2 * arm - 1 squares.
+	*/
+	public static ShipShape lShape(int arm) {
+		if (arm < 2) {
+			throw new IllegalArgumentException("An L shape needs arms of at least 2 squares");
+		}
+		int[] rows = new int[2 * arm - 1];
+		int[] columns = new int[2 * arm - 1];
+		for (int i = 0; i < arm; i++) {
+			rows[i] = i;
+			rows[arm - 1 + i] = arm - 1;
+			columns[arm - 1 + i] = i;
+		}
+		return new ShipShape("L" + arm, rows, columns, false);
+	}
+
+	/**
+	* Creates a T shape: a bar of the given odd width with a stem below its middle square, half as long as the bar.
+	*
+	* @param width The width of the bar, an odd number of at least 3.
+	* @return The T shape of width + (width - 1) / 2 squares.
+	*/
+	public static ShipShape tShape(int width) {
+		if (width < 3 || width % 2 == 0) {
+			throw new IllegalArgumentException("A T shape needs an odd bar of at least 3 squares");
+		}
+		int stem = (width - 1) / 2;
+		int[] rows = new int[width + stem];
+		int[] columns = new int[width + stem];
+		for (int i = 0; i < width; i++) {
+			columns[i] = i;
+		}
+		for (int i = 0; i < stem; i++) {
+			rows[width + i] = i + 1;
+			columns[width + i] = stem;
+		}
+		return new ShipShape("T" + width, rows, columns, false);
+	}
+
+	/**
+	* Creates a shape from a picture of its squares, with rows separated by '/' and 'X' marking a square, e.g. "X../XXX".
+	*
+	* @param picture The picture of the shape.
+	* @return The shape.
+	* @throws IllegalArgumentException If the picture has no squares.
+	*/
+	public static ShipShape parse(String picture) {
+		int squares = 0;
+		for (int i = 0; i < picture.length(); i++) {
+			if (picture.charAt(i) == 'X' || picture.charAt(i) == 'x') {
+				squares++;
+			}
+		}
+		if (squares == 0) {
+			throw new IllegalArgumentException("The shape " + picture + " has no squares");
+		}
+
+		int[] rows = new int[squares];
+		int[] columns = new int[squares];
+		int n = 0;
+		int row = 0;
+		int col = 0;
+		for (int i = 0; i < picture.length(); i++) {
+			char c = picture.charAt(i);
+			if (c == '/') {
+				row++;
+				col = 0;
+				continue;
+			}
+			if (c == 'X' || c == 'x') {
+				rows[n] = row;
+				columns[n++] = col;
+			}
+			col++;
+		}
+		return new ShipShape(picture, rows, columns, false);
+	}
+
+	/**
+	* Gets the name of the shape as used in fleet specs.
+	*
+	* @return The name.
+	*/
+	public String getName() {
+		return name;
+	}
+
+	/**
+	* Gets the number of squares of the shape.
+	*
+	* @return The size of a battleship of this shape.
+	*/
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	* Checks if the shape is a straight line.
+	*
+	* @return True for lines, false otherwise.
+	*/
+	public boolean isLine() {
+		return isLine;
+	}
+
+	/**
+	* Gets the number of distinct orientations of the shape.
+	*
+	* @return The number of orientations, from 1 to 8.
+	*/
+	public int getOrientationCount() {
+		return rowOffsets.length;
+	}
+
+	/**
+	* Gets the row offset of each square of an orientation from its first square. The array must not be modified.
+	*
+	* @param orientation The orientation.
+	* @return The row offsets, never negative.
+	*/
+	public int[] getRowOffsets(int orientation) {
+		return rowOffsets[orientation];
+	}
+
+	/**
+	* Gets the column offset of each square of an orientation from its first square. The array must not be modified.
+	*
+	* @param orientation The orientation.
+	* @return The column offsets, negative for squares left of the first one.
+	*/
+	public int[] getColOffsets(int orientation) {
+		return colOffsets[orientation];
+	}
+
+	/**
+	* Counts the positions of the first square of an orientation at which it fits on an empty board.
+	*
+	* @param orientation The orientation.
+	* @param rows        The number of rows on the board.
+	* @param columns     The number of columns on the board.
+	* @return The number of positions.
+	*/
+	public long countPlacements(int orientation, int rows, int columns) {
+		long anchorRows = rows - heights[orientation] + 1;
+		long anchorColumns = columns - maxColOffsets[orientation] + minColOffsets[orientation];
+		return anchorRows <= 0 || anchorColumns <= 0 ? 0 : anchorRows * anchorColumns;
+	}
+
+	/**
+	* Gets the row of the first square of an orientation at a placement index, counting placements row by row.
+	*
+	* @param orientation The orientation.
+	* @param columns     The number of columns on the board.
+	* @param placement   The placement index, below countPlacements.
+	* @return The row of the first square.
+	*/
+	public int placementRow(int orientation, int columns, long placement) {
+		return (int) (placement / (columns - maxColOffsets[orientation] + minColOffsets[orientation]));
+	}
+
+	/**
+	* Gets the column of the first square of an orientation at a placement index, counting placements row by row.
+	*
+	* @param orientation The orientation.
+	* @param columns     The number of columns on the board.
+	* @param placement   The placement index, below countPlacements.
+	* @return The column of the first square.
+	*/
+	public int placementColumn(int orientation, int columns, long placement) {
+		return (int) (placement % (columns - maxColOffsets[orientation] + minColOffsets[orientation])) - minColOffsets[orientation];
+	}
+
+	/**
+	* Tells whether another object is a shape with the same squares: the same orientations, in any order, whatever
+	* the shapes are named.
+	*
+	* @param other The object to compare with.
+	* @return True if the object is an equal shape.
+	*/
+	@Override
+	public boolean equals(Object other) {
+		if (other == this) {
+			return true;
+		}
+		if (!(other instanceof ShipShape) || ((ShipShape) other).size != size || ((ShipShape) other).isLine != isLine
+				|| ((ShipShape) other).rowOffsets.length != rowOffsets.length) {
+			return false;
+		}
+		ShipShape shape = (ShipShape) other;
+		for (int o = 0; o < rowOffsets.length; o++) {
+			boolean found = false;
+			for (int p = 0; p < shape.rowOffsets.length && !found; p++) {
+				found = Arrays.equals(rowOffsets[o], shape.rowOffsets[p]) && Arrays.equals(colOffsets[o], shape.colOffsets[p]);
+			}
+			if (!found) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	* Gets a hash code consistent with equals, which does not depend on the order of the orientations.
+	*
+	* @return The hash code.
+	*/
+	@Override
+	public int hashCode() {
+		int hash = size;
+		for (int o = 0; o < rowOffsets.length; o++) {
+			hash += 31 * Arrays.hashCode(rowOffsets[o]) + Arrays.hashCode(colOffsets[o]);
+		}
+		return hash;
+	}
+
+	/**
+	* Returns the name of the shape.
+	*
+	* @return The name.
+	*/
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	/**
+	* Packs a square into a long which sorts in row-major order.
+	*/
+	private static long pack(int row, int col) {
+		return (long) row << 32 | (col + 0x40000000L);
+	}
+
+	/**
+	* Gets the row of a packed square.
+	*/
+	private static int row(long square) {
+		return (int) (square >> 32);
+	}
+
+	/**
+	* Gets the column of a packed square.
+	*/
+	private static int column(long square) {
+		return (int) (square & 0xFFFFFFFFL) - 0x40000000;
+	}
+
+}
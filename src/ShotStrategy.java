@@ -0,0 +1,38 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : ShotStrategy
+ * @createDate      : 18 Oct 2026
+ * @description     : Chooses where a player fires, taking the place of console input in Player.takeTurn.<br>
+ *                    Shots are returned as row-major square indexes so that no objects are allocated per turn.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+public interface ShotStrategy {
+
+	/**
+	* Prepares the strategy for a new game on the given board.
+	*
+	* @param board The board the strategy will fire at.
+	*/
+	void reset(Board board);
+
+	/**
+	* Chooses the next square to fire at.
+	*
+	* @param board The board the strategy is firing at.
+	* @return The row-major index of the target square (row * columns + column).
+	*/
+	int nextShot(Board board);
+
+	/**
+	* Receives the outcome of a shot fired by this strategy.
+	*
+	* @param row     The row index of the target square.
+	* @param col     The column index of the target square.
+	* @param outcome The shot outcome, one of Board.MISS, Board.HIT, Board.SUNK or Board.ALREADY_SHOT.
+	*/
+	void onResult(int row, int col, int outcome);
+
+}
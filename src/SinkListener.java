@@ -0,0 +1,26 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : SinkListener
+ * @createDate      : 18 Oct 2026
+ * @description     : Receives a notification from the Board whenever a shot sinks a battleship.<br>
+ *                    The sunk ship is described by its id and the squares it covered, so no objects are allocated per sink.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+public interface SinkListener {
+
+	/**
+	* Called when a battleship has been sunk.
+	*
+	* @param shipId       The id of the sunk battleship.
+	* @param row          The starting row position of the battleship (its first square in row-major order).
+	* @param col          The starting column position of the battleship.
+	* @param shipSize     The size of the battleship.
+	* @param isHorizontal A boolean indicating whether the battleship is horizontal; false for shaped battleships,
+	*                     whose squares are given by the shape and orientation of the Battleship at (row, col).
+	*/
+	void shipSunk(int shipId, int row, int col, int shipSize, boolean isHorizontal);
+
+}
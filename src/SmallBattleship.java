@@ -5,18 +5,21 @@
  * @description      : Represents a small battleship type in the Battleship game.<br>
  *                     Extends the Battleship class with a specific size and maximum count.<br>
  * @version          : 1.0
- * @lastModifiedBy   :
- * @lastModifiedDate :
+ * @lastModifiedBy   : Giri Liyangi
+ * @lastModifiedDate : 18 Oct 2026
  */
 
 public class SmallBattleship extends Battleship {
 	
     // Static attribute specifying the maximum count of small battleships on the board
-	public static int MAX_COUNT = 3;
+	public static final int MAX_COUNT = 3;
+	
+    // Static attribute specifying the size of a small battleship
+	public static final int SIZE = 1;
 	
     // Constructor for SmallBattleship, calling the constructor of the superclass (Battleship) with size 1
 	public SmallBattleship() {
-		super(1);
+		super(SIZE);
 	}
 
 }
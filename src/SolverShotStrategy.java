@@ -0,0 +1,86 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : SolverShotStrategy
+ * @createDate      : 18 Oct 2026
+ * @description     : A computer shot strategy which fires at the unshot square most likely to hold a ship, by the exact<br>
+ *                    counts of FleetSolver. Hunting and targeting need no separate modes: after a hit the configurations<br>
+ *                    covering it dominate the counts of its neighbours. The strategy only solves from what it has observed:<br>
+ *                    the outcomes of its own shots, SUNK included, and the other shots on the board as plain misses and hits.<br>
+ *                    Every shot solves the board again, at a cost of milliseconds per shot on a 10x10 board.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.util.concurrent.ForkJoinPool;
+
+public class SolverShotStrategy implements ShotStrategy {
+
+	// The solver counting the configurations.
+	private final FleetSolver solver;
+
+	// The pool the solver counts on.
+	private final ForkJoinPool pool;
+
+	// The shots and outcomes observed in the current game.
+	private FleetSolver.Observations observations;
+
+	/**
+	* Constructs a SolverShotStrategy for the default fleet, solving on the common pool.
+	*/
+	public SolverShotStrategy() {
+		this(new FleetSolver(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	* Constructs a SolverShotStrategy using the given solver and pool.
+	*
+	* @param solver The solver for the fleet on the boards fired at.
+	* @param pool   The pool to solve on.
+	*/
+	public SolverShotStrategy(FleetSolver solver, ForkJoinPool pool) {
+		this.solver = solver;
+		this.pool = pool;
+	}
+
+	/**
+	* Forgets the observations of the previous game.
+	*
+	* @param board The board the strategy will fire at.
+	*/
+	@Override
+	public void reset(Board board) {
+		if (observations == null || observations.getRows() != board.getRows() || observations.getColumns() != board.getColumns()) {
+			observations = new FleetSolver.Observations(board.getRows(), board.getColumns());
+		} else {
+			observations.clear();
+		}
+	}
+
+	/**
+	* Chooses the unshot square covered by the most configurations consistent with the observations,
+	* after taking in the shots other players fired since the last turn.
+	*
+	* @param board The board the strategy is firing at.
+	* @return The row-major index of the target square, or the last square if every square has been shot at.
+	*/
+	@Override
+	public int nextShot(Board board) {
+		observations.addShots(board);
+		int cell = solver.solve(observations, pool).getBestShot();
+		return cell < 0 ? board.getRows() * board.getColumns() - 1 : cell;
+	}
+
+	/**
+	* Records the outcome of the shot.
+	*
+	* @param row     The row index of the target square.
+	* @param col     The column index of the target square.
+	* @param outcome The shot outcome.
+	*/
+	@Override
+	public void onResult(int row, int col, int outcome) {
+		observations.record(row, col, outcome);
+	}
+
+}
@@ -0,0 +1,762 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : SparseBoard
+ * @createDate      : 18 Oct 2026
+ * @description     : A Board for huge ocean maps which splits the grid into 64x64 chunks and only creates a chunk<br>
+ *                    once a ship or a shot touches it. Squares of missing chunks are empty and unshot.<br>
+ *                    Each chunk holds one ship and one shot bit-plane row per long, and a ship id per square once it holds a ship.<br>
+ *                    At most maxResidentChunks chunks are kept in memory: the least recently used one is spilled to a<br>
+ *                    temporary file when another is needed, and read back on its next access, reusing the evicted arrays.<br>
+ *                    Memory use tracks the touched area rather than the board area, and square lookups stay constant-time.<br>
+ *                    The dense bit-planes of Board do not exist here, so snapshots and the row-major ShotStrategy interface<br>
+ *                    only work with dense boards, and renderers show a sparse board through a viewport.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public class SparseBoard extends Board implements Closeable {
+
+	// The largest number of ships a sparse board holds. Ship ids are ints, so the cap is set by the heap the fleet takes,
+	// about 50 bytes a ship, and by placement time, about 13 microseconds a ship once the chunks spill: the standard fleet
+	// on a 10000x10000 arena, 6 million ships, takes some 350 MB and 80 seconds to place.
+	public static final int MAX_SPARSE_SHIPS = 1 << 23;
+
+	// The number of resident chunks kept by default.
+	public static final int DEFAULT_RESIDENT_CHUNKS = 1024;
+
+	// log2 of the width and height of a chunk.
+	private static final int CHUNK_SHIFT = 6;
+
+	// The width and height of a chunk, one bit-plane row per long.
+	private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+	// The number of squares in a chunk.
+	private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+	// The size of the bit-planes of a chunk in a spill slot.
+	private static final int PLANE_BYTES = 2 * CHUNK_SIZE * Long.BYTES;
+
+	// The size of a spill slot: the bit-planes followed by the ship ids.
+	private static final int SLOT_BYTES = PLANE_BYTES + CHUNK_CELLS * Integer.BYTES;
+
+	// The number of chunk columns.
+	private final int chunkColumns;
+
+	// The maximum number of chunks kept in memory.
+	private final int maxResidentChunks;
+
+	// The anchor of each battleship (starting square * 2, plus 1 if horizontal), indexed by ship id minus one.
+	private long[] anchors;
+
+	// Open-addressing table of touched chunks: chunk key plus one, 0 for a free slot.
+	private int[] keys;
+
+	// The chunk of each slot of the table.
+	private Chunk[] chunks;
+
+	// The number of touched chunks.
+	private int chunkCount;
+
+	// The number of chunks in memory.
+	private int residentCount;
+
+	// The most recently used resident chunk.
+	private Chunk head;
+
+	// The least recently used resident chunk, the next to be spilled.
+	private Chunk tail;
+
+	// The chunk of the last lookup, which shots and placements usually hit again.
+	private Chunk lastChunk;
+
+	// A ship id array left over by an evicted chunk, reused by the next chunk which needs one.
+	private int[] spareIds;
+
+	// The row of the square most recently shot at, or -1 before the first shot.
+	private int lastShotRow = -1;
+
+	// The column of the square most recently shot at, or -1 before the first shot.
+	private int lastShotColumn = -1;
+
+	// The temporary file holding the spilled chunks, opened on the first eviction.
+	private FileChannel spill;
+
+	// The number of spill slots handed out.
+	private int spillSlots;
+
+	// The buffer through which chunks are spilled and read back.
+	private final ByteBuffer spillBuffer = ByteBuffer.allocateDirect(SLOT_BYTES);
+
+	// The bit-plane part of the spill buffer.
+	private final LongBuffer spillPlanes;
+
+	// The ship id part of the spill buffer.
+	private final IntBuffer spillIds;
+
+	/**
+	* Constructs an empty sparse board keeping DEFAULT_RESIDENT_CHUNKS chunks in memory.
+	*
+	* @param rows    The number of rows on the game board.
+	* @param columns The number of columns on the game board.
+	*/
+	public SparseBoard(int rows, int columns) {
+		this(rows, columns, DEFAULT_RESIDENT_CHUNKS);
+	}
+
+	/**
+	* Constructs an empty sparse board.
+	*
+	* @param rows              The number of rows on the game board.
+	* @param columns           The number of columns on the game board.
+	* @param maxResidentChunks The maximum number of 64x64 chunks kept in memory before the coldest is spilled to disk.
+	* @throws IllegalArgumentException If the board has more than 2^30 chunks or no chunk may be resident.
+	*/
+	public SparseBoard(int rows, int columns, int maxResidentChunks) {
+		super(rows, columns, 0);
+		this.chunkColumns = (columns + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+		long chunkRows = (rows + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+		if (rows <= 0 || columns <= 0 || chunkRows * chunkColumns > 1 << 30 || maxResidentChunks < 1) {
+			throw new IllegalArgumentException("Unsupported sparse board: " + rows + "x" + columns + ", " + maxResidentChunks + " resident chunks");
+		}
+		this.maxResidentChunks = maxResidentChunks;
+		this.anchors = new long[8];
+		this.keys = new int[64];
+		this.chunks = new Chunk[64];
+
+		spillBuffer.order(ByteOrder.nativeOrder());
+		this.spillPlanes = spillBuffer.asLongBuffer();
+		this.spillIds = spillBuffer.position(PLANE_BYTES).slice().order(ByteOrder.nativeOrder()).asIntBuffer();
+		spillBuffer.clear();
+	}
+
+	/**
+	* Gets the number of chunks touched by a ship or a shot, resident or spilled.
+	*
+	* @return The number of chunks.
+	*/
+	public int getChunkCount() {
+		return chunkCount;
+	}
+
+	/**
+	* Gets the number of chunks held in memory.
+	*
+	* @return The number of resident chunks.
+	*/
+	public int getResidentChunks() {
+		return residentCount;
+	}
+
+	/**
+	* Clears every ship and shot so that the board can be reused. The spill file is kept and overwritten.
+	*/
+	@Override
+	public void reset() {
+		super.reset();
+		Arrays.fill(keys, 0);
+		Arrays.fill(chunks, null);
+		chunkCount = 0;
+		residentCount = 0;
+		head = null;
+		tail = null;
+		lastChunk = null;
+		lastShotRow = -1;
+		lastShotColumn = -1;
+		spillSlots = 0;
+	}
+
+	@Override
+	public boolean hasShipAt(int row, int col) {
+		checkBounds(row, col);
+		Chunk chunk = chunkAt(row, col, false);
+		return chunk != null && (chunk.planes[row & (CHUNK_SIZE - 1)] & (1L << col)) != 0;
+	}
+
+	@Override
+	public boolean hasShotAt(int row, int col) {
+		checkBounds(row, col);
+		Chunk chunk = chunkAt(row, col, false);
+		return chunk != null && (chunk.planes[CHUNK_SIZE + (row & (CHUNK_SIZE - 1))] & (1L << col)) != 0;
+	}
+
+	@Override
+	public Battleship getBattleshipAt(int row, int col) {
+		int id = getShipIdAt(row, col);
+		return id == 0 ? null : getShip(id - 1);
+	}
+
+	@Override
+	public int getShipIdAt(int row, int col) {
+		checkBounds(row, col);
+		Chunk chunk = chunkAt(row, col, false);
+		int localRow = row & (CHUNK_SIZE - 1);
+		if (chunk == null || (chunk.planes[localRow] & (1L << col)) == 0) {
+			return 0;
+		}
+		return chunk.ids[localRow << CHUNK_SHIFT | (col & (CHUNK_SIZE - 1))];
+	}
+
+	@Override
+	public void markShotAt(int row, int col) {
+		checkBounds(row, col);
+		long[] planes = chunkAt(row, col, true).planes;
+		int shotRow = CHUNK_SIZE + (row & (CHUNK_SIZE - 1));
+		if ((planes[shotRow] & (1L << col)) == 0) {
+			planes[shotRow] |= 1L << col;
+			lastShotRow = row;
+			lastShotColumn = col;
+		}
+	}
+
+	@Override
+	public void placeShipAt(int row, int col, Battleship battleship) {
+		checkBounds(row, col);
+		long cell = (long) row * getColumns() + col;
+
+		// Ships are placed square by square, so the ship is almost always the most recently registered one.
+		int id = 0;
+		for (int i = getFleetSize() - 1; i >= 0; i--) {
+			if (getShip(i) == battleship) {
+				id = i + 1;
+				break;
+			}
+		}
+		if (id == 0) {
+			id = register(battleship, cell * 2 + 1);
+		} else {
+			// The anchor is the first square of the ship, and a second row means the ship is vertical.
+			long anchorCell = anchors[id - 1] >>> 1;
+			boolean isHorizontal = (anchors[id - 1] & 1) != 0 && row == anchorCell / getColumns();
+			anchors[id - 1] = Math.min(anchorCell, cell) * 2 + (isHorizontal ? 1 : 0);
+		}
+		setShip(row, col, id);
+	}
+
+	/**
+	* Fires a shot at the specified position, creating its chunk if this is the first shot or ship there.
+	*
+	* @param row The row index of the target square.
+	* @param col The column index of the target square.
+	* @return One of MISS, HIT, SUNK or ALREADY_SHOT.
+	*/
+	@Override
+	public int fireShot(int row, int col) {
+		checkBounds(row, col);
+		Chunk chunk = chunkAt(row, col, true);
+		int localRow = row & (CHUNK_SIZE - 1);
+		long bit = 1L << col;
+
+		long[] planes = chunk.planes;
+		if ((planes[CHUNK_SIZE + localRow] & bit) != 0) {
+			return ALREADY_SHOT;
+		}
+		planes[CHUNK_SIZE + localRow] |= bit;
+		lastShotRow = row;
+		lastShotColumn = col;
+
+		if ((planes[localRow] & bit) == 0) {
+			return MISS;
+		}
+
+		int id = chunk.ids[localRow << CHUNK_SHIFT | (col & (CHUNK_SIZE - 1))];
+		Battleship battleship = getShip(id - 1);
+		battleship.takeHit();
+		if (battleship.isSunk()) {
+			long anchorCell = anchors[id - 1] >>> 1;
+			countSunkShip(id, (int) (anchorCell / getColumns()), (int) (anchorCell % getColumns()),
+					battleship.getSize(), (anchors[id - 1] & 1) != 0);
+			return SUNK;
+		}
+		return HIT;
+	}
+
+	/**
+	* Fires a salvo of shots one by one through the chunks, validating every position first.
+	*
+	* @param rows     The row index of each target square.
+	* @param cols     The column index of each target square, at least as many as rows.
+	* @param outcomes Receives the outcome of each shot, at least as many as rows.
+	* @return The number of battleships sunk by the salvo.
+	*/
+	@Override
+	public int fireSalvo(int[] rows, int[] cols, int[] outcomes) {
+		int count = rows.length;
+		if (cols.length < count || outcomes.length < count) {
+			throw new IllegalArgumentException("A salvo of " + count + " shots needs as many columns and outcomes");
+		}
+		for (int i = 0; i < count; i++) {
+			checkBounds(rows[i], cols[i]);
+		}
+
+		int sunk = 0;
+		for (int i = 0; i < count; i++) {
+			outcomes[i] = fireShot(rows[i], cols[i]);
+			if (outcomes[i] == SUNK) {
+				sunk++;
+			}
+		}
+		return sunk;
+	}
+
+	/**
+	* Randomly places a number of battleships of the given size by rejection sampling:
+	* anchors are drawn uniformly from every in-bounds (row, column, orientation) and redrawn when they overlap,
+	* which almost never happens on a sparse ocean. Placement gives up after 64 failed draws per ship.
+	*
+	* @param shipSize The size of the battleships to be placed.
+	* @param count    The number of battleships of that size to be placed on the board.
+	* @return True if every battleship was placed, false if too many draws overlapped.
+	*/
+	@Override
+	public boolean randomlyPlaceBattleships(int shipSize, int count) {
+		if (count <= 0) {
+			return true;
+		}
+		int rows = getRows();
+		int columns = getColumns();
+		long horizontal = columns >= shipSize ? (long) rows * (columns - shipSize + 1) : 0;
+		long vertical = rows >= shipSize && shipSize > 1 ? (long) (rows - shipSize + 1) * columns : 0;
+		if (horizontal + vertical == 0) {
+			return false;
+		}
+
+		RandomGenerator r = getRandom();
+		int failures = 0;
+		for (int placed = 0; placed < count; ) {
+			long anchor = r.nextLong(horizontal + vertical);
+			boolean isHorizontal = anchor < horizontal;
+			int row;
+			int col;
+			if (isHorizontal) {
+				row = (int) (anchor / (columns - shipSize + 1));
+				col = (int) (anchor % (columns - shipSize + 1));
+			} else {
+				anchor -= horizontal;
+				row = (int) (anchor / columns);
+				col = (int) (anchor % columns);
+			}
+
+			if (placeBattleship(row, col, shipSize, isHorizontal)) {
+				placed++;
+				failures = 0;
+			} else if (++failures == 64) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	* Registers a battleship with the fleet and marks the squares it covers in their chunks, without any validation.
+	*/
+	@Override
+	void occupy(Battleship battleship, int row, int col, boolean isHorizontal) {
+		int id = register(battleship, ((long) row * getColumns() + col) * 2 + (isHorizontal ? 1 : 0));
+		for (int i = 0; i < battleship.getSize(); i++) {
+			if (isHorizontal) {
+				setShip(row, col + i, id);
+			} else {
+				setShip(row + i, col, id);
+			}
+		}
+	}
+
+	/**
+	* Registers a shaped battleship with the fleet and marks the squares it covers in their chunks, without any validation.
+	*/
+	@Override
+	void occupy(Battleship battleship, int row, int col, int[] rowOffsets, int[] colOffsets) {
+		int id = register(battleship, ((long) row * getColumns() + col) * 2);
+		for (int i = 0; i < rowOffsets.length; i++) {
+			setShip(row + rowOffsets[i], col + colOffsets[i], id);
+		}
+	}
+
+	@Override
+	public int getLastShotRow() {
+		return lastShotRow;
+	}
+
+	@Override
+	public int getLastShotColumn() {
+		return lastShotColumn;
+	}
+
+	/**
+	* A sparse board keeps its squares in chunks rather than dense bit-planes.
+	*/
+	@Override
+	boolean isDense() {
+		return false;
+	}
+
+	/**
+	* Not supported: anchors of a sparse board do not fit the int anchors of dense board codecs, which check isDense
+	* and reject sparse boards before asking.
+	*/
+	@Override
+	int getShipAnchor(int index) {
+		throw new UnsupportedOperationException("A sparse board has no int anchors");
+	}
+
+	/**
+	* Not supported: a sparse board has no dense bit-planes. Renderers and codecs check isDense before asking.
+	*/
+	@Override
+	long[] getShipPlane() {
+		throw new UnsupportedOperationException("A sparse board has no dense bit-planes");
+	}
+
+	/**
+	* Not supported: a sparse board has no dense bit-planes. Renderers and codecs check isDense before asking.
+	*/
+	@Override
+	long[] getShotPlane() {
+		throw new UnsupportedOperationException("A sparse board has no dense bit-planes");
+	}
+
+	/**
+	* Generates a string representation of the whole board, square by square. Only meant for small boards.
+	*
+	* @return The string representation of the game board.
+	*/
+	@Override
+	public String toString() {
+		StringBuilder boardString = new StringBuilder();
+		for (int i = 0; i < getRows(); i++) {
+			for (int j = 0; j < getColumns(); j++) {
+				if (!hasShotAt(i, j)) {
+					boardString.append(Square.UNSHOT);
+				} else if (hasShipAt(i, j)) {
+					boardString.append(Square.HIT);
+				} else {
+					boardString.append(Square.MISS);
+				}
+			}
+			boardString.append('\n');
+		}
+		return boardString.toString();
+	}
+
+	/**
+	* Deletes the spill file.
+	*
+	* @throws IOException If the file cannot be closed.
+	*/
+	@Override
+	public void close() throws IOException {
+		if (spill != null) {
+			spill.close();
+			spill = null;
+		}
+	}
+
+	/**
+	* Gets the largest number of battleships the board can hold: ship ids are ints here, so the cap is MAX_SPARSE_SHIPS.
+	*
+	* @return The largest fleet size.
+	*/
+	@Override
+	public int getMaxShips() {
+		return MAX_SPARSE_SHIPS;
+	}
+
+	/**
+	* Adds a battleship to the fleet and records its anchor.
+	*
+	* @return The id assigned to the battleship.
+	*/
+	private int register(Battleship battleship, long anchor) {
+		if (getFleetSize() == MAX_SPARSE_SHIPS) {
+			throw new IllegalStateException("A sparse board cannot hold more than " + MAX_SPARSE_SHIPS + " ships");
+		}
+		int id = addToFleet(battleship);
+		if (id > anchors.length) {
+			anchors = Arrays.copyOf(anchors, anchors.length * 2);
+		}
+		anchors[id - 1] = anchor;
+		return id;
+	}
+
+	/**
+	* Marks a square as holding the battleship with the given id.
+	*/
+	private void setShip(int row, int col, int id) {
+		Chunk chunk = chunkAt(row, col, true);
+		if (chunk.ids == null) {
+			chunk.ids = takeIds();
+		}
+		int localRow = row & (CHUNK_SIZE - 1);
+		chunk.ids[localRow << CHUNK_SHIFT | (col & (CHUNK_SIZE - 1))] = id;
+		chunk.planes[localRow] |= 1L << col;
+	}
+
+	/**
+	* Gets a ship id array for a chunk. Its contents are stale, but ids are only read where the ship plane is set.
+	*/
+	private int[] takeIds() {
+		int[] ids = spareIds;
+		spareIds = null;
+		return ids != null ? ids : new int[CHUNK_CELLS];
+	}
+
+	/**
+	* Finds the chunk of a square and makes it the most recently used, reading it back from the spill file if needed.
+	*
+	* @param row    The row index of the square.
+	* @param col    The column index of the square.
+	* @param create Whether to create the chunk if no ship or shot has touched it yet.
+	* @return The resident chunk, or null if it does not exist and create is false.
+	*/
+	private Chunk chunkAt(int row, int col, boolean create) {
+		int key = (row >>> CHUNK_SHIFT) * chunkColumns + (col >>> CHUNK_SHIFT);
+		Chunk chunk = lastChunk;
+		if (chunk == null || chunk.key != key) {
+			chunk = findChunk(key);
+			if (chunk == null) {
+				if (!create) {
+					return null;
+				}
+				chunk = insertChunk(key);
+			}
+			lastChunk = chunk;
+		}
+
+		if (chunk.planes == null) {
+			makeResident(chunk);
+		} else if (chunk != head) {
+			unlink(chunk);
+			linkFirst(chunk);
+		}
+		return chunk;
+	}
+
+	/**
+	* Looks up a touched chunk in the table.
+	*/
+	private Chunk findChunk(int key) {
+		int mask = keys.length - 1;
+		for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+			if (keys[slot] == key + 1) {
+				return chunks[slot];
+			}
+			if (keys[slot] == 0) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	* Adds a new, non-resident chunk to the table, doubling the table when it is half full.
+	*/
+	private Chunk insertChunk(int key) {
+		if (++chunkCount * 2 > keys.length) {
+			int[] oldKeys = keys;
+			Chunk[] oldChunks = chunks;
+			keys = new int[oldKeys.length * 2];
+			chunks = new Chunk[oldKeys.length * 2];
+			for (int slot = 0; slot < oldKeys.length; slot++) {
+				if (oldKeys[slot] != 0) {
+					put(oldChunks[slot]);
+				}
+			}
+		}
+		Chunk chunk = new Chunk(key);
+		put(chunk);
+		return chunk;
+	}
+
+	/**
+	* Stores a chunk in the first free slot of its probe sequence.
+	*/
+	private void put(Chunk chunk) {
+		int mask = keys.length - 1;
+		int slot = hash(chunk.key) & mask;
+		while (keys[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = chunk.key + 1;
+		chunks[slot] = chunk;
+	}
+
+	/**
+	* Spreads the chunk keys of neighbouring chunks over the table.
+	*/
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	* Brings a new or spilled chunk into memory as the most recently used one,
+	* spilling the least recently used chunk first when the resident limit is reached and reusing its arrays.
+	*/
+	private void makeResident(Chunk chunk) {
+		long[] planes;
+		if (residentCount == maxResidentChunks) {
+			Chunk victim = tail;
+			planes = victim.planes;
+			spillOut(victim);
+		} else {
+			planes = new long[2 * CHUNK_SIZE];
+			residentCount++;
+		}
+
+		if (chunk.spillSlot < 0) {
+			Arrays.fill(planes, 0L);
+		} else {
+			spillIn(chunk, planes);
+		}
+		chunk.planes = planes;
+		linkFirst(chunk);
+	}
+
+	/**
+	* Writes a chunk to its spill slot and releases its arrays.
+	*/
+	private void spillOut(Chunk chunk) {
+		spillPlanes.clear();
+		spillPlanes.put(chunk.planes);
+		int bytes = PLANE_BYTES;
+		if (chunk.ids != null) {
+			spillIds.clear();
+			spillIds.put(chunk.ids);
+			bytes = SLOT_BYTES;
+		}
+		if (chunk.spillSlot < 0) {
+			chunk.spillSlot = spillSlots++;
+		}
+
+		try {
+			if (spill == null) {
+				spill = FileChannel.open(Files.createTempFile("battleship-ocean", ".chunks"), StandardOpenOption.READ,
+						StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+			}
+			spillBuffer.clear().limit(bytes);
+			long position = (long) chunk.spillSlot * SLOT_BYTES;
+			while (spillBuffer.hasRemaining()) {
+				position += spill.write(spillBuffer, position);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot spill a board chunk", e);
+		}
+
+		if (chunk.ids != null && spareIds == null) {
+			spareIds = chunk.ids;
+		}
+		chunk.hasIds = chunk.ids != null;
+		chunk.ids = null;
+		chunk.planes = null;
+		unlink(chunk);
+	}
+
+	/**
+	* Reads a spilled chunk back into the given bit-plane array and a ship id array if it holds ships.
+	*/
+	private void spillIn(Chunk chunk, long[] planes) {
+		int bytes = chunk.hasIds ? SLOT_BYTES : PLANE_BYTES;
+		try {
+			spillBuffer.clear().limit(bytes);
+			long position = (long) chunk.spillSlot * SLOT_BYTES;
+			while (spillBuffer.hasRemaining()) {
+				int read = spill.read(spillBuffer, position);
+				if (read < 0) {
+					throw new IOException("Truncated spill file");
+				}
+				position += read;
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot read back a board chunk", e);
+		}
+
+		spillPlanes.clear();
+		spillPlanes.get(planes);
+		if (chunk.hasIds) {
+			chunk.ids = takeIds();
+			spillIds.clear();
+			spillIds.get(chunk.ids);
+		}
+	}
+
+	/**
+	* Adds a resident chunk at the most recently used end of the list.
+	*/
+	private void linkFirst(Chunk chunk) {
+		chunk.previous = null;
+		chunk.next = head;
+		if (head != null) {
+			head.previous = chunk;
+		} else {
+			tail = chunk;
+		}
+		head = chunk;
+	}
+
+	/**
+	* Removes a resident chunk from the list.
+	*/
+	private void unlink(Chunk chunk) {
+		if (chunk.previous != null) {
+			chunk.previous.next = chunk.next;
+		} else {
+			head = chunk.next;
+		}
+		if (chunk.next != null) {
+			chunk.next.previous = chunk.previous;
+		} else {
+			tail = chunk.previous;
+		}
+		chunk.previous = null;
+		chunk.next = null;
+	}
+
+	/**
+	* A 64x64 block of squares touched by a ship or a shot. Spilled chunks keep only their key and spill slot.
+	*/
+	private static final class Chunk {
+
+		// The chunk row * chunk columns + chunk column.
+		private final int key;
+
+		// Ship plane rows followed by shot plane rows, one long per row, or null while spilled.
+		private long[] planes;
+
+		// The ship id per square, or null while spilled or before the first ship.
+		private int[] ids;
+
+		// Whether the spilled copy includes ship ids.
+		private boolean hasIds;
+
+		// The slot of the chunk in the spill file, or -1 if it has never been spilled.
+		private int spillSlot = -1;
+
+		// The next more recently used resident chunk.
+		private Chunk previous;
+
+		// The next less recently used resident chunk.
+		private Chunk next;
+
+		/**
+		* Constructs a chunk which is not resident yet.
+		*
+		* @param key The chunk row * chunk columns + chunk column.
+		*/
+		private Chunk(int key) {
+			this.key = key;
+		}
+	}
+
+}
@@ -3,41 +3,45 @@
 * @name 		   : Square
 * @createDate 	   : 04 Nov 2023
 * @description 	   : Represents a square on the game board with attributes for its position (row and column position),<br> 
-				   	 whether it contains a ship, and whether it has been shot at. 
+				   	 whether it contains a ship, and whether it has been shot at.<br>
+				   	 A square is a lightweight view over the board's packed state and is only created when asked for.
 * @version 		   : 1.0
-* @lastModifiedBy  :
-* @lastModifiedDate:
+* @lastModifiedBy  : Giri Liyangi
+* @lastModifiedDate: 18 Oct 2026
 */
 
 public class Square {
 	
-	// The row position of the square.
-	private int row_position;
+	// String representation of a square which has not been shot at.
+	public static final String UNSHOT = "  -";
 	
-	// The column position of the square.
-	private int column_position;	
+	// String representation of a square which has been shot at and contains a ship.
+	public static final String HIT = "  x";
 	
-	// Indicates whether the square contains a ship.
-	private boolean hasShip;
+	// String representation of a square which has been shot at and does not contain a ship.
+	public static final String MISS = "  o";
 	
-	// A reference to the battleship if one is currently on the square.
-	private Battleship battleship;
+	// The board holding the state of the square.
+	private final Board board;
 	
-	// Indicates whether the player has fired a shot at the square.
-	private boolean hasShot;
+	// The row position of the square.
+	private final int row_position;
+	
+	// The column position of the square.
+	private final int column_position;	
 	
 	/**
-    * Constructs a Square object with the specified row and column position. 
-    * Initially, it does not contain a ship and has not been shot at.
+    * Constructs a Square view of the specified row and column position on a board.
+    * The ship and shot state are read from and written to the board.
     *
+    * @param board the board holding the state of the square.
     * @param row_position the row position of the square.
     * @param column_position: the column position of the square.
     */
-	public Square(int row_position, int column_position) {
+	public Square(Board board, int row_position, int column_position) {
+		this.board = board;
 		this.row_position = row_position;
 		this.column_position = column_position;
-		this.hasShip = false;
-		this.hasShot = false;
 	}
 	
 	/**
@@ -64,7 +68,7 @@ public class Square {
     * @return true if the square contains a ship, false otherwise.
     */
 	public boolean hasShip() {
-		return hasShip;
+		return board.hasShipAt(row_position, column_position);
 	}
 	
 	/**
@@ -73,7 +77,7 @@ public class Square {
     * @return true if the square has been shot at, false otherwise.
     */
 	public boolean hasShot() {
-		return hasShot;
+		return board.hasShotAt(row_position, column_position);
 	}
 	
 	/**
@@ -82,7 +86,7 @@ public class Square {
     * @return the battleship on the square or null if there is no battleship.
     */
 	public Battleship getBattleship() {
-		return this.battleship;
+		return board.getBattleshipAt(row_position, column_position);
 	}
 	
 	/**
@@ -90,7 +94,7 @@ public class Square {
     * 
     */
     public void markAsShot() {
-        this.hasShot = true;
+        board.markShotAt(row_position, column_position);
     }
 	
 	/**
@@ -99,8 +103,7 @@ public class Square {
     * @param battleship: the battleship to place on the square.
     */
     public void placeShip(Battleship battleship) {
-        this.hasShip = true;
-        this.battleship = battleship;
+        board.placeShipAt(row_position, column_position, battleship);
     }
     
     /**
@@ -113,11 +116,11 @@ public class Square {
     */
     public String toString() {
     	if(!hasShot()) {
-    		return String.format("%3s", "-");
+    		return UNSHOT;
     	}else if(hasShot() && hasShip()) {
-    		return String.format("%3s", "x");
+    		return HIT;
     	}else {
-    		return String.format("%3s", "o");
+    		return MISS;
     	}
     }
 	
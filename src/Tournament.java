@@ -0,0 +1,489 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : Tournament
+ * @createDate      : 18 Oct 2026
+ * @description     : Ranks shot strategies by playing them against each other over rounds of round-robin or Swiss pairings.<br>
+ *                    Each match of a round is a number of mirrored game pairs: both games of a pair are played on the fleet<br>
+ *                    placed from the same seed, once with each entrant firing first, and every match of a round uses the<br>
+ *                    same seeds, so neither board luck nor the first move decides a match. The games are packed into tasks<br>
+ *                    of 64 pairs on a fork-join pool, where each worker thread reuses its own board and strategy instances.<br>
+ *                    After each round the matches are recorded in the rating table in pairing order, so a tournament is<br>
+ *                    reproducible from its seed. Progress is checkpointed after every round, and a tournament started<br>
+ *                    with an existing checkpoint resumes after its last completed round, possibly with more rounds.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class Tournament {
+
+	// Pairing mode: every entrant plays every other entrant each round.
+	public static final int ROUND_ROBIN = 0;
+
+	// Pairing mode: entrants are paired with the closest rated entrants they have met least, one match each per round.
+	public static final int SWISS = 1;
+
+	// Identifies a tournament checkpoint ("BTRC").
+	private static final int MAGIC = 0x42545243;
+
+	// The version of the checkpoint layout.
+	private static final int VERSION = 1;
+
+	// The number of mirrored game pairs a task plays.
+	private static final int PAIRS_PER_TASK = 64;
+
+	// The number of rows on each board.
+	private final int rows;
+
+	// The number of columns on each board.
+	private final int columns;
+
+	// The name of each entrant.
+	private final String[] names;
+
+	// Creates the shot strategy of each entrant, called once per worker thread.
+	private final List<Supplier<ShotStrategy>> strategies;
+
+	// The pairing mode, ROUND_ROBIN or SWISS.
+	private final int mode;
+
+	// The number of mirrored game pairs in each match.
+	private final int pairsPerMatch;
+
+	// The master seed of the tournament.
+	private final long seed;
+
+	// The board and strategy instances reused by each worker thread.
+	private final ThreadLocal<Worker> workers;
+
+	// The ratings and tallies so far.
+	private final RatingTable table;
+
+	// The number of matches played between each two entrants.
+	private final int[][] meetings;
+
+	// The number of rounds completed.
+	private int completedRounds;
+
+	/**
+	* Constructs a tournament between shot strategies.
+	*
+	* @param rows          The number of rows on each board.
+	* @param columns       The number of columns on each board.
+	* @param names         The name of each entrant.
+	* @param strategies    Creates the shot strategy of each entrant, called once per worker thread.
+	* @param mode          The pairing mode, ROUND_ROBIN or SWISS.
+	* @param pairsPerMatch The number of mirrored game pairs in each match.
+	* @param seed          The master seed from which every board is placed.
+	* @throws IllegalArgumentException If there are fewer than two entrants or not one strategy per name.
+	*/
+	public Tournament(int rows, int columns, String[] names, List<Supplier<ShotStrategy>> strategies, int mode, int pairsPerMatch, long seed) {
+		if (names.length < 2 || names.length != strategies.size()) {
+			throw new IllegalArgumentException("A tournament needs at least two entrants, each with a strategy");
+		}
+		this.rows = rows;
+		this.columns = columns;
+		this.names = names.clone();
+		this.strategies = new ArrayList<>(strategies);
+		this.mode = mode;
+		this.pairsPerMatch = pairsPerMatch;
+		this.seed = seed;
+		this.workers = ThreadLocal.withInitial(Worker::new);
+		this.table = new RatingTable(names);
+		this.meetings = new int[names.length][names.length];
+	}
+
+	/**
+	* Gets the ratings and tallies so far.
+	*
+	* @return The rating table.
+	*/
+	public RatingTable getTable() {
+		return table;
+	}
+
+	/**
+	* Gets the number of rounds completed.
+	*
+	* @return The number of rounds.
+	*/
+	public int getCompletedRounds() {
+		return completedRounds;
+	}
+
+	/**
+	* Plays rounds until the given number of rounds is completed, resuming from the checkpoint if it exists,
+	* and checkpointing after every round.
+	*
+	* @param rounds     The total number of rounds of the tournament.
+	* @param pool       The pool to play the games on.
+	* @param checkpoint The checkpoint file, or null to play without checkpoints.
+	* @param onRound    Receives the rating table after every round, or null.
+	* @return The rating table.
+	* @throws IOException              If the checkpoint cannot be read or written.
+	* @throws IllegalArgumentException If the checkpoint belongs to a different tournament.
+	*/
+	public RatingTable run(int rounds, ForkJoinPool pool, Path checkpoint, Consumer<RatingTable> onRound) throws IOException {
+		if (checkpoint != null && Files.exists(checkpoint)) {
+			load(checkpoint);
+		}
+		while (completedRounds < rounds) {
+			playRound(pool);
+			if (checkpoint != null) {
+				save(checkpoint);
+			}
+			if (onRound != null) {
+				onRound.accept(table);
+			}
+		}
+		return table;
+	}
+
+	/**
+	* Pairs the entrants, plays every match of the round and records the matches in pairing order.
+	*
+	* @param pool The pool to play the games on.
+	*/
+	private void playRound(ForkJoinPool pool) {
+		int[] pairings = mode == SWISS ? swissPairings() : roundRobinPairings();
+		long roundSeed = BatchRunner.taskSeed(seed, completedRounds);
+
+		List<MatchTask> tasks = new ArrayList<>();
+		for (int p = 0; p < pairings.length; p += 2) {
+			for (int first = 0; first < pairsPerMatch; first += PAIRS_PER_TASK) {
+				tasks.add(new MatchTask(pairings[p], pairings[p + 1], roundSeed, first, Math.min(PAIRS_PER_TASK, pairsPerMatch - first)));
+			}
+		}
+		pool.invoke(new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(tasks);
+			}
+		});
+
+		int task = 0;
+		for (int p = 0; p < pairings.length; p += 2) {
+			long firstWins = 0;
+			long secondWins = 0;
+			long drawn = 0;
+			for (int first = 0; first < pairsPerMatch; first += PAIRS_PER_TASK) {
+				MatchTask match = tasks.get(task++);
+				firstWins += match.firstWins;
+				secondWins += match.secondWins;
+				drawn += match.draws;
+			}
+			table.record(pairings[p], pairings[p + 1], firstWins, secondWins, drawn);
+			meetings[pairings[p]][pairings[p + 1]]++;
+			meetings[pairings[p + 1]][pairings[p]]++;
+		}
+		completedRounds++;
+	}
+
+	/**
+	* Pairs every entrant with every other entrant.
+	*
+	* @return The pairings, two entrant indexes per match.
+	*/
+	private int[] roundRobinPairings() {
+		int n = names.length;
+		int[] pairings = new int[n * (n - 1)];
+		int next = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				pairings[next++] = i;
+				pairings[next++] = j;
+			}
+		}
+		return pairings;
+	}
+
+	/**
+	* Pairs each entrant, from the highest rated down, with the next highest rated unpaired entrant it has met least.
+	* With an odd number of entrants, the one left over sits the round out.
+	*
+	* @return The pairings, two entrant indexes per match.
+	*/
+	private int[] swissPairings() {
+		int[] standings = table.getStandings();
+		boolean[] isPaired = new boolean[standings.length];
+		int[] pairings = new int[standings.length / 2 * 2];
+		int next = 0;
+		for (int i = 0; i < standings.length && next < pairings.length; i++) {
+			if (isPaired[i]) {
+				continue;
+			}
+			int opponent = -1;
+			for (int j = i + 1; j < standings.length; j++) {
+				if (!isPaired[j] && (opponent < 0 || meetings[standings[i]][standings[j]] < meetings[standings[i]][standings[opponent]])) {
+					opponent = j;
+				}
+			}
+			if (opponent < 0) {
+				break;
+			}
+			isPaired[i] = true;
+			isPaired[opponent] = true;
+			pairings[next++] = standings[i];
+			pairings[next++] = standings[opponent];
+		}
+		return pairings;
+	}
+
+	/**
+	* Writes the progress of the tournament to a temporary file and moves it over the checkpoint,
+	* so a crash leaves either the old or the new checkpoint.
+	*
+	* @param checkpoint The checkpoint file.
+	* @throws IOException If the checkpoint cannot be written.
+	*/
+	private void save(Path checkpoint) throws IOException {
+		Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			writeIdentity(out);
+			out.writeInt(completedRounds);
+			table.write(out);
+			for (int[] row : meetings) {
+				for (int count : row) {
+					out.writeInt(count);
+				}
+			}
+		}
+		Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	* Restores the progress of the tournament from a checkpoint.
+	*
+	* @param checkpoint The checkpoint file.
+	* @throws IOException              If the checkpoint cannot be read.
+	* @throws IllegalArgumentException If the checkpoint belongs to a different tournament.
+	*/
+	private void load(Path checkpoint) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IllegalArgumentException(checkpoint + " is not a version " + VERSION + " tournament checkpoint");
+			}
+			if (!readIdentity(in)) {
+				throw new IllegalArgumentException(checkpoint + " belongs to a tournament with other entrants or settings");
+			}
+			completedRounds = in.readInt();
+			table.read(in);
+			for (int[] row : meetings) {
+				for (int j = 0; j < row.length; j++) {
+					row[j] = in.readInt();
+				}
+			}
+		}
+	}
+
+	/**
+	* Writes the settings and entrants which identify the tournament.
+	*/
+	private void writeIdentity(DataOutputStream out) throws IOException {
+		out.writeLong(seed);
+		out.writeInt(rows);
+		out.writeInt(columns);
+		out.writeInt(mode);
+		out.writeInt(pairsPerMatch);
+		out.writeInt(names.length);
+		for (String name : names) {
+			out.writeUTF(name);
+		}
+	}
+
+	/**
+	* Reads the settings and entrants of a checkpoint and compares them with this tournament.
+	*
+	* @return True if the checkpoint belongs to this tournament.
+	*/
+	private boolean readIdentity(DataInputStream in) throws IOException {
+		boolean isSame = in.readLong() == seed;
+		isSame &= in.readInt() == rows;
+		isSame &= in.readInt() == columns;
+		isSame &= in.readInt() == mode;
+		isSame &= in.readInt() == pairsPerMatch;
+		if (!isSame || in.readInt() != names.length) {
+			return false;
+		}
+		for (String name : names) {
+			isSame &= in.readUTF().equals(name);
+		}
+		return isSame;
+	}
+
+	/**
+	* The board and strategy instances owned by one worker thread.
+	*/
+	private final class Worker {
+
+		// The board reused for every game played by the worker.
+		private final Board board = new Board(rows, columns);
+
+		// The strategy instance of each entrant, created on first use.
+		private final ShotStrategy[] instances = new ShotStrategy[names.length];
+
+		/**
+		* Gets the strategy instance of an entrant.
+		*
+		* @param entrant The index of the entrant.
+		* @return The strategy.
+		*/
+		private ShotStrategy strategy(int entrant) {
+			if (instances[entrant] == null) {
+				instances[entrant] = strategies.get(entrant).get();
+			}
+			return instances[entrant];
+		}
+
+		/**
+		* Plays one game on the fleet placed from a seed.
+		*
+		* @param first    The index of the entrant firing first.
+		* @param second   The index of the entrant firing second.
+		* @param gameSeed The seed of the placement and of the strategies' random choices.
+		* @return The result of the game.
+		*/
+		private GameResult play(int first, int second, long gameSeed) {
+			board.reset();
+			board.setRandom(BatchRunner.GENERATORS.create(gameSeed));
+			board.randomlyPlaceBattleshipsOfType();
+			return GameEngine.play(board, strategy(first), strategy(second));
+		}
+	}
+
+	/**
+	* Plays a run of the mirrored game pairs of one match and tallies the results.
+	*/
+	private final class MatchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		// The index of the first entrant of the match.
+		private final int first;
+
+		// The index of the second entrant of the match.
+		private final int second;
+
+		// The seed of the round, shared by every match in it.
+		private final long roundSeed;
+
+		// The index of the first game pair of the task within the match.
+		private final int firstPair;
+
+		// The number of game pairs in the task.
+		private final int pairs;
+
+		// The number of games won by the first entrant.
+		private long firstWins;
+
+		// The number of games won by the second entrant.
+		private long secondWins;
+
+		// The number of drawn games.
+		private long draws;
+
+		/**
+		* Constructs a task for a run of game pairs of a match.
+		*
+		* @param first     The index of the first entrant.
+		* @param second    The index of the second entrant.
+		* @param roundSeed The seed of the round.
+		* @param firstPair The index of the first game pair of the task.
+		* @param pairs     The number of game pairs.
+		*/
+		private MatchTask(int first, int second, long roundSeed, int firstPair, int pairs) {
+			this.first = first;
+			this.second = second;
+			this.roundSeed = roundSeed;
+			this.firstPair = firstPair;
+			this.pairs = pairs;
+		}
+
+		@Override
+		protected void compute() {
+			Worker worker = workers.get();
+			for (int pair = firstPair; pair < firstPair + pairs; pair++) {
+				long gameSeed = BatchRunner.taskSeed(roundSeed, pair);
+				tally(worker.play(first, second, gameSeed).getWinner(), false);
+				tally(worker.play(second, first, gameSeed).getWinner(), true);
+			}
+		}
+
+		/**
+		* Counts the winner of one game.
+		*
+		* @param winner    The winner as reported by the game, seen from the entrant firing first.
+		* @param isSwapped Whether the second entrant of the match fired first.
+		*/
+		private void tally(int winner, boolean isSwapped) {
+			if (winner == GameResult.DRAW) {
+				draws++;
+			} else if ((winner == GameResult.FIRST_PLAYER) != isSwapped) {
+				firstWins++;
+			} else {
+				secondWins++;
+			}
+		}
+	}
+
+	/**
+	* Plays a tournament between the named strategies and prints the standings after every round.
+	*
+	* @param args The number of rounds, optionally followed by the game pairs per match, the entrants
+	*             (comma separated, each "random", "probability" or "solver"), the mode ("roundrobin" or "swiss"),
+	*             a master seed and a checkpoint file.
+	* @throws IOException If the checkpoint cannot be read or written.
+	*/
+	public static void main(String[] args) throws IOException {
+		int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int pairsPerMatch = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+		String[] entrants = (args.length > 2 ? args[2] : "random,probability").split(",");
+		int mode = args.length > 3 && args[3].equalsIgnoreCase("swiss") ? SWISS : ROUND_ROBIN;
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+		Path checkpoint = args.length > 5 ? Paths.get(args[5]) : null;
+
+		String[] names = new String[entrants.length];
+		List<Supplier<ShotStrategy>> strategies = new ArrayList<>();
+		for (int i = 0; i < entrants.length; i++) {
+			String entrant = entrants[i].trim();
+			if (entrant.equals("random")) {
+				strategies.add(RandomShotStrategy::new);
+			} else if (entrant.equals("probability")) {
+				strategies.add(ProbabilityShotStrategy::new);
+			} else if (entrant.equals("solver")) {
+				strategies.add(SolverShotStrategy::new);
+			} else {
+				throw new IllegalArgumentException("Unknown strategy " + entrant);
+			}
+			names[i] = entrant + "#" + (i + 1);
+		}
+
+		Tournament tournament = new Tournament(10, 10, names, strategies, mode, pairsPerMatch, seed);
+		long start = System.nanoTime();
+		tournament.run(rounds, ForkJoinPool.commonPool(), checkpoint,
+				table -> System.out.println("round " + tournament.getCompletedRounds() + "\n" + table));
+		System.out.printf("seed %d, %.2f s%n", seed, (System.nanoTime() - start) / 1e9);
+	}
+
+}
@@ -0,0 +1,328 @@
+/**
+ * @author          : Giri Liyangi
+ * @name            : TurnPipeline
+ * @createDate      : 18 Oct 2026
+ * @description     : Plays a two-player match as three stages joined by bounded queues: input parsing, shot resolution and output.<br>
+ *                    The input thread parses commands ahead into batches, the calling thread resolves shots from the batches and<br>
+ *                    renders each turn into a text buffer, and the output thread writes the buffers. Batches and buffers are<br>
+ *                    recycled through free queues, and a stage which falls behind holds the others back once every batch or<br>
+ *                    buffer is in use, so memory is bounded and a slow terminal only stalls its own match.<br>
+ *                    The resolution stage hands its buffer over only when it waits for input or the buffer is full, and the output<br>
+ *                    thread writes every buffer waiting for it before one flush, so scripted games write many turns per syscall.
+ * @version         : 1.0
+ * @lastModifiedBy  :
+ * @lastModifiedDate:
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class TurnPipeline {
+
+	// The largest number of commands in one batch.
+	private static final int BATCH_SIZE = 256;
+
+	// The number of characters after which the resolution stage hands its buffer to the output stage.
+	private static final int FLUSH_CHARS = 8192;
+
+	// Buffer telling the output stage that the match has ended.
+	private static final StringBuilder END_OF_OUTPUT = new StringBuilder(0);
+
+	// The reader of the players' commands.
+	private final CommandReader input;
+
+	// The writer the match is shown on.
+	private final Writer out;
+
+	// The batches ready for the input stage to fill.
+	private final BlockingQueue<Batch> freeBatches;
+
+	// The batches of parsed commands waiting for the resolution stage.
+	private final BlockingQueue<Batch> fullBatches;
+
+	// The buffers ready for the resolution stage to write into.
+	private final BlockingQueue<StringBuilder> freeBuffers;
+
+	// The buffers of rendered text waiting for the output stage.
+	private final BlockingQueue<StringBuilder> fullBuffers;
+
+	// The failure of the input or output stage, or null.
+	private volatile IOException failure;
+
+	/**
+	* Constructs a pipeline.
+	*
+	* @param input    The reader of the players' commands, read only by the pipeline while a match is played.
+	* @param out      The writer to show the match on.
+	* @param capacity The number of command batches and of text buffers in flight between the stages.
+	*/
+	public TurnPipeline(CommandReader input, Writer out, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.input = input;
+		this.out = out;
+		this.freeBatches = new ArrayBlockingQueue<>(capacity);
+		this.fullBatches = new ArrayBlockingQueue<>(capacity);
+		this.freeBuffers = new ArrayBlockingQueue<>(capacity);
+		this.fullBuffers = new ArrayBlockingQueue<>(capacity + 1);
+		for (int i = 0; i < capacity; i++) {
+			freeBatches.add(new Batch());
+			freeBuffers.add(new StringBuilder(FLUSH_CHARS + 1024));
+		}
+	}
+
+	/**
+	* Plays a match until one player has sunk every battleship it fires at. Each player fires at its own board,
+	* which is shown through its renderer before its turn. Every line of output is written before this returns.
+	* A pipeline plays one match: its input stage may have read commands beyond the end of the match, and may still be
+	* waiting on the reader afterwards.
+	*
+	* @param first          The player which fires first.
+	* @param second         The player which fires second.
+	* @param firstRenderer  The renderer of the board the first player fires at.
+	* @param secondRenderer The renderer of the board the second player fires at.
+	* @return The result of the match.
+	* @throws NoSuchElementException If the input ends before the match does.
+	* @throws UncheckedIOException   If the input cannot be read or the output cannot be written.
+	*/
+	public GameResult play(Player first, Player second, BoardRenderer firstRenderer, BoardRenderer secondRenderer) {
+		Board board = first.getBoard();
+		if (second.getBoard().getRows() != board.getRows() || second.getBoard().getColumns() != board.getColumns()) {
+			throw new IllegalArgumentException("Both players must fire at boards of the same size");
+		}
+		Thread inputThread = new Thread(() -> readCommands(board.getRows(), board.getColumns()), "turn-input");
+		inputThread.setDaemon(true);
+		Thread outputThread = new Thread(this::writeOutput, "turn-output");
+		inputThread.start();
+		outputThread.start();
+
+		try {
+			return resolve(new Player[] {first, second}, new BoardRenderer[] {firstRenderer, secondRenderer});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while playing", e);
+		} finally {
+			// The input thread may be blocked reading the console, which cannot be interrupted; it is a daemon.
+			inputThread.interrupt();
+			finishOutput(outputThread);
+		}
+	}
+
+	/**
+	* The resolution stage: takes commands from the input stage, fires the shots and renders every turn.
+	*/
+	private GameResult resolve(Player[] players, BoardRenderer[] renderers) throws InterruptedException {
+		StringBuilder text = freeBuffers.take();
+		Batch batch = null;
+		int next = 0;
+		int turn = 0;
+		int turns = 0;
+		try {
+			renderTurn(players[turn], renderers[turn], text);
+			while (true) {
+				if (batch == null || next == batch.count) {
+					if (batch != null) {
+						freeBatches.put(batch);
+					}
+					batch = fullBatches.poll();
+					if (batch == null) {
+						// About to wait for input: show everything resolved so far first.
+						handOver(text);
+						text = null;
+						text = freeBuffers.take();
+						checkFailure();
+						batch = fullBatches.take();
+					}
+					next = 0;
+				}
+
+				long command = batch.commands[next++];
+				if (command < 0) {
+					int status = (int) (-1 - command);
+					if (status == CommandReader.END_OF_INPUT) {
+						throw new NoSuchElementException("The input ended before " + players[turn].getName() + "'s guess");
+					}
+					text.append(players[turn].describeInvalidGuess(status)).append('\n');
+					continue;
+				}
+
+				long start = Metrics.startTimer();
+				int outcome = players[turn].fireAt((int) (command >>> 32), (int) command);
+				Metrics.recordShot(start, outcome);
+				text.append(Player.describeOutcome(outcome)).append('\n');
+				turns++;
+				if (players[turn].getBoard().isGameOver()) {
+					return new GameResult(players[0].getScore(), players[1].getScore(), turns);
+				}
+
+				turn = 1 - turn;
+				renderTurn(players[turn], renderers[turn], text);
+				if (text.length() >= FLUSH_CHARS) {
+					handOver(text);
+					text = null;
+					text = freeBuffers.take();
+					checkFailure();
+				}
+			}
+		} finally {
+			// A buffer already handed over is the output stage's, even if waiting for an empty one was interrupted.
+			// There is always room for the last buffer, as the queue holds every buffer and the end marker.
+			if (text != null) {
+				fullBuffers.add(text);
+			}
+		}
+	}
+
+	/**
+	* Renders the board a player fires at, followed by the prompt for its guess.
+	*/
+	private static void renderTurn(Player player, BoardRenderer renderer, StringBuilder text) {
+		renderer.render(player.getBoard(), text);
+		text.append('\n').append(player.getPrompt()).append('\n');
+	}
+
+	/**
+	* Hands a buffer of text to the output stage, after which the resolution stage must not touch it again.
+	* The caller then takes an empty buffer, waiting if every buffer is still being written.
+	*/
+	private void handOver(StringBuilder text) throws InterruptedException {
+		fullBuffers.put(text);
+	}
+
+	/**
+	* The input stage: parses commands into batches until the input ends or the match is over.
+	* A batch is handed over once it is full or the reader has no parsed command left, so a command typed on the console
+	* is resolved at once while a scripted file travels in full batches.
+	*/
+	private void readCommands(int rows, int columns) {
+		try {
+			boolean isEnded = false;
+			while (!isEnded) {
+				Batch batch = freeBatches.take();
+				batch.count = 0;
+				do {
+					long command;
+					int status;
+					try {
+						status = input.next(rows, columns);
+					} catch (IOException e) {
+						failure = e;
+						status = CommandReader.END_OF_INPUT;
+					}
+					if (status == CommandReader.SHOT) {
+						command = (long) input.getRow() << 32 | input.getColumn();
+					} else {
+						command = -1 - status;
+						isEnded = status == CommandReader.END_OF_INPUT;
+					}
+					batch.commands[batch.count++] = command;
+				} while (!isEnded && batch.count < BATCH_SIZE && input.hasQueuedCommand());
+				fullBatches.put(batch);
+			}
+		} catch (InterruptedException e) {
+			// The match is over.
+		}
+	}
+
+	/**
+	* The output stage: writes every buffer waiting for it, then flushes once, until the match has ended.
+	*/
+	private void writeOutput() {
+		char[] chars = new char[0];
+		boolean isEnded = false;
+		try {
+			while (!isEnded) {
+				StringBuilder text = fullBuffers.take();
+				do {
+					if (text == END_OF_OUTPUT) {
+						isEnded = true;
+						break;
+					}
+					if (chars.length < text.length()) {
+						chars = new char[text.length()];
+					}
+					int length = text.length();
+					text.getChars(0, length, chars, 0);
+					text.setLength(0);
+					freeBuffers.put(text);
+					if (failure == null) {
+						out.write(chars, 0, length);
+					}
+				} while ((text = fullBuffers.poll()) != null);
+				if (failure == null) {
+					out.flush();
+				}
+			}
+		} catch (IOException e) {
+			failure = e;
+			// Keep taking buffers so the resolution stage is not left waiting, and let it report the failure.
+			drainAfterFailure();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	* Recycles buffers without writing them once the output has failed, until the match has ended.
+	*/
+	private void drainAfterFailure() {
+		try {
+			StringBuilder text;
+			while ((text = fullBuffers.take()) != END_OF_OUTPUT) {
+				text.setLength(0);
+				freeBuffers.put(text);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	* Tells the output stage that the match has ended and waits for it to write everything, then reports any failure.
+	*/
+	private void finishOutput(Thread outputThread) {
+		// There is always room for the end marker, as the queue holds every buffer and one more.
+		fullBuffers.add(END_OF_OUTPUT);
+		boolean isInterrupted = false;
+		while (true) {
+			try {
+				outputThread.join();
+				break;
+			} catch (InterruptedException e) {
+				isInterrupted = true;
+			}
+		}
+		if (isInterrupted) {
+			Thread.currentThread().interrupt();
+		}
+		checkFailure();
+	}
+
+	/**
+	* Throws the failure of the input or output stage, if there is one.
+	*/
+	private void checkFailure() {
+		IOException e = failure;
+		if (e != null) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	* A batch of parsed commands: a shot packed as row << 32 | column, or -1 - status for anything else.
+	*/
+	private static final class Batch {
+
+		// The commands of the batch.
+		private final long[] commands = new long[BATCH_SIZE];
+
+		// The number of commands in the batch.
+		private int count;
+	}
+
+}